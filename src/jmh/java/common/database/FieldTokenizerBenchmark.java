@@ -0,0 +1,189 @@
+// src/jmh/java/common/database/FieldTokenizerBenchmark.java
+package common.database;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import common.model.Assignment;
+import common.model.Subject;
+
+/**
+ * FieldTokenizer 와 예전 split 기반 파싱 비교 (./gradlew jmh)
+ *
+ * 같은 subjects.txt / assignments.txt 내용을 두 방식으로 읽습니다.
+ * split 쪽은 FieldTokenizer 도입 전 FileManager 의 stringToSubject/stringToAssignment 와
+ * 줄 단위 읽기(BufferedReader)를 그대로 옮겨 온 것이고,
+ * tokenizer 쪽은 지금 FileManager 의 parseSubject/parseAssignment 와 같은 호출 순서입니다.
+ * -prof gc 로 실행하면 줄당 할당량 차이도 볼 수 있습니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FieldTokenizerBenchmark {
+
+    @Param({"1000", "10000"})
+    public int rows;
+
+    private String subjectText;
+    private String assignmentText;
+
+    @Setup
+    public void setUp() {
+        String[] days = {"월", "화", "수", "목", "금"};
+        StringBuilder subjects = new StringBuilder();
+        StringBuilder assignments = new StringBuilder();
+        LocalDate due = LocalDate.of(2025, 3, 2);
+        for (int i = 1; i <= rows; i++) {
+            subjects.append(i).append("|자료구조 ").append(i).append("|3|김교수|공학관 ").append(100 + i % 400)
+                    .append("|전공필수|").append(days[i % days.length]).append("|")
+                    .append(String.format("%02d:00|%02d:30", 9 + i % 8, 10 + i % 8)).append('\n');
+            assignments.append(i).append('|').append(1 + i % 50).append("|과제 ").append(i)
+                    .append(i % 3 == 0 ? "|" : "|연습문제 풀이").append('|').append(due.plusDays(i % 120))
+                    .append(i % 2 == 0 ? "|미완료|보통" : "|진행중|높음").append('\n');
+        }
+        subjectText = subjects.toString();
+        assignmentText = assignments.toString();
+    }
+
+    // ===== 과목 =====
+
+    @Benchmark
+    public List<Subject> subjectsSplit() throws IOException {
+        List<Subject> result = new ArrayList<>(rows);
+        try (BufferedReader reader = new BufferedReader(new StringReader(subjectText))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) continue;
+                Subject subject = splitSubject(line);
+                if (subject != null) result.add(subject);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Subject> subjectsTokenizer() {
+        List<Subject> result = new ArrayList<>(rows);
+        FieldTokenizer fields = new FieldTokenizer(subjectText);
+        while (fields.nextLine()) {
+            Subject subject = tokenizeSubject(fields);
+            if (subject != null) result.add(subject);
+        }
+        return result;
+    }
+
+    // ===== 과제 =====
+
+    @Benchmark
+    public List<Assignment> assignmentsSplit() throws IOException {
+        List<Assignment> result = new ArrayList<>(rows);
+        try (BufferedReader reader = new BufferedReader(new StringReader(assignmentText))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) continue;
+                Assignment assignment = splitAssignment(line);
+                if (assignment != null) result.add(assignment);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Assignment> assignmentsTokenizer() {
+        List<Assignment> result = new ArrayList<>(rows);
+        FieldTokenizer fields = new FieldTokenizer(assignmentText);
+        while (fields.nextLine()) {
+            Assignment assignment = tokenizeAssignment(fields);
+            if (assignment != null) result.add(assignment);
+        }
+        return result;
+    }
+
+    // ===== 예전 split 기반 파싱 (FieldTokenizer 도입 전 FileManager) =====
+
+    private static Subject splitSubject(String line) {
+        String[] parts = line.split("\\|", -1);
+        if (parts.length < 9) return null;
+        Subject subject = new Subject();
+        subject.setId(Integer.parseInt(parts[0]));
+        subject.setName(emptyToNull(parts[1]));
+        subject.setCredits(Integer.parseInt(parts[2]));
+        subject.setProfessor(emptyToNull(parts[3]));
+        subject.setClassroom(emptyToNull(parts[4]));
+        subject.setCategory(emptyToNull(parts[5]));
+        subject.setDayOfWeek(emptyToNull(parts[6]));
+        subject.setStartTime(emptyToNull(parts[7]));
+        subject.setEndTime(emptyToNull(parts[8]));
+        return subject;
+    }
+
+    private static Assignment splitAssignment(String line) {
+        String[] parts = line.split("\\|", -1);
+        if (parts.length < 7) return null;
+        Assignment asg = new Assignment();
+        asg.setId(Integer.parseInt(parts[0]));
+        asg.setSubjectId(Integer.parseInt(parts[1]));
+        asg.setTitle(emptyToNull(parts[2]));
+        asg.setDescription(emptyToNull(parts[3]));
+        if (!parts[4].isEmpty()) {
+            asg.setDueDate(LocalDate.parse(parts[4]));
+        }
+        asg.setStatus(emptyToNull(parts[5]));
+        asg.setPriority(emptyToNull(parts[6]));
+        return asg;
+    }
+
+    private static String emptyToNull(String str) {
+        return str == null || str.trim().isEmpty() ? null : str.trim();
+    }
+
+    // ===== FieldTokenizer (지금 FileManager 와 같은 순서) =====
+
+    private static Subject tokenizeSubject(FieldTokenizer fields) {
+        if (fields.fieldCount() < 9) return null;
+        Subject subject = new Subject();
+        subject.setId(fields.nextInt());
+        subject.setName(fields.nextString());
+        subject.setCredits(fields.nextInt());
+        subject.setProfessor(fields.nextString());
+        subject.setClassroom(fields.nextString());
+        subject.setCategory(fields.nextString());
+        subject.setDayOfWeek(fields.nextString());
+        subject.setStartTime(fields.nextString());
+        subject.setEndTime(fields.nextString());
+        return subject;
+    }
+
+    private static Assignment tokenizeAssignment(FieldTokenizer fields) {
+        if (fields.fieldCount() < 7) return null;
+        Assignment asg = new Assignment();
+        asg.setId(fields.nextInt());
+        asg.setSubjectId(fields.nextInt());
+        asg.setTitle(fields.nextString());
+        asg.setDescription(fields.nextString());
+        asg.setDueDate(fields.nextDate());
+        asg.setStatus(fields.nextString());
+        asg.setPriority(fields.nextString());
+        return asg;
+    }
+}
@@ -0,0 +1,468 @@
+package common.database;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAdjusters;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import common.model.Assignment;
+import common.model.Exam;
+import common.model.GradeRecord;
+import common.model.Subject;
+
+/**
+ * 과목·과제·시험·성적 전체를 CSV / 줄 단위 JSON(NDJSON) / iCalendar(.ics)로 내보내는 스트리밍 내보내기 도구
+ *
+ * 시작할 때 네 테이블의 읽기 잠금을 함께 잡고 같은 시점의 스냅샷(TableSnapshot)을 꺼낸 뒤, 잠금을 풀고 그 스냅샷을 페이지 순서대로 순회하며 한 행씩 바로 써서,
+ * 행 수와 관계없이 리스트 복사 없이 일정한 메모리로 동작합니다. (과목 ID → 과목명 표만 따로 둠)
+ * 출력은 FileChannel 위의 버퍼로 모아 쓰고, DurableFiles 로 임시 파일에 다 쓴 뒤 대상 파일을 원자적으로 교체합니다.
+ *
+ * CSV 와 ICS 는 BulkImporter 로 다시 가져올 수 있는 형식입니다.
+ * ICS: 요일/시간이 있는 과목은 매주 반복(RRULE) 일정, 시험은 일시가 있는 일정, 과제는 마감일의 종일 일정이며
+ *      과제/시험의 과목은 CATEGORIES 에 과목명으로 적습니다.
+ *      성적은 날짜가 없으므로 VJOURNAL 로 쓰며, 가져오기에서는 읽지 않습니다.
+ */
+public class BulkExporter {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "type,id,name,title,subject,credits,professor,classroom,category,"
+            + "dayOfWeek,startTime,endTime,dueDate,status,priority,examType,examDateTime,location,description,"
+            + "semester,score,letterGrade,gradePoint";
+    private static final DateTimeFormatter ICS_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter ICS_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final String[] ICS_DAYS = {"MO", "TU", "WE", "TH", "FR", "SA", "SU"};
+
+    private final DatabaseManager db;
+
+    public BulkExporter(DatabaseManager db) {
+        this.db = db;
+    }
+
+    /** 확장자(.csv / .json·.jsonl·.ndjson / .ics)로 형식을 골라 내보냅니다. @return 쓴 행 수 */
+    public int exportFile(Path path) throws IOException {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".ics") || name.endsWith(".ical")) return exportICalendar(path);
+        if (name.endsWith(".json") || name.endsWith(".jsonl") || name.endsWith(".ndjson")) return exportJson(path);
+        return exportCsv(path);
+    }
+
+    public int exportCsv(Path path) throws IOException {
+        return export(path, new CsvFormat());
+    }
+
+    /** 한 줄에 객체 하나 (type 필드로 종류 구분) */
+    public int exportJson(Path path) throws IOException {
+        return export(path, new JsonFormat());
+    }
+
+    public int exportICalendar(Path path) throws IOException {
+        return export(path, new IcsFormat());
+    }
+
+    private int export(Path path, Format format) throws IOException {
+        long start = System.nanoTime();
+        // 네 테이블을 같은 시점 기준으로 내보내도록 읽기 잠금을 모두 잡은 채 스냅샷을 먼저 잡음
+        // (중간에 과목 연쇄 삭제가 끼면 과목 없는 과제가 나갈 수 있음)
+        Tables tables = db.readAllLocked(() -> new Tables(db));
+        Map<Integer, String> subjectNames = new HashMap<>();
+        for (Subject subject : tables.subjects) {
+            subjectNames.put(subject.getId(), subject.getName());
+        }
+
+        int[] rows = new int[1];
+        DurableFiles.replace(path, temp -> {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                 Writer out = new BufferedWriter(
+                         Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE), BUFFER_SIZE)) {
+                rows[0] = 0;
+                format.begin(out);
+                for (Subject subject : tables.subjects) {
+                    if (format.subject(out, subject)) rows[0]++;
+                }
+                for (Assignment assignment : tables.assignments) {
+                    if (format.assignment(out, assignment, subjectRef(subjectNames, assignment.getSubjectId()))) rows[0]++;
+                }
+                for (Exam exam : tables.exams) {
+                    if (format.exam(out, exam, subjectRef(subjectNames, exam.getSubjectId()))) rows[0]++;
+                }
+                for (GradeRecord grade : tables.grades) {
+                    if (format.grade(out, grade, subjectRef(subjectNames, grade.getSubjectId()))) rows[0]++;
+                }
+                format.end(out);
+            }
+        });
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        System.out.println("📤 내보내기 완료: " + path.getFileName() + " - " + rows[0] + "행 ("
+                + elapsedMillis + "ms, " + (rows[0] * 1000L / elapsedMillis) + "행/초)");
+        return rows[0];
+    }
+
+    /** 같은 시점에 잡은 네 테이블 스냅샷 (DatabaseManager.readAllLocked 안에서 생성) */
+    private static final class Tables {
+        final TableSnapshot<Subject> subjects;
+        final TableSnapshot<Assignment> assignments;
+        final TableSnapshot<Exam> exams;
+        final TableSnapshot<GradeRecord> grades;
+
+        Tables(DatabaseManager db) {
+            subjects = db.getSubjectSnapshot();
+            assignments = db.getAssignmentSnapshot();
+            exams = db.getExamSnapshot();
+            grades = db.getGradeSnapshot();
+        }
+    }
+
+    /** 과목명 (과목이 지워졌으면 ID 그대로) */
+    private static String subjectRef(Map<Integer, String> subjectNames, int subjectId) {
+        String name = subjectNames.get(subjectId);
+        return name != null ? name : String.valueOf(subjectId);
+    }
+
+    /** 출력 형식: 행 하나씩 씀 (@return 쓴 경우 true, 형식상 쓸 수 없는 행이면 false) */
+    private interface Format {
+        void begin(Writer out) throws IOException;
+        boolean subject(Writer out, Subject subject) throws IOException;
+        boolean assignment(Writer out, Assignment assignment, String subject) throws IOException;
+        boolean exam(Writer out, Exam exam, String subject) throws IOException;
+        boolean grade(Writer out, GradeRecord grade, String subject) throws IOException;
+        void end(Writer out) throws IOException;
+    }
+
+    // ===== CSV =====
+
+    private static final class CsvFormat implements Format {
+        @Override
+        public void begin(Writer out) throws IOException {
+            out.write(CSV_HEADER);
+            out.write("\r\n");
+        }
+
+        @Override
+        public boolean subject(Writer out, Subject s) throws IOException {
+            row(out, "subject", s.getId(), s.getName(), null, null, String.valueOf(s.getCredits()), s.getProfessor(),
+                    s.getClassroom(), s.getCategory(), s.getDayOfWeek(), s.getStartTime(), s.getEndTime(),
+                    null, null, null, null, null, null, null, null, null, null, null);
+            return true;
+        }
+
+        @Override
+        public boolean assignment(Writer out, Assignment a, String subject) throws IOException {
+            row(out, "assignment", a.getId(), null, a.getTitle(), subject, null, null, null, null, null, null, null,
+                    text(a.getDueDate()), a.getStatus(), a.getPriority(), null, null, null, a.getDescription(),
+                    null, null, null, null);
+            return true;
+        }
+
+        @Override
+        public boolean exam(Writer out, Exam e, String subject) throws IOException {
+            row(out, "exam", e.getId(), null, e.getTitle(), subject, null, null, null, null, null, null, null,
+                    null, null, null, e.getType(), text(e.getExamDateTime()), e.getLocation(), e.getDescription(),
+                    null, null, null, null);
+            return true;
+        }
+
+        @Override
+        public boolean grade(Writer out, GradeRecord g, String subject) throws IOException {
+            row(out, "grade", g.getId(), null, null, subject, null, null, null, null, null, null, null,
+                    null, null, null, null, null, null, null,
+                    g.getSemester(), Double.toString(g.getScore()), g.getLetterGrade(), Double.toString(g.getGradePoint()));
+            return true;
+        }
+
+        @Override
+        public void end(Writer out) {}
+
+        private static void row(Writer out, String type, int id, String... fields) throws IOException {
+            out.write(type);
+            out.write(',');
+            out.write(Integer.toString(id));
+            for (String field : fields) {
+                out.write(',');
+                if (field != null) field(out, field);
+            }
+            out.write("\r\n");
+        }
+
+        /** 쉼표·큰따옴표·줄바꿈이 있으면 큰따옴표로 감싸고 " 는 "" 로 */
+        private static void field(Writer out, String value) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                out.write(value);
+                return;
+            }
+            out.write('"');
+            out.write(value.replace("\"", "\"\""));
+            out.write('"');
+        }
+    }
+
+    // ===== JSON (한 줄에 객체 하나) =====
+
+    private static final class JsonFormat implements Format {
+        @Override
+        public void begin(Writer out) {}
+
+        @Override
+        public boolean subject(Writer out, Subject s) throws IOException {
+            out.write("{\"type\":\"subject\",\"id\":");
+            out.write(Integer.toString(s.getId()));
+            property(out, "name", s.getName());
+            out.write(",\"credits\":");
+            out.write(Integer.toString(s.getCredits()));
+            property(out, "professor", s.getProfessor());
+            property(out, "classroom", s.getClassroom());
+            property(out, "category", s.getCategory());
+            property(out, "dayOfWeek", s.getDayOfWeek());
+            property(out, "startTime", s.getStartTime());
+            property(out, "endTime", s.getEndTime());
+            out.write("}\n");
+            return true;
+        }
+
+        @Override
+        public boolean assignment(Writer out, Assignment a, String subject) throws IOException {
+            out.write("{\"type\":\"assignment\",\"id\":");
+            out.write(Integer.toString(a.getId()));
+            out.write(",\"subjectId\":");
+            out.write(Integer.toString(a.getSubjectId()));
+            property(out, "subject", subject);
+            property(out, "title", a.getTitle());
+            property(out, "description", a.getDescription());
+            property(out, "dueDate", text(a.getDueDate()));
+            property(out, "status", a.getStatus());
+            property(out, "priority", a.getPriority());
+            out.write("}\n");
+            return true;
+        }
+
+        @Override
+        public boolean exam(Writer out, Exam e, String subject) throws IOException {
+            out.write("{\"type\":\"exam\",\"id\":");
+            out.write(Integer.toString(e.getId()));
+            out.write(",\"subjectId\":");
+            out.write(Integer.toString(e.getSubjectId()));
+            property(out, "subject", subject);
+            property(out, "title", e.getTitle());
+            property(out, "examType", e.getType());
+            property(out, "examDateTime", text(e.getExamDateTime()));
+            property(out, "location", e.getLocation());
+            property(out, "description", e.getDescription());
+            out.write("}\n");
+            return true;
+        }
+
+        @Override
+        public boolean grade(Writer out, GradeRecord g, String subject) throws IOException {
+            out.write("{\"type\":\"grade\",\"id\":");
+            out.write(Integer.toString(g.getId()));
+            out.write(",\"subjectId\":");
+            out.write(Integer.toString(g.getSubjectId()));
+            property(out, "subject", subject);
+            property(out, "semester", g.getSemester());
+            out.write(",\"score\":");
+            out.write(Double.toString(g.getScore()));
+            property(out, "letterGrade", g.getLetterGrade());
+            out.write(",\"gradePoint\":");
+            out.write(Double.toString(g.getGradePoint()));
+            out.write("}\n");
+            return true;
+        }
+
+        @Override
+        public void end(Writer out) {}
+
+        /** ,"name":"값" (값이 없으면 null) */
+        private static void property(Writer out, String name, String value) throws IOException {
+            out.write(",\"");
+            out.write(name);
+            out.write("\":");
+            if (value == null) {
+                out.write("null");
+                return;
+            }
+            out.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"':  out.write("\\\""); break;
+                    case '\\': out.write("\\\\"); break;
+                    case '\n': out.write("\\n"); break;
+                    case '\r': out.write("\\r"); break;
+                    case '\t': out.write("\\t"); break;
+                    default:
+                        if (c < 0x20) {
+                            out.write(String.format("\\u%04x", (int) c));
+                        } else {
+                            out.write(c);
+                        }
+                }
+            }
+            out.write('"');
+        }
+    }
+
+    // ===== iCalendar =====
+
+    private static final class IcsFormat implements Format {
+        private final String stamp = LocalDateTime.now(ZoneOffset.UTC).format(ICS_DATE_TIME) + "Z";
+        // 매주 반복 일정의 첫 주: 이번 주 (오늘 포함 다음 해당 요일)
+        private final LocalDate today = LocalDate.now();
+        private final StringBuilder line = new StringBuilder();
+
+        @Override
+        public void begin(Writer out) throws IOException {
+            write(out, "BEGIN:VCALENDAR");
+            write(out, "VERSION:2.0");
+            write(out, "PRODID:-//StudentManager//Export//KO");
+            write(out, "CALSCALE:GREGORIAN");
+        }
+
+        /** 요일과 시작/종료 시간이 모두 있는 과목만 일정으로 씀 (요일은 월~일 한 글자) */
+        @Override
+        public boolean subject(Writer out, Subject s) throws IOException {
+            int day = s.getDayOfWeek() == null ? -1 : "월화수목금토일".indexOf(s.getDayOfWeek().trim());
+            if (day < 0 || s.getStartTime() == null || s.getEndTime() == null) return false;
+            LocalDate first = today.with(TemporalAdjusters.nextOrSame(DayOfWeek.of(day + 1)));
+            LocalTime start;
+            LocalTime end;
+            try {
+                start = LocalTime.parse(s.getStartTime());
+                end = LocalTime.parse(s.getEndTime());
+            } catch (DateTimeParseException e) {
+                return false;
+            }
+
+            beginEvent(out, "VEVENT", "subject-" + s.getId());
+            write(out, "SUMMARY:" + escape(s.getName()));
+            write(out, "DTSTART:" + first.atTime(start).format(ICS_DATE_TIME));
+            write(out, "DTEND:" + first.atTime(end).format(ICS_DATE_TIME));
+            write(out, "RRULE:FREQ=WEEKLY;BYDAY=" + ICS_DAYS[day]);
+            if (s.getClassroom() != null) write(out, "LOCATION:" + escape(s.getClassroom()));
+            if (s.getProfessor() != null) write(out, "X-PROFESSOR:" + escape(s.getProfessor()));
+            if (s.getCategory() != null) write(out, "CATEGORIES:" + escape(s.getCategory()));
+            write(out, "X-CREDITS:" + s.getCredits());
+            write(out, "END:VEVENT");
+            return true;
+        }
+
+        /** 마감일의 종일 일정 */
+        @Override
+        public boolean assignment(Writer out, Assignment a, String subject) throws IOException {
+            if (a.getDueDate() == null) return false;
+            beginEvent(out, "VEVENT", "assignment-" + a.getId());
+            write(out, "SUMMARY:" + escape(a.getTitle()));
+            write(out, "DTSTART;VALUE=DATE:" + a.getDueDate().format(ICS_DATE));
+            write(out, "DTEND;VALUE=DATE:" + a.getDueDate().plusDays(1).format(ICS_DATE));
+            write(out, "CATEGORIES:" + escape(subject));
+            if (a.getDescription() != null) write(out, "DESCRIPTION:" + escape(a.getDescription()));
+            write(out, "PRIORITY:" + priorityOf(a.getPriority()));
+            if (a.getStatus() != null) write(out, "X-STATUS:" + escape(a.getStatus()));
+            write(out, "END:VEVENT");
+            return true;
+        }
+
+        @Override
+        public boolean exam(Writer out, Exam e, String subject) throws IOException {
+            if (e.getExamDateTime() == null) return false;
+            beginEvent(out, "VEVENT", "exam-" + e.getId());
+            write(out, "SUMMARY:" + escape(e.getTitle()));
+            write(out, "DTSTART:" + e.getExamDateTime().format(ICS_DATE_TIME));
+            write(out, "CATEGORIES:" + escape(subject));
+            if (e.getType() != null) write(out, "X-EXAM-TYPE:" + escape(e.getType()));
+            if (e.getLocation() != null) write(out, "LOCATION:" + escape(e.getLocation()));
+            if (e.getDescription() != null) write(out, "DESCRIPTION:" + escape(e.getDescription()));
+            write(out, "END:VEVENT");
+            return true;
+        }
+
+        /** 날짜가 없는 기록이므로 VJOURNAL (SUMMARY: 과목명 학기 등급) */
+        @Override
+        public boolean grade(Writer out, GradeRecord g, String subject) throws IOException {
+            beginEvent(out, "VJOURNAL", "grade-" + g.getId());
+            write(out, "SUMMARY:" + escape(subject + " " + g.getSemester() + " " + g.getLetterGrade()));
+            write(out, "CATEGORIES:" + escape(subject));
+            if (g.getSemester() != null) write(out, "X-SEMESTER:" + escape(g.getSemester()));
+            write(out, "X-SCORE:" + g.getScore());
+            if (g.getLetterGrade() != null) write(out, "X-LETTER-GRADE:" + escape(g.getLetterGrade()));
+            write(out, "X-GRADE-POINT:" + g.getGradePoint());
+            write(out, "END:VJOURNAL");
+            return true;
+        }
+
+        @Override
+        public void end(Writer out) throws IOException {
+            write(out, "END:VCALENDAR");
+        }
+
+        private void beginEvent(Writer out, String component, String uid) throws IOException {
+            write(out, "BEGIN:" + component);
+            write(out, "UID:" + uid + "@studentmanager");
+            write(out, "DTSTAMP:" + stamp);
+        }
+
+        /** 앱 우선순위 → iCalendar PRIORITY (1 높음 ~ 9 낮음) */
+        private static int priorityOf(String priority) {
+            if ("매우높음".equals(priority)) return 1;
+            if ("높음".equals(priority)) return 3;
+            if ("낮음".equals(priority)) return 7;
+            return 5;
+        }
+
+        /** TEXT 값 이스케이프 (\ ; , 줄바꿈) */
+        private static String escape(String text) {
+            StringBuilder escaped = new StringBuilder(text.length() + 8);
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '\\' || c == ';' || c == ',') escaped.append('\\').append(c);
+                else if (c == '\n') escaped.append("\\n");
+                else if (c != '\r') escaped.append(c);
+            }
+            return escaped.toString();
+        }
+
+        /**
+         * 한 줄을 CRLF 로 씁니다.
+         * RFC 5545 에 따라 UTF-8 75바이트를 넘으면 글자 중간을 자르지 않고 접어서(CRLF + 공백) 씁니다.
+         */
+        private void write(Writer out, String content) throws IOException {
+            line.setLength(0);
+            int bytes = 0;
+            for (int i = 0; i < content.length(); i++) {
+                char c = content.charAt(i);
+                int size = c < 0x80 ? 1 : c < 0x800 ? 2 : Character.isSurrogate(c) ? 2 : 3;   // 서로게이트 쌍은 합쳐서 4바이트
+                if (bytes + size > 75 && !Character.isLowSurrogate(c)) {
+                    line.append("\r\n ");
+                    bytes = 1;
+                }
+                line.append(c);
+                bytes += size;
+            }
+            line.append("\r\n");
+            out.append(line);
+        }
+    }
+
+    private static String text(Object value) {
+        return value == null ? null : value.toString();
+    }
+}
@@ -0,0 +1,803 @@
+package common.database;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import common.model.Assignment;
+import common.model.Exam;
+import common.model.GradeRecord;
+import common.model.Subject;
+import common.utils.CsvReader;
+
+/**
+ * CSV / iCalendar(.ics) 파일에서 과목·과제·시험(CSV 는 성적도)을 가져오는 스트리밍 가져오기 도구
+ *
+ * 파일을 통째로 읽지 않고 레코드 하나씩 읽어
+ *   파싱 → 행 변환·검증 → 과목 참조 해석 → 묶음 저장
+ * 순서로 흘려보냅니다. batchSize 개가 모일 때마다 DatabaseManager.transaction() 한 번으로 저장하므로
+ * 저널 기록·스냅샷 교체·변경 알림도 묶음마다 한 번씩만 일어납니다.
+ * 잘못된 행은 건너뛰고 (줄 번호와 이유를 결과에 남김) 나머지는 계속 가져옵니다.
+ *
+ * CSV: 첫 줄은 헤더 (열 이름은 대소문자·공백·밑줄 무시, 순서 자유, 한글 열 이름도 가능)
+ *      type 열(subject/assignment/exam/grade 또는 과목/과제/시험/성적)이 없으면 dueDate 가 있으면 과제,
+ *      examDateTime 이 있으면 시험, letterGrade 가 있으면 성적, 나머지는 과목으로 봅니다.
+ *      과제/시험/성적의 subject 열은 과목 ID 또는 과목명이며, 같은 파일의 앞쪽 과목도 이름으로 참조할 수 있습니다.
+ * ICS: 매주 반복(RRULE:FREQ=WEEKLY)하는 VEVENT 는 과목, 종일(VALUE=DATE) VEVENT 와 VTODO 는 과제,
+ *      그 밖의 VEVENT 는 시험으로 가져오며 과목 참조는 CATEGORIES 의 첫 값입니다.
+ *      BulkExporter 가 쓰는 X-PROFESSOR, X-CREDITS, X-STATUS, X-EXAM-TYPE 속성도 읽습니다.
+ *
+ * 이미 같은 이름의 과목이 있으면 새로 만들지 않고 그 과목을 참조합니다. (같은 파일을 다시 가져와도 과목이 늘지 않음)
+ */
+public class BulkImporter {
+    /** 기본 묶음 크기 (-Ddb.importBatchSize 로 변경) */
+    public static final int DEFAULT_BATCH_SIZE = Integer.getInteger("db.importBatchSize", 500);
+    private static final int MAX_REPORTED_ERRORS = 50;
+    private static final int DEFAULT_CREDITS = 3;
+
+    private final DatabaseManager db;
+    private final int batchSize;
+
+    public BulkImporter(DatabaseManager db) {
+        this(db, DEFAULT_BATCH_SIZE);
+    }
+
+    public BulkImporter(DatabaseManager db, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize 는 1 이상이어야 합니다: " + batchSize);
+        }
+        this.db = db;
+        this.batchSize = batchSize;
+    }
+
+    /** 확장자(.ics/.ical 이면 iCalendar, 나머지는 CSV)로 형식을 골라 가져옵니다. */
+    public Result importFile(Path path) throws IOException {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".ics") || name.endsWith(".ical") ? importICalendar(path) : importCsv(path);
+    }
+
+    public Result importCsv(Path path) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return importCsv(reader, path.getFileName().toString());
+        }
+    }
+
+    /** 헤더가 있는 CSV 를 가져옵니다. (reader 는 닫지 않음) */
+    public Result importCsv(Reader reader, String sourceName) throws IOException {
+        Run run = new Run(sourceName);
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return run.finish();
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(canonicalColumn(header.get(i)), i);
+        }
+
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            run.rowsRead++;
+            if (isBlank(record)) continue;
+            try {
+                run.accept(mapCsvRow(new CsvRow(columns, record), csv.recordLine()));
+            } catch (IllegalArgumentException | DateTimeException e) {
+                run.reject(csv.recordLine(), e.getMessage());
+            }
+        }
+        return run.finish();
+    }
+
+    public Result importICalendar(Path path) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return importICalendar(reader, path.getFileName().toString());
+        }
+    }
+
+    /** VEVENT/VTODO 를 하나씩 읽어 가져옵니다. (reader 는 닫지 않음) */
+    public Result importICalendar(Reader reader, String sourceName) throws IOException {
+        Run run = new Run(sourceName);
+        IcsReader ics = new IcsReader(reader);
+        Map<String, IcsProperty> component = null;
+        String componentName = null;
+        int componentLine = 0;
+        String line;
+        while ((line = ics.next()) != null) {
+            IcsProperty property = IcsProperty.parse(line);
+            if (property == null) continue;
+            if (property.name.equals("BEGIN") && component == null
+                    && (property.value.equalsIgnoreCase("VEVENT") || property.value.equalsIgnoreCase("VTODO"))) {
+                component = new HashMap<>();
+                componentName = property.value.toUpperCase(Locale.ROOT);
+                componentLine = ics.lineNumber();
+            } else if (property.name.equals("END") && component != null
+                    && property.value.equalsIgnoreCase(componentName)) {
+                run.rowsRead++;
+                try {
+                    run.accept(componentName.equals("VTODO")
+                            ? mapTodo(component, componentLine)
+                            : mapEvent(component, componentLine));
+                } catch (IllegalArgumentException | DateTimeException e) {
+                    run.reject(componentLine, e.getMessage());
+                }
+                component = null;
+            } else if (component != null) {
+                component.putIfAbsent(property.name, property);   // 같은 속성이 여러 번 나오면 첫 값 사용
+            }
+        }
+        return run.finish();
+    }
+
+    // ===== 행 변환 / 검증 =====
+
+    private Row mapCsvRow(CsvRow row, int line) {
+        DataTable kind = csvKind(row);
+        switch (kind) {
+            case SUBJECT: {
+                Subject subject = new Subject(required(row.get("name", "title"), "과목명"),
+                        parseCredits(row.get("credits")), clean(row.get("professor")));
+                subject.setClassroom(clean(row.get("classroom", "location")));
+                subject.setCategory(clean(row.get("category")));
+                setSchedule(subject, row.get("dayofweek"), row.get("starttime"), row.get("endtime"));
+                return new Row(kind, subject, null, line);
+            }
+            case ASSIGNMENT: {
+                Assignment assignment = new Assignment(0, required(row.get("title", "name"), "과제 제목"),
+                        parseDate(required(row.get("duedate", "date"), "마감일")));
+                assignment.setDescription(clean(row.get("description")));
+                String status = row.get("status");
+                if (status != null) assignment.setStatus(clean(status));
+                String priority = row.get("priority");
+                if (priority != null) assignment.setPriority(clean(priority));
+                return new Row(kind, assignment, required(row.get("subject"), "과목"), line);
+            }
+            case GRADE: {
+                String score = row.get("score");
+                GradeRecord grade = new GradeRecord(0, required(row.get("semester"), "학기"),
+                        score != null ? parseScore(score) : 0, required(row.get("lettergrade"), "등급"));
+                return new Row(kind, grade, required(row.get("subject"), "과목"), line);
+            }
+            default: {
+                String title = required(row.get("title", "name"), "시험명");
+                String type = row.get("examtype");
+                Exam exam = new Exam(0, clean(title), type != null ? clean(type) : examTypeOf(title),
+                        parseDateTime(required(row.get("examdatetime", "date"), "시험 일시")));
+                exam.setLocation(clean(row.get("location", "classroom")));
+                exam.setDescription(clean(row.get("description")));
+                return new Row(kind, exam, required(row.get("subject"), "과목"), line);
+            }
+        }
+    }
+
+    private static DataTable csvKind(CsvRow row) {
+        String type = row.get("type");
+        if (type == null) {
+            if (row.get("duedate") != null) return DataTable.ASSIGNMENT;
+            if (row.get("examdatetime") != null) return DataTable.EXAM;
+            if (row.get("lettergrade") != null) return DataTable.GRADE;
+            return DataTable.SUBJECT;
+        }
+        switch (type.toLowerCase(Locale.ROOT)) {
+            case "subject": case "course": case "과목":
+                return DataTable.SUBJECT;
+            case "assignment": case "task": case "todo": case "과제":
+                return DataTable.ASSIGNMENT;
+            case "exam": case "test": case "시험":
+                return DataTable.EXAM;
+            case "grade": case "성적":
+                return DataTable.GRADE;
+            default:
+                throw new IllegalArgumentException("알 수 없는 type: " + type);
+        }
+    }
+
+    private Row mapEvent(Map<String, IcsProperty> event, int line) {
+        String summary = required(text(event, "SUMMARY"), "SUMMARY");
+        IcsProperty start = event.get("DTSTART");
+        if (start == null) throw new IllegalArgumentException("DTSTART 없음");
+        LocalDateTime startTime = start.dateTime();
+
+        IcsProperty rule = event.get("RRULE");
+        if (rule != null && rule.value.toUpperCase(Locale.ROOT).contains("FREQ=WEEKLY")) {
+            IcsProperty end = event.get("DTEND");
+            if (end == null) throw new IllegalArgumentException("반복 일정에 DTEND 없음");
+            String credits = text(event, "X-CREDITS");
+            String professor = text(event, "X-PROFESSOR");
+            Subject subject = new Subject(summary, parseCredits(credits), professor != null ? professor : organizerName(event));
+            subject.setClassroom(text(event, "LOCATION"));
+            subject.setCategory(firstCategory(event));
+            String day = ruleDay(rule.value);
+            setSchedule(subject, day != null ? day : koreanDay(startTime.getDayOfWeek()),
+                    startTime.toLocalTime().toString(), end.dateTime().toLocalTime().toString());
+            return new Row(DataTable.SUBJECT, subject, null, line);
+        }
+
+        if (start.isDate()) {
+            return mapTodo(event, start, line);   // 종일 일정은 마감일로 봄
+        }
+        String type = text(event, "X-EXAM-TYPE");
+        Exam exam = new Exam(0, summary, type != null ? type : examTypeOf(summary), startTime);
+        exam.setLocation(text(event, "LOCATION"));
+        exam.setDescription(text(event, "DESCRIPTION"));
+        return new Row(DataTable.EXAM, exam, required(firstCategory(event), "CATEGORIES(과목)"), line);
+    }
+
+    private Row mapTodo(Map<String, IcsProperty> todo, int line) {
+        IcsProperty due = todo.containsKey("DUE") ? todo.get("DUE") : todo.get("DTSTART");
+        if (due == null) throw new IllegalArgumentException("DUE 없음");
+        return mapTodo(todo, due, line);
+    }
+
+    /** VTODO 또는 종일 VEVENT → 과제 (due: 마감일 속성) */
+    private Row mapTodo(Map<String, IcsProperty> todo, IcsProperty due, int line) {
+        Assignment assignment = new Assignment(0, required(text(todo, "SUMMARY"), "SUMMARY"),
+                due.dateTime().toLocalDate());
+        assignment.setDescription(text(todo, "DESCRIPTION"));
+        String status = text(todo, "STATUS");
+        if ("COMPLETED".equalsIgnoreCase(status)) assignment.setStatus("완료");
+        else if ("IN-PROCESS".equalsIgnoreCase(status)) assignment.setStatus("진행중");
+        String appStatus = text(todo, "X-STATUS");
+        if (appStatus != null) assignment.setStatus(appStatus);
+        String priority = text(todo, "PRIORITY");
+        if (priority != null) assignment.setPriority(priorityOf(priority));
+        return new Row(DataTable.ASSIGNMENT, assignment, required(firstCategory(todo), "CATEGORIES(과목)"), line);
+    }
+
+    private static void setSchedule(Subject subject, String day, String start, String end) {
+        if (day != null) {
+            subject.setDayOfWeek(normalizeDay(day));
+        }
+        if (start == null && end == null) return;
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("시작/종료 시간은 함께 있어야 합니다");
+        }
+        LocalTime startTime = parseTime(start);
+        LocalTime endTime = parseTime(end);
+        if (!startTime.isBefore(endTime)) {
+            throw new IllegalArgumentException("종료 시간이 시작 시간보다 빠릅니다: " + start + " ~ " + end);
+        }
+        subject.setStartTime(startTime.toString());
+        subject.setEndTime(endTime.toString());
+    }
+
+    private static int parseCredits(String credits) {
+        if (credits == null) return DEFAULT_CREDITS;
+        int value = Integer.parseInt(credits.trim());   // 숫자가 아니면 NumberFormatException (IllegalArgumentException)
+        if (value < 0 || value > 10) {
+            throw new IllegalArgumentException("학점 범위 오류: " + value);
+        }
+        return value;
+    }
+
+    private static double parseScore(String score) {
+        double value = Double.parseDouble(score.trim());   // 숫자가 아니면 NumberFormatException (IllegalArgumentException)
+        if (value < 0 || value > 100) {
+            throw new IllegalArgumentException("점수 범위 오류: " + score);
+        }
+        return value;
+    }
+
+    private static String examTypeOf(String title) {
+        String lower = title.toLowerCase(Locale.ROOT);
+        if (title.contains("중간") || lower.contains("midterm")) return "중간고사";
+        if (title.contains("기말") || lower.contains("final")) return "기말고사";
+        return "쪽지시험";
+    }
+
+    /** iCalendar PRIORITY (1 높음 ~ 9 낮음, 0 없음) → 앱 우선순위 */
+    private static String priorityOf(String priority) {
+        int value = Integer.parseInt(priority.trim());
+        if (value == 1) return "매우높음";
+        if (value >= 2 && value <= 4) return "높음";
+        if (value >= 6) return "낮음";
+        return "보통";
+    }
+
+    private static String normalizeDay(String day) {
+        String value = day.trim().toLowerCase(Locale.ROOT);
+        if (value.length() == 1 && "월화수목금토일".contains(value)) return value;
+        if (value.length() == 3 && value.endsWith("요일") && "월화수목금토일".indexOf(value.charAt(0)) >= 0) {
+            return value.substring(0, 1);
+        }
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            String english = dayOfWeek.name().toLowerCase(Locale.ROOT);
+            if (value.equals(english) || value.equals(english.substring(0, 3)) || value.equals(english.substring(0, 2))) {
+                return koreanDay(dayOfWeek);
+            }
+        }
+        throw new IllegalArgumentException("요일 형식 오류: " + day);
+    }
+
+    private static String koreanDay(DayOfWeek dayOfWeek) {
+        return String.valueOf("월화수목금토일".charAt(dayOfWeek.getValue() - 1));
+    }
+
+    /** RRULE 의 BYDAY 첫 요일 (예: BYDAY=MO,WE → 월) */
+    private static String ruleDay(String rule) {
+        for (String part : rule.split(";")) {
+            if (part.toUpperCase(Locale.ROOT).startsWith("BYDAY=")) {
+                String first = part.substring(6).split(",")[0];
+                return first.length() >= 2 ? normalizeDay(first.substring(first.length() - 2)) : null;
+            }
+        }
+        return null;
+    }
+
+    private static LocalTime parseTime(String time) {
+        String value = time.trim();
+        if (value.length() == 4 && value.charAt(1) == ':') value = "0" + value;   // 9:00 → 09:00
+        return LocalTime.parse(value);
+    }
+
+    /** yyyy-MM-dd (구분자는 - / . 모두 허용) */
+    private static LocalDate parseDate(String date) {
+        return LocalDate.parse(date.trim().replace('/', '-').replace('.', '-'));
+    }
+
+    /** yyyy-MM-dd HH:mm[:ss] 또는 ISO 형식(T 구분) */
+    private static LocalDateTime parseDateTime(String dateTime) {
+        String value = dateTime.trim().replace('/', '-');
+        int space = value.indexOf(' ');
+        if (space > 0) {
+            value = value.substring(0, space) + "T" + value.substring(space + 1).trim();
+        }
+        return LocalDateTime.parse(value);
+    }
+
+    private static String required(String value, String field) {
+        if (value == null) throw new IllegalArgumentException(field + " 없음");
+        return clean(value);
+    }
+
+    /**
+     * 저장 형식(| 구분, 한 줄 한 행)을 깨지 않도록 구분자와 줄바꿈을 바꿉니다.
+     * 비어 있으면 null
+     */
+    private static String clean(String value) {
+        if (value == null) return null;
+        String cleaned = value.replace('|', '/').replace("\r\n", " ").replace('\n', ' ').replace('\r', ' ').trim();
+        return cleaned.isEmpty() ? null : cleaned;
+    }
+
+    private static boolean isBlank(List<String> record) {
+        for (String field : record) {
+            if (!field.isBlank()) return false;
+        }
+        return true;
+    }
+
+    private static String text(Map<String, IcsProperty> component, String name) {
+        IcsProperty property = component.get(name);
+        return property == null ? null : clean(property.text());
+    }
+
+    private static String firstCategory(Map<String, IcsProperty> component) {
+        IcsProperty categories = component.get("CATEGORIES");
+        if (categories == null) return null;
+        return clean(IcsProperty.unescape(categories.value.split("(?<!\\\\),")[0]));
+    }
+
+    /** ORGANIZER;CN=홍길동:mailto:... → 홍길동 */
+    private static String organizerName(Map<String, IcsProperty> component) {
+        IcsProperty organizer = component.get("ORGANIZER");
+        return organizer == null ? null : clean(organizer.param("CN"));
+    }
+
+    /**
+     * 헤더 열 이름을 내부 키로 맞춥니다.
+     * 대소문자·공백·밑줄·하이픈을 무시하고, 한글/별칭 열 이름은 같은 키로 묶습니다.
+     */
+    private static String canonicalColumn(String header) {
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < header.length(); i++) {
+            char c = header.charAt(i);
+            if (c == '\uFEFF' || c == ' ' || c == '_' || c == '-') continue;
+            key.append(Character.toLowerCase(c));
+        }
+        switch (key.toString()) {
+            case "구분": case "종류": case "kind": return "type";
+            case "과목명": case "subjectname": case "coursename": return "name";
+            case "제목": case "시험명": case "summary": return "title";
+            case "과목": case "course": case "subjectid": return "subject";
+            case "학점": case "credit": return "credits";
+            case "교수": case "교수명": case "instructor": return "professor";
+            case "강의실": case "room": return "classroom";
+            case "이수구분": return "category";
+            case "요일": case "day": return "dayofweek";
+            case "시작시간": case "start": return "starttime";
+            case "종료시간": case "end": return "endtime";
+            case "마감일": case "due": return "duedate";
+            case "상태": return "status";
+            case "우선순위": return "priority";
+            case "시험유형": case "시험종류": return "examtype";
+            case "시험일시": case "datetime": return "examdatetime";
+            case "날짜": return "date";
+            case "장소": return "location";
+            case "설명": case "범위": case "notes": return "description";
+            case "학기": return "semester";
+            case "점수": return "score";
+            case "등급": case "학점등급": case "grade": return "lettergrade";
+            default: return key.toString();
+        }
+    }
+
+    // ===== 과목 참조 해석 + 묶음 저장 =====
+
+    /** 가져오기 한 번의 진행 상태 */
+    private final class Run {
+        private final String sourceName;
+        private final long startNanos = System.nanoTime();
+        private final List<Row> batch = new ArrayList<>();
+        // 과목명 → ID (기존 과목 + 이번에 가져온 과목)
+        private final Map<String, Integer> subjectIds = new HashMap<>();
+        private final Map<DataTable, Integer> imported = new EnumMap<>(DataTable.class);
+        private final List<String> errors = new ArrayList<>();
+        private int rowsRead;
+        private int skipped;
+        private int rejected;
+        private int batches;
+
+        Run(String sourceName) {
+            this.sourceName = sourceName;
+            for (Subject subject : db.getSubjectSnapshot()) {
+                subjectIds.putIfAbsent(subject.getName(), subject.getId());
+            }
+        }
+
+        void accept(Row row) {
+            batch.add(row);
+            if (batch.size() >= batchSize) {
+                commit();
+            }
+        }
+
+        void reject(int line, String reason) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(line + "행: " + reason);
+            }
+        }
+
+        private void commit() {
+            if (batch.isEmpty()) return;
+            List<Row> rows = new ArrayList<>(batch);
+            batch.clear();
+            // 트랜잭션 블록 안에서 결정된 결과 (실패하면 버림)
+            Map<String, Integer> newSubjectIds = new HashMap<>();
+            Map<DataTable, Integer> added = new EnumMap<>(DataTable.class);
+            List<Row> unresolved = new ArrayList<>();
+            int[] existingSubjects = new int[1];
+            try {
+                db.transaction(tx -> {
+                    for (Row row : rows) {
+                        if (row.kind == DataTable.SUBJECT) {
+                            Subject subject = (Subject) row.entity;
+                            if (subjectIds.containsKey(subject.getName()) || newSubjectIds.containsKey(subject.getName())) {
+                                existingSubjects[0]++;
+                                continue;
+                            }
+                            newSubjectIds.put(subject.getName(), tx.addSubject(subject).getId());
+                        } else {
+                            Integer subjectId = resolveSubject(tx, row.subjectRef, newSubjectIds);
+                            if (subjectId == null) {
+                                unresolved.add(row);
+                                continue;
+                            }
+                            if (row.kind == DataTable.ASSIGNMENT) {
+                                Assignment assignment = (Assignment) row.entity;
+                                assignment.setSubjectId(subjectId);
+                                tx.addAssignment(assignment);
+                            } else if (row.kind == DataTable.EXAM) {
+                                Exam exam = (Exam) row.entity;
+                                exam.setSubjectId(subjectId);
+                                tx.addExam(exam);
+                            } else {
+                                GradeRecord grade = (GradeRecord) row.entity;
+                                grade.setSubjectId(subjectId);
+                                tx.addGrade(grade);
+                            }
+                        }
+                        added.merge(row.kind, 1, Integer::sum);
+                    }
+                });
+            } catch (RuntimeException e) {
+                System.err.println("❌ 가져오기 묶음 저장 실패 (" + rows.size() + "행 취소): " + e.getMessage());
+                for (Row row : rows) {
+                    reject(row.line, "저장 실패: " + e.getMessage());
+                }
+                return;
+            }
+            batches++;
+            subjectIds.putAll(newSubjectIds);
+            added.forEach((table, count) -> imported.merge(table, count, Integer::sum));
+            skipped += existingSubjects[0];
+            for (Row row : unresolved) {
+                reject(row.line, "과목을 찾을 수 없음: " + row.subjectRef);
+            }
+        }
+
+        /** 과목 ID(숫자) 또는 과목명 → ID, 찾지 못하면 null */
+        private Integer resolveSubject(DatabaseManager.Tx tx, String reference, Map<String, Integer> newSubjectIds) {
+            Integer id = newSubjectIds.containsKey(reference) ? newSubjectIds.get(reference) : subjectIds.get(reference);
+            if (id != null) return id;
+            try {
+                int numeric = Integer.parseInt(reference);
+                return tx.getSubjectById(numeric).isPresent() ? numeric : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        Result finish() {
+            commit();
+            Result result = new Result(sourceName, rowsRead, imported, skipped, rejected, batches, errors,
+                    (System.nanoTime() - startNanos) / 1_000_000);
+            System.out.println("📥 가져오기 완료: " + result);
+            for (String error : errors) {
+                System.err.println("⚠️ 가져오기 건너뜀 " + error);
+            }
+            if (rejected > errors.size()) {
+                System.err.println("⚠️ ... 외 " + (rejected - errors.size()) + "건");
+            }
+            return result;
+        }
+    }
+
+    /** 변환을 마친 행 하나 (과제/시험은 아직 과목 참조를 해석하기 전) */
+    private static final class Row {
+        final DataTable kind;
+        final Object entity;
+        final String subjectRef;
+        final int line;
+
+        Row(DataTable kind, Object entity, String subjectRef, int line) {
+            this.kind = kind;
+            this.entity = entity;
+            this.subjectRef = subjectRef;
+            this.line = line;
+        }
+    }
+
+    /** 가져오기 결과와 처리량 */
+    public static final class Result {
+        private final String sourceName;
+        private final int rowsRead;
+        private final Map<DataTable, Integer> imported;
+        private final int skipped;
+        private final int rejected;
+        private final int batches;
+        private final List<String> errors;
+        private final long elapsedMillis;
+
+        Result(String sourceName, int rowsRead, Map<DataTable, Integer> imported, int skipped, int rejected,
+               int batches, List<String> errors, long elapsedMillis) {
+            this.sourceName = sourceName;
+            this.rowsRead = rowsRead;
+            this.imported = Collections.unmodifiableMap(new EnumMap<>(imported));
+            this.skipped = skipped;
+            this.rejected = rejected;
+            this.batches = batches;
+            this.errors = List.copyOf(errors);
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public String getSourceName() { return sourceName; }
+        /** 읽은 레코드 수 (CSV 헤더 제외, ICS 는 VEVENT/VTODO 수) */
+        public int getRowsRead() { return rowsRead; }
+        public int getImported(DataTable table) { return imported.getOrDefault(table, 0); }
+        public int getImportedTotal() { return imported.values().stream().mapToInt(Integer::intValue).sum(); }
+        /** 이미 같은 이름이 있어 새로 만들지 않은 과목 수 */
+        public int getSkipped() { return skipped; }
+        public int getRejected() { return rejected; }
+        public int getBatches() { return batches; }
+        /** 건너뛴 행의 줄 번호와 이유 (앞쪽 일부만) */
+        public List<String> getErrors() { return errors; }
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        public double getRowsPerSecond() {
+            return rowsRead * 1000.0 / Math.max(1, elapsedMillis);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s - %d행 읽음, 과목 %d / 과제 %d / 시험 %d / 성적 %d 추가, 기존 과목 %d, 오류 %d (묶음 %d개, %dms, %.0f행/초)",
+                    sourceName, rowsRead, getImported(DataTable.SUBJECT), getImported(DataTable.ASSIGNMENT),
+                    getImported(DataTable.EXAM), getImported(DataTable.GRADE), skipped, rejected, batches, elapsedMillis, getRowsPerSecond());
+        }
+    }
+
+    // ===== CSV =====
+
+    /** 헤더 이름으로 열 값을 꺼내는 CSV 행 (빈 값은 null) */
+    private static final class CsvRow {
+        private final Map<String, Integer> columns;
+        private final List<String> record;
+
+        CsvRow(Map<String, Integer> columns, List<String> record) {
+            this.columns = columns;
+            this.record = record;
+        }
+
+        /** 앞의 열 이름부터 찾아 처음으로 값이 있는 열 */
+        String get(String... keys) {
+            for (String key : keys) {
+                Integer index = columns.get(key);
+                if (index != null && index < record.size()) {
+                    String value = record.get(index).trim();
+                    if (!value.isEmpty()) return value;
+                }
+            }
+            return null;
+        }
+    }
+
+    // ===== iCalendar =====
+
+    /** 접힌 줄(다음 줄이 공백/탭으로 시작)을 이어 붙여 논리적인 한 줄씩 돌려주는 리더 */
+    private static final class IcsReader {
+        private final BufferedReader in;
+        private String pending;
+        private int line;
+        private int pendingLine;
+        private int currentLine;
+
+        IcsReader(Reader in) {
+            this.in = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in);
+        }
+
+        int lineNumber() {
+            return currentLine;
+        }
+
+        String next() throws IOException {
+            if (pending == null) {
+                pending = readPhysical();
+                pendingLine = line;
+                if (pending == null) return null;
+            }
+            StringBuilder logical = new StringBuilder(pending);
+            currentLine = pendingLine;
+            while (true) {
+                String next = readPhysical();
+                if (next != null && !next.isEmpty() && (next.charAt(0) == ' ' || next.charAt(0) == '\t')) {
+                    logical.append(next, 1, next.length());
+                    continue;
+                }
+                pending = next;
+                pendingLine = line;
+                return logical.toString();
+            }
+        }
+
+        private String readPhysical() throws IOException {
+            String physical = in.readLine();
+            if (physical != null) {
+                line++;
+                if (line == 1 && !physical.isEmpty() && physical.charAt(0) == '\uFEFF') {
+                    physical = physical.substring(1);
+                }
+            }
+            return physical;
+        }
+    }
+
+    /** NAME;PARAM=값;...:VALUE 형식의 속성 한 줄 */
+    private static final class IcsProperty {
+        final String name;
+        final Map<String, String> params;
+        final String value;
+
+        private IcsProperty(String name, Map<String, String> params, String value) {
+            this.name = name;
+            this.params = params;
+            this.value = value;
+        }
+
+        /** @return 형식이 아니면 null */
+        static IcsProperty parse(String line) {
+            int colon = -1;
+            boolean inQuotes = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (c == '"') inQuotes = !inQuotes;
+                else if (c == ':' && !inQuotes) {
+                    colon = i;
+                    break;
+                }
+            }
+            if (colon <= 0) return null;
+            String[] head = line.substring(0, colon).split(";(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)");
+            Map<String, String> params = new HashMap<>();
+            for (int i = 1; i < head.length; i++) {
+                int eq = head[i].indexOf('=');
+                if (eq > 0) {
+                    String paramValue = head[i].substring(eq + 1);
+                    if (paramValue.length() >= 2 && paramValue.startsWith("\"") && paramValue.endsWith("\"")) {
+                        paramValue = paramValue.substring(1, paramValue.length() - 1);
+                    }
+                    params.put(head[i].substring(0, eq).toUpperCase(Locale.ROOT), paramValue);
+                }
+            }
+            return new IcsProperty(head[0].trim().toUpperCase(Locale.ROOT), params, line.substring(colon + 1));
+        }
+
+        String param(String key) {
+            return params.get(key);
+        }
+
+        String text() {
+            return unescape(value);
+        }
+
+        /** 시간 없는 날짜 값인지 (VALUE=DATE 또는 yyyyMMdd) */
+        boolean isDate() {
+            return "DATE".equalsIgnoreCase(param("VALUE")) || value.trim().length() == 8;
+        }
+
+        /**
+         * DATE(yyyyMMdd) 또는 DATE-TIME(yyyyMMddTHHmmss[Z]) 값을 현재 시간대의 LocalDateTime 으로
+         * (Z 는 UTC, TZID 가 있으면 그 시간대 기준으로 변환)
+         */
+        LocalDateTime dateTime() {
+            String v = value.trim();
+            if (v.length() == 8) {
+                return LocalDate.of(digits(v, 0, 4), digits(v, 4, 2), digits(v, 6, 2)).atStartOfDay();
+            }
+            if (v.length() < 15 || v.charAt(8) != 'T') {
+                throw new IllegalArgumentException(name + " 형식 오류: " + v);
+            }
+            LocalDateTime local = LocalDateTime.of(digits(v, 0, 4), digits(v, 4, 2), digits(v, 6, 2),
+                    digits(v, 9, 2), digits(v, 11, 2), digits(v, 13, 2));
+            ZoneId zone = null;
+            if (v.endsWith("Z")) {
+                zone = ZoneOffset.UTC;
+            } else if (param("TZID") != null) {
+                zone = ZoneId.of(param("TZID"));
+            }
+            return zone == null ? local : local.atZone(zone).withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        }
+
+        private int digits(String v, int start, int count) {
+            int result = 0;
+            for (int i = start; i < start + count; i++) {
+                char c = v.charAt(i);
+                if (c < '0' || c > '9') throw new IllegalArgumentException(name + " 형식 오류: " + v);
+                result = result * 10 + (c - '0');
+            }
+            return result;
+        }
+
+        /** TEXT 값의 \n \, \; \\ 이스케이프 해제 */
+        static String unescape(String text) {
+            if (text.indexOf('\\') < 0) return text;
+            StringBuilder out = new StringBuilder(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '\\' && i + 1 < text.length()) {
+                    char next = text.charAt(++i);
+                    out.append(next == 'n' || next == 'N' ? '\n' : next);
+                } else {
+                    out.append(c);
+                }
+            }
+            return out.toString();
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package common.database;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 테이블 1개를 담는 바이너리 열(column) 단위 스냅샷 파일
+ *
+ * 텍스트 파일처럼 줄마다 split/parse 하지 않고, 같은 필드를 열 단위로 모아
+ * 고정 폭(int 4바이트, long 8바이트)으로 저장합니다.
+ * 문자열은 파일 전체에서 한 번만 저장하는 사전(dictionary)의 번호로 바꾸고,
+ * 날짜는 epoch day(int)로 저장합니다. 읽을 때는 FileChannel.map 으로 매핑한 뒤
+ * 열마다 배열로 한 번에 복사합니다.
+ *
+ * 파일 구조 (big-endian):
+ *   헤더    : MAGIC, VERSION, 행 수, 열 수
+ *   사전    : 문자열 수, (UTF-8 길이, 바이트) 반복
+ *   열 반복 : 열 종류, 행 수만큼의 값
+ */
+public final class ColumnarSnapshot {
+    private static final int MAGIC = 0x43534E50; // "CSNP"
+    private static final int VERSION = 1;
+
+    private static final int TYPE_INT = 1;
+    private static final int TYPE_LONG = 2;
+    private static final int TYPE_STRING = 3;
+
+    /** 문자열 열에서 null 을 나타내는 사전 번호 */
+    private static final int NULL_STRING = -1;
+    /** 날짜 열에서 null 을 나타내는 epoch day */
+    public static final int NULL_DATE = Integer.MIN_VALUE;
+
+    private ColumnarSnapshot() {}
+
+    // ===== 쓰기 =====
+
+    /** 열을 순서대로 추가한 뒤 writeTo()로 파일에 씁니다. */
+    public static final class Writer {
+        private final int rowCount;
+        private final List<Object> columns = new ArrayList<>();
+        private final Map<String, Integer> dictionary = new LinkedHashMap<>();
+
+        public Writer(int rowCount) {
+            this.rowCount = rowCount;
+        }
+
+        public int rowCount() {
+            return rowCount;
+        }
+
+        public Writer intColumn(int[] values) {
+            checkLength(values.length);
+            columns.add(values);
+            return this;
+        }
+
+        public Writer longColumn(long[] values) {
+            checkLength(values.length);
+            columns.add(values);
+            return this;
+        }
+
+        public Writer doubleColumn(double[] values) {
+            checkLength(values.length);
+            long[] bits = new long[values.length];
+            for (int i = 0; i < values.length; i++) {
+                bits[i] = Double.doubleToRawLongBits(values[i]);
+            }
+            columns.add(bits);
+            return this;
+        }
+
+        public Writer stringColumn(String[] values) {
+            checkLength(values.length);
+            int[] codes = new int[values.length];
+            for (int i = 0; i < values.length; i++) {
+                codes[i] = values[i] == null
+                        ? NULL_STRING
+                        : dictionary.computeIfAbsent(values[i], k -> dictionary.size());
+            }
+            columns.add(new StringCodes(codes));
+            return this;
+        }
+
+        private void checkLength(int length) {
+            if (length != rowCount) {
+                throw new IllegalArgumentException("열 길이가 행 수와 다릅니다: " + length + " != " + rowCount);
+            }
+        }
+
+        public void writeTo(Path path) throws IOException {
+            List<byte[]> encoded = new ArrayList<>(dictionary.size());
+            long size = 16 + 4;
+            for (String value : dictionary.keySet()) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                encoded.add(bytes);
+                size += 4 + bytes.length;
+            }
+            for (Object column : columns) {
+                size += 4 + (long) rowCount * (column instanceof long[] ? 8 : 4);
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("스냅샷이 너무 큽니다: " + size + " bytes");
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) size).order(ByteOrder.BIG_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(rowCount).putInt(columns.size());
+            buffer.putInt(encoded.size());
+            for (byte[] bytes : encoded) {
+                buffer.putInt(bytes.length).put(bytes);
+            }
+            for (Object column : columns) {
+                if (column instanceof int[]) {
+                    buffer.putInt(TYPE_INT);
+                    buffer.asIntBuffer().put((int[]) column);
+                    buffer.position(buffer.position() + rowCount * 4);
+                } else if (column instanceof long[]) {
+                    buffer.putInt(TYPE_LONG);
+                    buffer.asLongBuffer().put((long[]) column);
+                    buffer.position(buffer.position() + rowCount * 8);
+                } else {
+                    buffer.putInt(TYPE_STRING);
+                    buffer.asIntBuffer().put(((StringCodes) column).codes);
+                    buffer.position(buffer.position() + rowCount * 4);
+                }
+            }
+            buffer.flip();
+
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        }
+    }
+
+    /** 사전 번호로 바뀐 문자열 열 */
+    private static final class StringCodes {
+        final int[] codes;
+
+        StringCodes(int[] codes) {
+            this.codes = codes;
+        }
+    }
+
+    // ===== 읽기 =====
+
+    /** 쓴 순서와 같은 순서로 열을 하나씩 꺼냅니다. */
+    public static final class Reader {
+        private final MappedByteBuffer buffer;
+        private final int rowCount;
+        private final int columnCount;
+        private final String[] dictionary;
+        private int columnsRead;
+
+        private Reader(MappedByteBuffer buffer) throws IOException {
+            this.buffer = buffer;
+            if (buffer.remaining() < 20 || buffer.getInt() != MAGIC) {
+                throw new IOException("스냅샷 파일 형식이 아닙니다");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("지원하지 않는 스냅샷 버전: " + version);
+            }
+            rowCount = buffer.getInt();
+            columnCount = buffer.getInt();
+            dictionary = new String[buffer.getInt()];
+            for (int i = 0; i < dictionary.length; i++) {
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                dictionary[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+
+        public int rowCount() {
+            return rowCount;
+        }
+
+        public int columnCount() {
+            return columnCount;
+        }
+
+        public int[] intColumn() throws IOException {
+            expect(TYPE_INT);
+            return readInts();
+        }
+
+        public long[] longColumn() throws IOException {
+            expect(TYPE_LONG);
+            long[] values = new long[rowCount];
+            buffer.asLongBuffer().get(values);
+            buffer.position(buffer.position() + rowCount * 8);
+            return values;
+        }
+
+        public double[] doubleColumn() throws IOException {
+            long[] bits = longColumn();
+            double[] values = new double[rowCount];
+            for (int i = 0; i < rowCount; i++) {
+                values[i] = Double.longBitsToDouble(bits[i]);
+            }
+            return values;
+        }
+
+        /** 같은 문자열은 같은 String 인스턴스로 돌려줍니다. */
+        public String[] stringColumn() throws IOException {
+            expect(TYPE_STRING);
+            int[] codes = readInts();
+            String[] values = new String[rowCount];
+            for (int i = 0; i < rowCount; i++) {
+                int code = codes[i];
+                if (code == NULL_STRING) continue;
+                if (code < 0 || code >= dictionary.length) {
+                    throw new IOException("잘못된 사전 번호: " + code);
+                }
+                values[i] = dictionary[code];
+            }
+            return values;
+        }
+
+        private int[] readInts() {
+            int[] values = new int[rowCount];
+            buffer.asIntBuffer().get(values);
+            buffer.position(buffer.position() + rowCount * 4);
+            return values;
+        }
+
+        private void expect(int type) throws IOException {
+            if (columnsRead++ >= columnCount) {
+                throw new IOException("스냅샷 열 개수를 넘어 읽으려 했습니다");
+            }
+            int actual = buffer.getInt();
+            if (actual != type) {
+                throw new IOException("열 종류 불일치: " + actual + " (기대값 " + type + ")");
+            }
+        }
+    }
+
+    /** 파일이 이 형식의 스냅샷인지 (앞 4바이트 확인) */
+    public static boolean isSnapshotFile(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(4);
+            while (header.hasRemaining() && channel.read(header) >= 0) { }
+            return !header.hasRemaining() && header.getInt(0) == MAGIC;
+        }
+    }
+
+    /**
+     * 스냅샷 파일을 읽기 전용으로 매핑해서 엽니다.
+     * 매핑은 채널을 닫은 뒤에도 유효하며, Reader가 GC될 때 함께 해제됩니다.
+     */
+    public static Reader open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            return new Reader(buffer);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package common.database;
+
+/**
+ * DatabaseManager가 관리하는 테이블 종류
+ * 각 테이블은 data/ 폴더의 텍스트 파일(*.txt)과 바이너리 스냅샷(목차 *.bin + 페이지 파일들)에 대응됩니다.
+ */
+public enum DataTable {
+    SUBJECT("subjects.txt"),
+    ASSIGNMENT("assignments.txt"),
+    EXAM("exams.txt"),
+    GRADE("grades.txt");
+
+    private final String fileName;
+
+    DataTable(String fileName) {
+        this.fileName = fileName;
+    }
+
+    /** 스냅샷 파일 이름 (예: "subjects.txt") */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /** 바이너리 열 스냅샷 파일 이름 (예: "subjects.bin") */
+    public String getSnapshotFileName() {
+        return fileName.substring(0, fileName.lastIndexOf('.')) + ".bin";
+    }
+
+    /** 스냅샷 페이지 파일 이름 (예: "subjects.p0.g12.bin") */
+    public String getPageFileName(int page, int generation) {
+        return fileName.substring(0, fileName.lastIndexOf('.')) + ".p" + page + ".g" + generation + ".bin";
+    }
+}
@@ -1,13 +1,44 @@
 package common.database;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import common.listeners.ChangeType;
+import common.listeners.DataChangeBatch;
+import common.listeners.DataChangeBatchListener;
 import common.listeners.DataChangeListener;
+import common.listeners.DataChangeListenerAdapter;
+import common.listeners.DataChangeNotifier;
+import common.listeners.DeadlineListener;
+import common.listeners.ListenerStats;
+import common.model.AgendaItem;
 import common.model.Assignment;
 import common.model.Exam;
 import common.model.Grade;
@@ -16,39 +47,211 @@ import common.model.Subject;
 import common.utils.DateUtils;
 
 public class DatabaseManager {
-    private static DatabaseManager instance;
-    private FileManager fileManager;
+    private final FileManager fileManager;
     
-    // Observer 패턴을 위한 리스너 목록 (thread-safe)
-    private final List<DataChangeListener> listeners = new CopyOnWriteArrayList<>();
+    // 저널 모드: 변경 1건당 로그 1줄만 기록하고, 스냅샷 파일은 백그라운드에서 압축 (-Ddb.journal=false 로 끌 수 있음)
+    private static final boolean JOURNAL_ENABLED = !"false".equals(System.getProperty("db.journal", "true"));
+    private static final int COMPACTION_THRESHOLD = 1000;          // 이 이상 레코드가 쌓이면 즉시 압축
+    private static final long COMPACTION_INTERVAL_SECONDS = 60;    // 주기적 압축 간격
+    // 변경을 모아서 저장하기까지 기다리는 시간 (-Ddb.writeBehindMillis 로 조정)
+    private static final long WRITE_BEHIND_DELAY_MILLIS = Long.getLong("db.writeBehindMillis", 200);
+    // 변경 알림을 모아서 보내는 간격, 기본 1프레임 (-Ddb.notifyTickMillis 로 조정)
+    private static final long NOTIFY_TICK_MILLIS = Long.getLong("db.notifyTickMillis", 16);
+    // 마감 알림 타이밍 휠의 틱 간격, 기본 1분 (-Ddb.deadlineTickMillis 로 조정)
+    private static final long DEADLINE_TICK_MILLIS = Long.getLong("db.deadlineTickMillis", 60_000);
+    // 일정 스트림이 인덱스에서 한 번에 꺼내는 행 수
+    private static final int AGENDA_CHUNK = 64;
+    
+    private final JournalManager journal;
+    private final ScheduledExecutorService compactor;
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean(false);
+    // 스냅샷 파일 잠금: 변경분 꺼내기 → 파일 쓰기 순서가 테이블마다 뒤섞이지 않도록 하고, 다시 읽기와도 겹치지 않게 함
+    // (잠금 순서: snapshotLock → 테이블 잠금)
+    private final Object snapshotLock = new Object();
+    
+    // 테이블별 읽기/쓰기 잠금 (UI 스레드와 백그라운드 작업이 동시에 접근)
+    // - 여러 테이블을 잡을 때는 항상 DataTable 선언 순서(과목 → 과제 → 시험 → 성적)로 잡습니다.
+    // - StampedLock 은 재진입이 안 되므로 잠금 안에서는 다른 public 메서드를 부르지 않고,
+    //   리스너는 잠금을 푼 뒤 알림 스레드에서 호출됩니다.
+    private final StampedLock subjectLock = new StampedLock();
+    private final StampedLock assignmentLock = new StampedLock();
+    private final StampedLock examLock = new StampedLock();
+    private final StampedLock gradeLock = new StampedLock();
+    private final StampedLock[] tableLocks = { subjectLock, assignmentLock, examLock, gradeLock };
+    // shutdown() 이후 true: 변경 메서드는 IllegalStateException (모든 테이블 쓰기 잠금 안에서 설정)
+    private volatile boolean closed;
+    
+    // 변경 저장은 백그라운드 스레드가 테이블별로 모아서 처리 (UI 스레드는 표시만 하고 반환)
+    private final WriteBehindWriter writeBehind;
+    
+    // Observer 패턴: 변경을 틱마다 묶어서 리스너에게 전달 (thread-safe)
+    private final DataChangeNotifier notifier = new DataChangeNotifier(NOTIFY_TICK_MILLIS);
+    
+    // 과제 마감/시험 임박 알림 (첫 리스너가 등록될 때 시작)
+    private final DeadlineMonitor deadlineMonitor = new DeadlineMonitor(this, DEADLINE_TICK_MILLIS);
     
     // 메모리 캐시 (빠른 접근을 위해)
-    private List<Subject> subjects;
-    private List<Assignment> assignments;
-    private List<Exam> exams;
-    private List<GradeRecord> grades;
-    private List<Grade> userGrades;
+    // 각 테이블은 id → 행 위치 기본형 해시 인덱스를 함께 유지 (ID 조회/수정/삭제 O(1))
+    // 테이블과 보조 인덱스는 해당 테이블 잠금으로 보호
+    private EntityTable<Subject> subjects;
+    private EntityTable<Assignment> assignments;
+    private EntityTable<Exam> exams;
+    private EntityTable<GradeRecord> grades;
+    
+    // 보조 인덱스 (외래키/상태/유형/학기별 조회와 과목 삭제 시 연쇄 삭제용)
+    private SecondaryIndex<Integer, Assignment> assignmentsBySubject;
+    private SecondaryIndex<String, Assignment> assignmentsByStatus;
+    private SecondaryIndex<Integer, Exam> examsBySubject;
+    private SecondaryIndex<String, Exam> examsByType;
+    private SecondaryIndex<Integer, GradeRecord> gradesBySubject;
+    private SecondaryIndex<String, GradeRecord> gradesBySemester;
+    
+    // 마감 순 정렬 인덱스 ("N일/N시간 안에 마감" 조회를 구간 조회로 처리)
+    private RangeIndex<Assignment> assignmentsByDueDay;   // 마감일 (epoch day)
+    private RangeIndex<Exam> examsByTime;                 // 시험 일시 (초, 시간대 없이 비교)
+    
+    // 이름 기준으로 중복을 제거한 과목 뷰
+    // 과목이 바뀔 때 해당 이름만 갱신하고, 읽을 때는 불변 스냅샷을 그대로 공유합니다
+    private SecondaryIndex<String, Subject> subjectsByName;
+    private final Map<String, Subject> uniqueSubjects = new LinkedHashMap<>();
+    private volatile List<Subject> uniqueSubjectsSnapshot = List.of();
+    
+    // 테이블별 읽기 전용 스냅샷 (버전 번호 포함)
+    // 쓰는 쪽이 쓰기 잠금 안에서 다음 버전을 만들어 교체하고, 읽는 쪽은 잠금/복사 없이 참조만 가져갑니다.
+    // 바뀐 페이지만 새로 복사하고 나머지 페이지는 이전 버전과 공유합니다.
+    private volatile TableSnapshot<Subject> subjectSnapshot = TableSnapshot.empty();
+    private volatile TableSnapshot<Assignment> assignmentSnapshot = TableSnapshot.empty();
+    private volatile TableSnapshot<Exam> examSnapshot = TableSnapshot.empty();
+    private volatile TableSnapshot<GradeRecord> gradeSnapshot = TableSnapshot.empty();
+    
+    // 테이블별 ID 발급기 (data/sequences.txt 에 저장)
+    private final Map<DataTable, IdSequence> sequences = new EnumMap<>(DataTable.class);
+    private volatile List<Grade> userGrades;
+    private volatile boolean userGradesDirty;   // 마지막 저장이 실패해서 다시 써야 하는지
     
     // 싱글톤 패턴
     private DatabaseManager() {
         fileManager = new FileManager();
+        writeBehind = new WriteBehindWriter(this::flushDirtyTables, WRITE_BEHIND_DELAY_MILLIS);
+        if (JOURNAL_ENABLED) {
+            journal = new JournalManager();
+            compactor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "journal-compactor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            compactor.scheduleWithFixedDelay(this::compactIfNeeded,
+                    COMPACTION_INTERVAL_SECONDS, COMPACTION_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        } else {
+            journal = null;
+            compactor = null;
+        }
         loadAllData();
         userGrades = fileManager.loadUserGrades();
     }
     
+    // 처음 getInstance()를 호출할 때 클래스 초기화로 한 번만 생성 (JVM 이 초기화를 동기화)
+    private static class Holder {
+        static final DatabaseManager INSTANCE = new DatabaseManager();
+    }
+    
     public static DatabaseManager getInstance() {
-        if (instance == null) {
-            instance = new DatabaseManager();
+        return Holder.INSTANCE;
+    }
+    
+    // ===== 테이블 잠금 =====
+    
+    /**
+     * 짧은 읽기(ID 조회, 개수)용: 잠금 없이 읽은 뒤 그 사이 쓰기가 없었는지 확인하고,
+     * 쓰기와 겹쳤으면 읽기 잠금을 잡고 다시 읽습니다.
+     * (쓰기 도중의 중간 상태를 읽다가 난 예외도 다시 읽기로 처리)
+     */
+    private static <R> R optimisticRead(StampedLock lock, Supplier<R> reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                R result = reader.get();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                // 쓰기와 겹친 읽기 - 아래에서 잠금을 잡고 다시 읽음
+            }
+        }
+        return readLocked(lock, reader);
+    }
+    
+    /** 목록 조회처럼 결과를 복사해서 돌려주는 읽기용 */
+    private static <R> R readLocked(StampedLock lock, Supplier<R> reader) {
+        long stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+    
+    /**
+     * 모든 테이블의 읽기 잠금을 DataTable 순서로 잡은 채 읽습니다.
+     * 스냅샷은 쓰기 잠금 안에서만 교체되므로, 이 안에서 읽은 네 스냅샷은 같은 시점입니다. (내보내기용)
+     */
+    <R> R readAllLocked(Supplier<R> reader) {
+        long[] stamps = new long[tableLocks.length];
+        for (int i = 0; i < tableLocks.length; i++) {
+            stamps[i] = tableLocks[i].readLock();
+        }
+        try {
+            return reader.get();
+        } finally {
+            for (int i = tableLocks.length - 1; i >= 0; i--) {
+                tableLocks[i].unlockRead(stamps[i]);
+            }
+        }
+    }
+    
+    private StampedLock lockOf(DataTable table) {
+        return tableLocks[table.ordinal()];
+    }
+    
+    /** 모든 테이블의 쓰기 잠금을 순서대로 잡습니다. (과목 연쇄 삭제, 전체 로드/초기화, 저널 압축용) */
+    private long[] writeLockAll() {
+        long[] stamps = new long[tableLocks.length];
+        for (int i = 0; i < tableLocks.length; i++) {
+            stamps[i] = tableLocks[i].writeLock();
+        }
+        return stamps;
+    }
+    
+    private void unlockAll(long[] stamps) {
+        for (int i = tableLocks.length - 1; i >= 0; i--) {
+            tableLocks[i].unlockWrite(stamps[i]);
+        }
+    }
+    
+    /** 변경용 쓰기 잠금: shutdown() 이후면 잠금을 풀고 IllegalStateException */
+    private long writeLockForUpdate(StampedLock lock) {
+        long stamp = lock.writeLock();
+        if (closed) {
+            lock.unlockWrite(stamp);
+            throw new IllegalStateException("데이터베이스가 종료되어 변경할 수 없습니다.");
+        }
+        return stamp;
+    }
+    
+    private long[] writeLockAllForUpdate() {
+        long[] stamps = writeLockAll();
+        if (closed) {
+            unlockAll(stamps);
+            throw new IllegalStateException("데이터베이스가 종료되어 변경할 수 없습니다.");
         }
-        return instance;
+        return stamps;
     }
     
     /**
-     * 데이터 변경 리스너 등록
+     * 데이터 변경 리스너 등록 (기존 방식: 테이블·변경 유형별 호출)
      */
     public void addDataChangeListener(DataChangeListener listener) {
-        if (listener != null && !listeners.contains(listener)) {
-            listeners.add(listener);
+        if (listener != null && notifier.addListener(new DataChangeListenerAdapter(listener))) {
             System.out.println("🔗 데이터 변경 리스너 등록: " + listener.getClass().getSimpleName());
         }
     }
@@ -58,105 +261,488 @@ public class DatabaseManager {
      */
     public void removeDataChangeListener(DataChangeListener listener) {
         if (listener != null) {
-            listeners.remove(listener);
+            notifier.removeListener(new DataChangeListenerAdapter(listener));
             System.out.println("🔗 데이터 변경 리스너 제거: " + listener.getClass().getSimpleName());
         }
     }
     
     /**
-     * 과목 변경 알림
+     * 묶음 변경 리스너 등록: 틱마다 모인 변경을 DataChangeBatch 하나로 받습니다.
      */
-    private void notifySubjectChanged(String changeType, int subjectId) {
-        for (DataChangeListener listener : listeners) {
-            try {
-                listener.onSubjectChanged(changeType, subjectId);
-            } catch (Exception e) {
-                System.err.println("❌ 리스너 알림 중 오류: " + e.getMessage());
-            }
+    public void addDataChangeBatchListener(DataChangeBatchListener listener) {
+        if (notifier.addListener(listener)) {
+            System.out.println("🔗 데이터 변경 리스너 등록: " + listener.getClass().getSimpleName());
         }
     }
     
+    public void removeDataChangeBatchListener(DataChangeBatchListener listener) {
+        if (notifier.removeListener(listener)) {
+            System.out.println("🔗 데이터 변경 리스너 제거: " + listener.getClass().getSimpleName());
+        }
+    }
+    
+    /**
+     * 마감 알림 리스너 등록: 과제가 마감 2일 전·마감 지남, 시험이 24시간 전이 되는 순간 한 번씩 호출됩니다.
+     */
+    public void addDeadlineListener(DeadlineListener listener) {
+        if (deadlineMonitor.addListener(listener)) {
+            // 변경 구독을 먼저 해 두어야 시작하는 사이의 변경을 놓치지 않음
+            notifier.addListener(deadlineMonitor);
+            deadlineMonitor.start();
+            System.out.println("🔗 마감 알림 리스너 등록: " + listener.getClass().getSimpleName());
+        }
+    }
+    
+    public void removeDeadlineListener(DeadlineListener listener) {
+        if (deadlineMonitor.removeListener(listener)) {
+            System.out.println("🔗 마감 알림 리스너 제거: " + listener.getClass().getSimpleName());
+        }
+    }
+    
+    /** 리스너별 알림 처리 시간과 밀린 정도 */
+    public List<ListenerStats> getListenerStats() {
+        return notifier.getStats();
+    }
+    
+    /**
+     * 과목 변경 알림 (다음 틱에 묶어서 전달)
+     */
+    private void notifySubjectChanged(ChangeType changeType, int subjectId) {
+        notifier.record(DataTable.SUBJECT, changeType, subjectId);
+    }
+    
     /**
      * 과제 변경 알림
      */
-    private void notifyAssignmentChanged(String changeType, int assignmentId) {
-        for (DataChangeListener listener : listeners) {
+    private void notifyAssignmentChanged(ChangeType changeType, int assignmentId) {
+        notifier.record(DataTable.ASSIGNMENT, changeType, assignmentId);
+    }
+    
+    /**
+     * 시험 변경 알림
+     */
+    private void notifyExamChanged(ChangeType changeType, int examId) {
+        notifier.record(DataTable.EXAM, changeType, examId);
+    }
+    
+    /**
+     * 성적 변경 알림
+     */
+    private void notifyGradeChanged(ChangeType changeType, int gradeId) {
+        notifier.record(DataTable.GRADE, changeType, gradeId);
+    }
+    
+    /** 모든 테이블 전체 변경 알림 (CLEAR/RELOAD) */
+    private void notifyAllReset(ChangeType changeType) {
+        for (DataTable table : DataTable.values()) {
+            notifier.reset(table, changeType);
+        }
+    }
+    
+    // 모든 데이터 로드 (저널 모드면 스냅샷 위에 저널을 재생하여 복구)
+    private void loadAllData() {
+        // 압축·저장이 매니페스트를 바꾸고 예전 페이지 파일을 지우는 도중에 읽지 않도록 snapshotLock 도 잡음
+        synchronized (snapshotLock) {
+            long[] stamps = writeLockAll();
             try {
-                listener.onAssignmentChanged(changeType, assignmentId);
-            } catch (Exception e) {
-                System.err.println("❌ 리스너 알림 중 오류: " + e.getMessage());
+                loadTables();
+            } finally {
+                unlockAll(stamps);
             }
         }
+        System.out.println("🔄 모든 데이터 로드 완료");
+    }
+    
+    /** 모든 테이블 쓰기 잠금 안에서 호출 */
+    private void loadTables() {
+        subjects    = fileManager.loadSubjectTable();
+        assignments = fileManager.loadAssignmentTable();
+        exams       = fileManager.loadExamTable();
+        grades      = fileManager.loadGradeTable();
+        
+        subjectsByName       = subjects.addIndex(Subject::getName);
+        assignmentsBySubject = assignments.addIndex(Assignment::getSubjectId);
+        assignmentsByStatus  = assignments.addIndex(Assignment::getStatus);
+        examsBySubject       = exams.addIndex(Exam::getSubjectId);
+        examsByType          = exams.addIndex(Exam::getType);
+        gradesBySubject      = grades.addIndex(GradeRecord::getSubjectId);
+        gradesBySemester     = grades.addIndex(GradeRecord::getSemester);
+        assignmentsByDueDay  = assignments.addRangeIndex(DatabaseManager::dueDayKey);
+        examsByTime          = exams.addRangeIndex(DatabaseManager::examTimeKey);
+        
+        if (journal != null) {
+            journal.replay(this::applyJournalRecord);
+        }
+        
+        loadSequences();
+        rebuildUniqueSubjects();
+        publishAll();
     }
     
     /**
-     * 시험 변경 알림
+     * ID 시퀀스 복구: 저장된 값과 실제 데이터의 최대 ID 중 큰 값부터 이어서 발급합니다.
+     * 저널 재생 중에 본 ID 는 markIssued()가 먼저 반영해 둡니다.
+     * (전체 스캔은 로드 시 한 번만 수행)
      */
-    private void notifyExamChanged(String changeType, int examId) {
-        for (DataChangeListener listener : listeners) {
-            try {
-                listener.onExamChanged(changeType, examId);
-            } catch (Exception e) {
-                System.err.println("❌ 리스너 알림 중 오류: " + e.getMessage());
+    private void loadSequences() {
+        Map<DataTable, Integer> stored = fileManager.loadSequences();
+        advanceSequence(DataTable.SUBJECT, stored, subjects.stream().mapToInt(Subject::getId).max().orElse(0));
+        advanceSequence(DataTable.ASSIGNMENT, stored, assignments.stream().mapToInt(Assignment::getId).max().orElse(0));
+        advanceSequence(DataTable.EXAM, stored, exams.stream().mapToInt(Exam::getId).max().orElse(0));
+        advanceSequence(DataTable.GRADE, stored, grades.stream().mapToInt(GradeRecord::getId).max().orElse(0));
+    }
+    
+    private void advanceSequence(DataTable table, Map<DataTable, Integer> stored, int maxLoadedId) {
+        int start = Math.max(stored.getOrDefault(table, 0), maxLoadedId);
+        sequences.computeIfAbsent(table, t -> new IdSequence(0)).advanceTo(start);
+    }
+    
+    private boolean saveSequences() {
+        Map<DataTable, Integer> snapshot = new EnumMap<>(DataTable.class);
+        sequences.forEach((table, sequence) -> snapshot.put(table, sequence.current()));
+        return fileManager.saveSequences(snapshot);
+    }
+    
+    /**
+     * 대량 가져오기용 ID 구간 예약
+     * @return 예약된 구간의 첫 ID (구간: first ~ first + count - 1)
+     */
+    public int reserveIds(DataTable table, int count) {
+        return sequences.get(table).reserve(count);
+    }
+    
+    // 모든 데이터 저장 (백그라운드에 남은 변경도 함께 반영, 바뀐 테이블/페이지만 씀)
+    public void saveAllData() {
+        writeBehind.awaitDurable();
+        if (journal != null) {
+            compactJournal();
+        } else {
+            for (DataTable table : DataTable.values()) {
+                saveTable(table);
             }
+            saveSequences();
         }
+        if (userGradesDirty) {
+            userGradesDirty = !fileManager.saveUserGrades(userGrades);
+        }
+        
+        System.out.println("💾 모든 데이터 저장 완료");
     }
     
     /**
-     * 성적 변경 알림
+     * 현재 데이터를 텍스트(파이프 구분) 파일로 내보냅니다.
+     * 바이너리 스냅샷을 쓰는 중에도 사람이 읽고 고칠 수 있는 사본이 필요할 때 사용합니다.
+     */
+    public boolean exportTextFiles() {
+        return fileManager.exportSubjects(subjectSnapshot)
+             & fileManager.exportAssignments(getAllAssignments())
+             & fileManager.exportExams(getAllExams())
+             & fileManager.exportGrades(getAllGrades());
+    }
+    
+    // ===== 저널(write-ahead log) 관련 메서드 =====
+    
+    /**
+     * 변경 1건을 저장하도록 예약합니다.
+     * 저널 모드면 레코드 1줄을 버퍼에 추가하고, 디스크 쓰기(저널 flush 또는 테이블 파일 저장)는
+     * write-behind 스레드가 짧은 시간 동안의 변경을 모아 테이블당 한 번만 수행합니다.
+     * 저널 순서가 메모리 반영 순서와 같도록 해당 테이블의 쓰기 잠금 안에서 호출합니다.
      */
-    private void notifyGradeChanged(String changeType, int gradeId) {
-        for (DataChangeListener listener : listeners) {
+    private void persist(DataTable table, String op, String payload) {
+        appendJournal(table, op, payload);
+        writeBehind.markDirty(table);
+    }
+    
+    /** 저널 모드면 레코드를 버퍼에 추가하고, 많이 쌓였으면 압축을 예약 */
+    private void appendJournal(DataTable table, String op, String payload) {
+        if (journal != null) {
+            journal.append(op, table, payload);
+            if (journal.getRecordCount() >= COMPACTION_THRESHOLD && compactionScheduled.compareAndSet(false, true)) {
+                compactor.execute(this::compactJournal);
+            }
+        }
+    }
+    
+    /** write-behind 스레드에서 호출: 표시된 테이블을 실제로 저장 */
+    private boolean flushDirtyTables(Set<DataTable> tables) {
+        if (journal != null) {
+            return journal.flush();
+        }
+        boolean saved = true;
+        for (DataTable table : tables) {
+            saved &= saveTable(table);
+        }
+        return saved & saveSequences();
+    }
+    
+    /** 테이블 하나의 바뀐 부분만 스냅샷 파일로 저장 (변경분 복사만 잠금 안에서 하고 쓰기는 잠금 밖에서) */
+    private boolean saveTable(DataTable table) {
+        synchronized (snapshotLock) {
+            PendingSave<?> pending;
+            StampedLock lock = lockOf(table);
+            long stamp = lock.writeLock();
             try {
-                listener.onGradeChanged(changeType, gradeId);
-            } catch (Exception e) {
-                System.err.println("❌ 리스너 알림 중 오류: " + e.getMessage());
+                pending = takePendingSave(table);
+            } finally {
+                lock.unlockWrite(stamp);
             }
+            return pending.write();
         }
     }
     
-    // 모든 데이터 로드
-    private void loadAllData() {
-        subjects    = fileManager.loadSubjects();
-        assignments = fileManager.loadAssignments();
-        exams       = fileManager.loadExams();
-        grades      = fileManager.loadGrades();
+    /** 해당 테이블의 쓰기 잠금 안에서 호출: 테이블의 변경분을 꺼냅니다. (dirty 표시를 비우므로 쓰기 잠금) */
+    private PendingSave<?> takePendingSave(DataTable table) {
+        switch (table) {
+            case SUBJECT:    return new PendingSave<>(table, subjects, fileManager::saveSubjectPages, fileManager::saveSubjects);
+            case ASSIGNMENT: return new PendingSave<>(table, assignments, fileManager::saveAssignmentPages, fileManager::saveAssignments);
+            case EXAM:       return new PendingSave<>(table, exams, fileManager::saveExamPages, fileManager::saveExams);
+            case GRADE:      return new PendingSave<>(table, grades, fileManager::saveGradePages, fileManager::saveGrades);
+            default:         throw new IllegalArgumentException("알 수 없는 테이블: " + table);
+        }
+    }
+    
+    /**
+     * 잠금 안에서 꺼낸 테이블 변경분
+     * 바이너리 스냅샷이면 바뀐 페이지만, 텍스트 모드면 (바뀐 경우에만) 테이블 전체를 저장합니다.
+     */
+    private final class PendingSave<T> {
+        private final DataTable dataTable;
+        private final EntityTable<T> table;
+        private final PageDelta<T> delta;
+        private final List<T> allRows;
+        private final Predicate<PageDelta<T>> pageSaver;
+        private final Predicate<List<T>> fullSaver;
         
-        System.out.println("🔄 모든 데이터 로드 완료");
+        PendingSave(DataTable dataTable, EntityTable<T> table, Predicate<PageDelta<T>> pageSaver, Predicate<List<T>> fullSaver) {
+            this.dataTable = dataTable;
+            this.table = table;
+            this.delta = table.takeDelta();
+            this.allRows = delta.hasChanges() && !fileManager.usesPagedSnapshots() ? table.toList() : null;
+            this.pageSaver = pageSaver;
+            this.fullSaver = fullSaver;
+        }
+        
+        boolean write() {
+            if (!delta.hasChanges()) return true;
+            boolean saved = allRows != null ? fullSaver.test(allRows) : pageSaver.test(delta);
+            if (!saved) {
+                // 어느 페이지까지 반영됐는지 모르므로 다음 저장 때 전체를 다시 씀
+                StampedLock lock = lockOf(dataTable);
+                long stamp = lock.writeLock();
+                try {
+                    table.markAllPagesDirty();
+                } finally {
+                    lock.unlockWrite(stamp);
+                }
+            }
+            return saved;
+        }
     }
     
-    // 모든 데이터 저장
-    public void saveAllData() {
-        fileManager.saveSubjects(subjects);
-        fileManager.saveAssignments(assignments);
-        fileManager.saveExams(exams);
-        fileManager.saveGrades(grades);
-        fileManager.saveUserGrades(userGrades);
+    /**
+     * 예약된 변경을 기다리지 않고 바로 저장하도록 요청합니다. (즉시 반환)
+     */
+    public void flush() {
+        writeBehind.flush();
+    }
+    
+    /**
+     * 지금까지의 변경이 모두 파일에 반영될 때까지 기다립니다.
+     * 테이블 잠금을 잡은 채로 호출하면 안 됩니다.
+     * @return 저장에 성공했으면 true
+     */
+    public boolean awaitDurable() {
+        return writeBehind.awaitDurable();
+    }
+    
+    /**
+     * 종료 처리: 남은 변경을 모두 저장하고 백그라운드 스레드를 정리합니다.
+     */
+    public void shutdown() {
+        // 모든 쓰기 잠금 안에서 표시하므로, 이후 변경은 거부되고 이전 변경은 모두 저장 대상에 들어 있음
+        long[] stamps = writeLockAll();
+        closed = true;
+        unlockAll(stamps);
+        writeBehind.close();
+        saveAllData();
+        if (journal != null) {
+            compactor.shutdown();
+            journal.close();
+        }
+        deadlineMonitor.close();
+        notifier.close();
+        System.out.println("🔒 데이터베이스 종료 완료");
+    }
+    
+    private void compactIfNeeded() {
+        if (journal.getRecordCount() > 0) {
+            compactJournal();
+        }
+    }
+    
+    /**
+     * 저널 압축: 마지막 압축 이후 바뀐 페이지를 스냅샷 파일로 쓰고 반영된 로그를 비웁니다.
+     * 변경분 복사와 로그 전환만 잠금 안에서 하고, 파일 쓰기는 잠금 밖에서 수행합니다.
+     */
+    private void compactJournal() {
+        synchronized (snapshotLock) {
+            compactionScheduled.set(false);
+            
+            // 모든 테이블을 잠가서 변경분과 저널 전환 시점이 정확히 일치하도록 함
+            List<PendingSave<?>> pending = new ArrayList<>();
+            long[] stamps = writeLockAll();
+            try {
+                for (DataTable table : DataTable.values()) {
+                    pending.add(takePendingSave(table));
+                }
+                journal.beginCompaction();
+            } finally {
+                unlockAll(stamps);
+            }
+            
+            boolean saved = true;
+            for (PendingSave<?> tableSave : pending) {
+                saved &= tableSave.write();
+            }
+            saved &= saveSequences();
+            if (saved) {
+                journal.finishCompaction();
+                System.out.println("🗜️ 저널 압축 완료");
+            } else {
+                System.err.println("❌ 저널 압축 실패 - 다음 압축 때 다시 시도합니다");
+            }
+        }
+    }
+    
+    /** 저널 레코드 1건을 메모리 캐시에 반영 (복구용) */
+    private void applyJournalRecord(String op, DataTable table, String payload) {
+        boolean put = JournalManager.OP_PUT.equals(op);
+        if (!put && !JournalManager.OP_DELETE.equals(op)) {
+            throw new IllegalArgumentException("알 수 없는 저널 연산: " + op);
+        }
         
-        System.out.println("💾 모든 데이터 저장 완료");
+        switch (table) {
+            case SUBJECT:
+                if (put) subjects.put(requireParsed(fileManager.stringToSubject(payload)));
+                else subjects.remove(Integer.parseInt(payload.trim()));
+                break;
+            case ASSIGNMENT:
+                if (put) assignments.put(requireParsed(fileManager.stringToAssignment(payload)));
+                else assignments.remove(Integer.parseInt(payload.trim()));
+                break;
+            case EXAM:
+                if (put) exams.put(requireParsed(fileManager.stringToExam(payload)));
+                else exams.remove(Integer.parseInt(payload.trim()));
+                break;
+            case GRADE:
+                if (put) grades.put(requireParsed(fileManager.stringToGrade(payload)));
+                else grades.remove(Integer.parseInt(payload.trim()));
+                break;
+        }
+        if (put) {
+            markIssued(table, payload);
+        }
     }
     
+    /**
+     * 저널에 PUT 으로 남은 ID 는 나중에 삭제됐더라도 이미 발급된 것이므로 시퀀스를 그 뒤로 당깁니다.
+     * (sequences.txt 는 압축 때만 저장되므로, 마지막 압축 이후 추가했다가 지운 행의 ID 가 다시 나가지 않도록)
+     */
+    private void markIssued(DataTable table, String payload) {
+        int end = payload.indexOf('|');
+        int id = Integer.parseInt((end < 0 ? payload : payload.substring(0, end)).trim());
+        sequences.computeIfAbsent(table, t -> new IdSequence(0)).advanceTo(id);
+    }
+    
+    private static <T> T requireParsed(T entity) {
+        if (entity == null) {
+            throw new IllegalArgumentException("레코드 파싱 실패");
+        }
+        return entity;
+    }
+    
+    
     // ===== SUBJECT 관련 메서드 =====
     
     /**
      * 모든 과목을 가져옵니다.
      * 같은 이름(name)이 중복된 과목이 있으면 하나만 남기고 제거합니다.
+     * 반환되는 리스트는 읽기 전용이며, 과목이 바뀌기 전까지는 같은 스냅샷을 재사용합니다.
      */
     public List<Subject> getAllSubjects() {
-        // name → Subject 맵으로 수집하면서 첫 번째 등장만 유지
-        Map<String, Subject> unique = subjects.stream()
-            .collect(Collectors.toMap(
-                Subject::getName,
-                s -> s,
-                (existing, replacement) -> existing
-            ));
-        return new ArrayList<>(unique.values());
+        return uniqueSubjectsSnapshot;
+    }
+    
+    /**
+     * 과목 테이블 전체(이름 중복 포함)의 읽기 전용 스냅샷
+     * 버전이 지난번과 같으면 과목이 바뀌지 않은 것이므로 화면 새로고침을 건너뛸 수 있습니다.
+     */
+    public TableSnapshot<Subject> getSubjectSnapshot() {
+        return subjectSnapshot;
+    }
+    
+    /** 이름별 대표 과목(입력 순서상 첫 번째)을 처음부터 다시 계산 (과목 쓰기 잠금 안에서 호출) */
+    private void rebuildUniqueSubjects() {
+        uniqueSubjects.clear();
+        for (Subject subject : subjects) {
+            uniqueSubjects.putIfAbsent(subject.getName(), subject);
+        }
+    }
+    
+    /** 한 이름의 대표 과목만 다시 계산 (과목 쓰기 잠금 안에서 호출) */
+    private void refreshUniqueSubject(String name) {
+        Iterator<Subject> sameName = subjectsByName.view(name).iterator();
+        if (sameName.hasNext()) {
+            uniqueSubjects.put(name, sameName.next());
+        } else {
+            uniqueSubjects.remove(name);
+        }
+    }
+    
+    // ===== 마감 인덱스 키 =====
+    
+    private static Long dueDayKey(Assignment assignment) {
+        return assignment.getDueDate() == null ? null : assignment.getDueDate().toEpochDay();
+    }
+    
+    private static Long examTimeKey(Exam exam) {
+        return exam.getExamDateTime() == null ? null : exam.getExamDateTime().toEpochSecond(ZoneOffset.UTC);
+    }
+    
+    /** 시험 시각 키 단위(초)로 올림 (경계 시각의 시험이 빠지거나 더 들어가지 않게) */
+    private static long examTimeCeil(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) + (time.getNano() > 0 ? 1 : 0);
+    }
+    
+    // ===== 스냅샷 교체 (해당 테이블의 쓰기 잠금 안에서 호출) =====
+    
+    private void publishSubjects() {
+        subjectSnapshot = subjects.snapshot(subjectSnapshot.getVersion() + 1);
+        uniqueSubjectsSnapshot = List.copyOf(uniqueSubjects.values());
+    }
+    
+    private void publishAssignments() {
+        assignmentSnapshot = assignments.snapshot(assignmentSnapshot.getVersion() + 1);
+    }
+    
+    private void publishExams() {
+        examSnapshot = exams.snapshot(examSnapshot.getVersion() + 1);
+    }
+    
+    private void publishGrades() {
+        gradeSnapshot = grades.snapshot(gradeSnapshot.getVersion() + 1);
+    }
+    
+    /** 모든 테이블 쓰기 잠금 안에서 호출 */
+    private void publishAll() {
+        publishSubjects();
+        publishAssignments();
+        publishExams();
+        publishGrades();
     }
     
     public Optional<Subject> getSubjectById(int id) {
-        return subjects.stream()
-                .filter(subject -> subject.getId() == id)
-                .findFirst();
+        return optimisticRead(subjectLock, () -> Optional.ofNullable(subjects.get(id)));
     }
     
     /**
@@ -169,200 +755,291 @@ public class DatabaseManager {
     }
     
     public void addSubject(Subject subject) {
-        subject.setId(generateNewSubjectId());
-        subjects.add(subject);
-        fileManager.saveSubjects(subjects);
+        long stamp = writeLockForUpdate(subjectLock);
+        try {
+            subject.setId(generateNewSubjectId());
+            subjects.put(subject);
+            refreshUniqueSubject(subject.getName());
+            publishSubjects();
+            persist(DataTable.SUBJECT, JournalManager.OP_PUT, fileManager.subjectToString(subject));
+        } finally {
+            subjectLock.unlockWrite(stamp);
+        }
         System.out.println("➕ 과목 추가: " + subject.getName());
         
         // 리스너들에게 알림
-        notifySubjectChanged("ADD", subject.getId());
+        notifySubjectChanged(ChangeType.ADD, subject.getId());
     }
     
     public boolean updateSubject(Subject updatedSubject) {
-        for (int i = 0; i < subjects.size(); i++) {
-            if (subjects.get(i).getId() == updatedSubject.getId()) {
-                subjects.set(i, updatedSubject);
-                fileManager.saveSubjects(subjects);
-                System.out.println("✏️ 과목 수정: " + updatedSubject.getName());
-                
-                // 리스너들에게 알림
-                notifySubjectChanged("UPDATE", updatedSubject.getId());
-                return true;
+        long stamp = writeLockForUpdate(subjectLock);
+        try {
+            if (!subjects.contains(updatedSubject.getId())) {
+                return false;
             }
+            String previousName = subjectsByName.indexedKeyOf(updatedSubject.getId());
+            subjects.put(updatedSubject);
+            refreshUniqueSubject(previousName);
+            refreshUniqueSubject(updatedSubject.getName());
+            publishSubjects();
+            persist(DataTable.SUBJECT, JournalManager.OP_PUT, fileManager.subjectToString(updatedSubject));
+        } finally {
+            subjectLock.unlockWrite(stamp);
         }
-        return false;
+        System.out.println("✏️ 과목 수정: " + updatedSubject.getName());
+        
+        // 리스너들에게 알림
+        notifySubjectChanged(ChangeType.UPDATE, updatedSubject.getId());
+        return true;
     }
     
+    /**
+     * 과목과 그 과목의 과제/시험/성적을 함께 삭제합니다.
+     * 네 테이블을 모두 잠근 채로 처리하므로, 다른 스레드에는 삭제 전 또는 삭제 후 상태만 보입니다.
+     */
     public boolean deleteSubject(int id) {
-        Optional<Subject> subjectToDelete = getSubjectById(id);
-        
-        boolean removed = subjects.removeIf(subject -> subject.getId() == id);
-        if (removed) {
-            // 관련 데이터도 삭제
-            assignments.removeIf(assignment -> assignment.getSubjectId() == id);
-            exams.removeIf(exam -> exam.getSubjectId() == id);
-            grades.removeIf(grade -> grade.getSubjectId() == id);
+        Subject subjectToDelete;
+        long[] stamps = writeLockAllForUpdate();
+        try {
+            subjectToDelete = subjects.get(id);
+            if (subjectToDelete == null) {
+                return false;
+            }
+            String previousName = subjectsByName.indexedKeyOf(id);
+            subjects.remove(id);
+            refreshUniqueSubject(previousName);
+            
+            // 관련 데이터도 삭제 (보조 인덱스로 자식 행만 찾아서 제거)
+            List<Assignment> removedAssignments = assignmentsBySubject.get(id);
+            List<Exam> removedExams = examsBySubject.get(id);
+            List<GradeRecord> removedGrades = gradesBySubject.get(id);
+            removedAssignments.forEach(child -> assignments.remove(child.getId()));
+            removedExams.forEach(child -> exams.remove(child.getId()));
+            removedGrades.forEach(child -> grades.remove(child.getId()));
+            publishAll();
             
-            saveAllData();
-            System.out.println("🗑️ 과목 삭제 완료 (관련 데이터 포함): " + 
-                             (subjectToDelete.isPresent() ? subjectToDelete.get().getName() : "ID " + id));
+            removedAssignments.forEach(child -> persist(DataTable.ASSIGNMENT, JournalManager.OP_DELETE, String.valueOf(child.getId())));
+            removedExams.forEach(child -> persist(DataTable.EXAM, JournalManager.OP_DELETE, String.valueOf(child.getId())));
+            removedGrades.forEach(child -> persist(DataTable.GRADE, JournalManager.OP_DELETE, String.valueOf(child.getId())));
+            persist(DataTable.SUBJECT, JournalManager.OP_DELETE, String.valueOf(id));
             
-            // 리스너들에게 알림
-            notifySubjectChanged("DELETE", id);
+            // 함께 지운 자식 행도 같은 묶음으로 알림 (기록만 하므로 잠금 안에서 호출해도 됨)
+            removedAssignments.forEach(child -> notifyAssignmentChanged(ChangeType.DELETE, child.getId()));
+            removedExams.forEach(child -> notifyExamChanged(ChangeType.DELETE, child.getId()));
+            removedGrades.forEach(child -> notifyGradeChanged(ChangeType.DELETE, child.getId()));
+        } finally {
+            unlockAll(stamps);
         }
-        return removed;
+        System.out.println("🗑️ 과목 삭제 완료 (관련 데이터 포함): " + subjectToDelete.getName());
+        
+        // 리스너들에게 알림
+        notifySubjectChanged(ChangeType.DELETE, id);
+        return true;
     }
     
     // ===== ASSIGNMENT 관련 메서드 =====
     
+    /** 모든 과제 (읽기 전용, 잠금/복사 없이 현재 스냅샷을 돌려줌) */
     public List<Assignment> getAllAssignments() {
-        return new ArrayList<>(assignments);
+        return assignmentSnapshot;
+    }
+    
+    /** 과제 테이블의 읽기 전용 스냅샷 (버전 번호 포함) */
+    public TableSnapshot<Assignment> getAssignmentSnapshot() {
+        return assignmentSnapshot;
     }
     
     public List<Assignment> getAssignmentsBySubject(int subjectId) {
-        return assignments.stream()
-                .filter(assignment -> assignment.getSubjectId() == subjectId)
-                .collect(Collectors.toList());
+        return readLocked(assignmentLock, () -> assignmentsBySubject.get(subjectId));
     }
     
     public List<Assignment> getAssignmentsByStatus(String status) {
-        return assignments.stream()
-                .filter(assignment -> status.equals(assignment.getStatus()))
-                .collect(Collectors.toList());
+        return readLocked(assignmentLock, () -> assignmentsByStatus.get(status));
     }
     
+    /** 마감이 2일 이내이거나 지난 과제 (Assignment.isUrgent() 와 같은 기준, 마감 순) */
     public List<Assignment> getUrgentAssignments() {
-        return assignments.stream()
-                .filter(Assignment::isUrgent)
-                .collect(Collectors.toList());
+        long lastUrgentDay = LocalDate.now().plusDays(2).toEpochDay();
+        return readLocked(assignmentLock, () -> assignmentsByDueDay.range(Long.MIN_VALUE, lastUrgentDay + 1));
+    }
+    
+    /** 오늘부터 days 일 뒤까지 마감인 과제 (마감 순, 지난 과제 제외) */
+    public List<Assignment> getAssignmentsDueWithin(int days) {
+        long today = LocalDate.now().toEpochDay();
+        return readLocked(assignmentLock, () -> assignmentsByDueDay.range(today, today + days + 1));
     }
     
     public Optional<Assignment> getAssignmentById(int id) {
-        return assignments.stream()
-                .filter(assignment -> assignment.getId() == id)
-                .findFirst();
+        return optimisticRead(assignmentLock, () -> Optional.ofNullable(assignments.get(id)));
     }
     
     public void addAssignment(Assignment assignment) {
-        assignment.setId(generateNewAssignmentId());
-        assignments.add(assignment);
-        fileManager.saveAssignments(assignments);
+        long stamp = writeLockForUpdate(assignmentLock);
+        try {
+            assignment.setId(generateNewAssignmentId());
+            assignments.put(assignment);
+            publishAssignments();
+            persist(DataTable.ASSIGNMENT, JournalManager.OP_PUT, fileManager.assignmentToString(assignment));
+        } finally {
+            assignmentLock.unlockWrite(stamp);
+        }
         System.out.println("➕ 과제 추가: " + assignment.getTitle());
         
         // 리스너들에게 알림
-        notifyAssignmentChanged("ADD", assignment.getId());
+        notifyAssignmentChanged(ChangeType.ADD, assignment.getId());
     }
     
     public boolean updateAssignment(Assignment updatedAssignment) {
-        for (int i = 0; i < assignments.size(); i++) {
-            if (assignments.get(i).getId() == updatedAssignment.getId()) {
-                assignments.set(i, updatedAssignment);
-                fileManager.saveAssignments(assignments);
-                System.out.println("✏️ 과제 수정: " + updatedAssignment.getTitle());
-                
-                // 리스너들에게 알림
-                notifyAssignmentChanged("UPDATE", updatedAssignment.getId());
-                return true;
+        long stamp = writeLockForUpdate(assignmentLock);
+        try {
+            if (!assignments.contains(updatedAssignment.getId())) {
+                return false;
             }
+            assignments.put(updatedAssignment);
+            publishAssignments();
+            persist(DataTable.ASSIGNMENT, JournalManager.OP_PUT, fileManager.assignmentToString(updatedAssignment));
+        } finally {
+            assignmentLock.unlockWrite(stamp);
         }
-        return false;
+        System.out.println("✏️ 과제 수정: " + updatedAssignment.getTitle());
+        
+        // 리스너들에게 알림
+        notifyAssignmentChanged(ChangeType.UPDATE, updatedAssignment.getId());
+        return true;
     }
     
     public boolean deleteAssignment(int id) {
-        Optional<Assignment> assignmentToDelete = getAssignmentById(id);
-        
-        boolean removed = assignments.removeIf(assignment -> assignment.getId() == id);
-        if (removed) {
-            fileManager.saveAssignments(assignments);
-            System.out.println("🗑️ 과제 삭제: " + 
-                             (assignmentToDelete.isPresent() ? assignmentToDelete.get().getTitle() : "ID " + id));
-            
-            // 리스너들에게 알림
-            notifyAssignmentChanged("DELETE", id);
+        Assignment assignmentToDelete;
+        long stamp = writeLockForUpdate(assignmentLock);
+        try {
+            assignmentToDelete = assignments.remove(id);
+            if (assignmentToDelete == null) {
+                return false;
+            }
+            publishAssignments();
+            persist(DataTable.ASSIGNMENT, JournalManager.OP_DELETE, String.valueOf(id));
+        } finally {
+            assignmentLock.unlockWrite(stamp);
         }
-        return removed;
+        System.out.println("🗑️ 과제 삭제: " + assignmentToDelete.getTitle());
+        
+        // 리스너들에게 알림
+        notifyAssignmentChanged(ChangeType.DELETE, id);
+        return true;
     }
     
     // ===== EXAM 관련 메서드 =====
     
+    /** 모든 시험 (읽기 전용, 잠금/복사 없이 현재 스냅샷을 돌려줌) */
     public List<Exam> getAllExams() {
-        return new ArrayList<>(exams);
+        return examSnapshot;
+    }
+    
+    /** 시험 테이블의 읽기 전용 스냅샷 (버전 번호 포함) */
+    public TableSnapshot<Exam> getExamSnapshot() {
+        return examSnapshot;
     }
     
     public List<Exam> getExamsBySubject(int subjectId) {
-        return exams.stream()
-                .filter(exam -> exam.getSubjectId() == subjectId)
-                .collect(Collectors.toList());
+        return readLocked(examLock, () -> examsBySubject.get(subjectId));
     }
     
     public List<Exam> getExamsByType(String type) {
-        return exams.stream()
-                .filter(exam -> type.equals(exam.getType()))
-                .collect(Collectors.toList());
+        return readLocked(examLock, () -> examsByType.get(type));
     }
     
+    /**
+     * 24시간 안에 시작하는 시험 (Exam.isImminent() 와 같은 기준, 시간 순)
+     * 남은 시간을 시간 단위로 내림해서 1~24 이므로 [지금+1시간, 지금+25시간) 구간입니다.
+     */
     public List<Exam> getImminentExams() {
-        return exams.stream()
-                .filter(Exam::isImminent)
-                .collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+        long from = examTimeCeil(now.plusHours(1));
+        long to = examTimeCeil(now.plusHours(25));
+        return readLocked(examLock, () -> examsByTime.range(from, to));
+    }
+    
+    /** 지금부터 hours 시간 안에 시작하는 시험 (시간 순) */
+    public List<Exam> getExamsWithin(long hours) {
+        LocalDateTime now = LocalDateTime.now();
+        long from = examTimeCeil(now);
+        long to = now.plusHours(hours).toEpochSecond(ZoneOffset.UTC) + 1;
+        return readLocked(examLock, () -> examsByTime.range(from, to));
     }
     
     public Optional<Exam> getExamById(int id) {
-        return exams.stream()
-                .filter(exam -> exam.getId() == id)
-                .findFirst();
+        return optimisticRead(examLock, () -> Optional.ofNullable(exams.get(id)));
     }
     
     public void addExam(Exam exam) {
-        exam.setId(generateNewExamId());
-        exams.add(exam);
-        fileManager.saveExams(exams);
+        long stamp = writeLockForUpdate(examLock);
+        try {
+            exam.setId(generateNewExamId());
+            exams.put(exam);
+            publishExams();
+            persist(DataTable.EXAM, JournalManager.OP_PUT, fileManager.examToString(exam));
+        } finally {
+            examLock.unlockWrite(stamp);
+        }
         System.out.println("➕ 시험 추가: " + exam.getTitle());
         
         // 리스너들에게 알림
-        notifyExamChanged("ADD", exam.getId());
+        notifyExamChanged(ChangeType.ADD, exam.getId());
     }
     
     public boolean updateExam(Exam updatedExam) {
-        for (int i = 0; i < exams.size(); i++) {
-            if (exams.get(i).getId() == updatedExam.getId()) {
-                exams.set(i, updatedExam);
-                fileManager.saveExams(exams);
-                System.out.println("✏️ 시험 수정: " + updatedExam.getTitle());
-                
-                // 리스너들에게 알림
-                notifyExamChanged("UPDATE", updatedExam.getId());
-                return true;
+        long stamp = writeLockForUpdate(examLock);
+        try {
+            if (!exams.contains(updatedExam.getId())) {
+                return false;
             }
+            exams.put(updatedExam);
+            publishExams();
+            persist(DataTable.EXAM, JournalManager.OP_PUT, fileManager.examToString(updatedExam));
+        } finally {
+            examLock.unlockWrite(stamp);
         }
-        return false;
+        System.out.println("✏️ 시험 수정: " + updatedExam.getTitle());
+        
+        // 리스너들에게 알림
+        notifyExamChanged(ChangeType.UPDATE, updatedExam.getId());
+        return true;
     }
     
     public boolean deleteExam(int id) {
-        Optional<Exam> examToDelete = getExamById(id);
-        
-        boolean removed = exams.removeIf(exam -> exam.getId() == id);
-        if (removed) {
-            fileManager.saveExams(exams);
-            System.out.println("🗑️ 시험 삭제: " + 
-                             (examToDelete.isPresent() ? examToDelete.get().getTitle() : "ID " + id));
-            
-            // 리스너들에게 알림
-            notifyExamChanged("DELETE", id);
+        Exam examToDelete;
+        long stamp = writeLockForUpdate(examLock);
+        try {
+            examToDelete = exams.remove(id);
+            if (examToDelete == null) {
+                return false;
+            }
+            publishExams();
+            persist(DataTable.EXAM, JournalManager.OP_DELETE, String.valueOf(id));
+        } finally {
+            examLock.unlockWrite(stamp);
         }
-        return removed;
+        System.out.println("🗑️ 시험 삭제: " + examToDelete.getTitle());
+        
+        // 리스너들에게 알림
+        notifyExamChanged(ChangeType.DELETE, id);
+        return true;
     }
 
     // ===== GRADE RECORD 관련 메서드 =====
 
+    /** 모든 성적 (읽기 전용, 잠금/복사 없이 현재 스냅샷을 돌려줌) */
     public List<GradeRecord> getAllGrades() {
-        return new ArrayList<>(grades);
+        return gradeSnapshot;
+    }
+
+    /** 성적 테이블의 읽기 전용 스냅샷 (버전 번호 포함) */
+    public TableSnapshot<GradeRecord> getGradeSnapshot() {
+        return gradeSnapshot;
     }
 
     public List<GradeRecord> getGradesBySemester(String semester) {
-        return grades.stream()
-                .filter(grade -> semester.equals(grade.getSemester()))
-                .collect(Collectors.toList());
+        return readLocked(gradeLock, () -> gradesBySemester.get(semester));
     }
 
     public List<GradeRecord> getCurrentSemesterGrades() {
@@ -371,53 +1048,72 @@ public class DatabaseManager {
     }
 
     public Optional<GradeRecord> getGradeById(int id) {
-        return grades.stream()
-                .filter(grade -> grade.getId() == id)
-                .findFirst();
+        return optimisticRead(gradeLock, () -> Optional.ofNullable(grades.get(id)));
     }
 
     public Optional<GradeRecord> getGradeBySubjectAndSemester(int subjectId, String semester) {
-        return grades.stream()
-                .filter(grade -> grade.getSubjectId() == subjectId &&
-                               semester.equals(grade.getSemester()))
-                .findFirst();
+        // 과목별 성적은 학기 수만큼만 있으므로 과목 인덱스 안에서 학기를 찾습니다
+        return readLocked(gradeLock, () -> {
+            for (GradeRecord grade : gradesBySubject.view(subjectId)) {
+                if (semester.equals(grade.getSemester())) {
+                    return Optional.of(grade);
+                }
+            }
+            return Optional.<GradeRecord>empty();
+        });
     }
 
     public void addGrade(GradeRecord grade) {
-        grade.setId(generateNewGradeId());
-        grades.add(grade);
-        fileManager.saveGrades(grades);
+        long stamp = writeLockForUpdate(gradeLock);
+        try {
+            grade.setId(generateNewGradeId());
+            grades.put(grade);
+            publishGrades();
+            persist(DataTable.GRADE, JournalManager.OP_PUT, fileManager.gradeToString(grade));
+        } finally {
+            gradeLock.unlockWrite(stamp);
+        }
         System.out.println("➕ 성적 추가: " + grade.getLetterGrade());
         
         // 리스너들에게 알림
-        notifyGradeChanged("ADD", grade.getId());
+        notifyGradeChanged(ChangeType.ADD, grade.getId());
     }
 
     public boolean updateGrade(GradeRecord updatedGrade) {
-        for (int i = 0; i < grades.size(); i++) {
-            if (grades.get(i).getId() == updatedGrade.getId()) {
-                grades.set(i, updatedGrade);
-                fileManager.saveGrades(grades);
-                System.out.println("✏️ 성적 수정: " + updatedGrade.getLetterGrade());
-                
-                // 리스너들에게 알림
-                notifyGradeChanged("UPDATE", updatedGrade.getId());
-                return true;
+        long stamp = writeLockForUpdate(gradeLock);
+        try {
+            if (!grades.contains(updatedGrade.getId())) {
+                return false;
             }
+            grades.put(updatedGrade);
+            publishGrades();
+            persist(DataTable.GRADE, JournalManager.OP_PUT, fileManager.gradeToString(updatedGrade));
+        } finally {
+            gradeLock.unlockWrite(stamp);
         }
-        return false;
+        System.out.println("✏️ 성적 수정: " + updatedGrade.getLetterGrade());
+        
+        // 리스너들에게 알림
+        notifyGradeChanged(ChangeType.UPDATE, updatedGrade.getId());
+        return true;
     }
 
     public boolean deleteGrade(int id) {
-        boolean removed = grades.removeIf(grade -> grade.getId() == id);
-        if (removed) {
-            fileManager.saveGrades(grades);
-            System.out.println("🗑️ 성적 삭제: ID " + id);
-            
-            // 리스너들에게 알림
-            notifyGradeChanged("DELETE", id);
+        long stamp = writeLockForUpdate(gradeLock);
+        try {
+            if (grades.remove(id) == null) {
+                return false;
+            }
+            publishGrades();
+            persist(DataTable.GRADE, JournalManager.OP_DELETE, String.valueOf(id));
+        } finally {
+            gradeLock.unlockWrite(stamp);
         }
-        return removed;
+        System.out.println("🗑️ 성적 삭제: ID " + id);
+        
+        // 리스너들에게 알림
+        notifyGradeChanged(ChangeType.DELETE, id);
+        return true;
     }
 
     /** UI에서 저장한 사용자 성적 불러오기 */
@@ -430,37 +1126,433 @@ public class DatabaseManager {
     /** UI에서 전달된 사용자 성적 저장 */
     public void saveUserGrades(List<Grade> grades) {
         this.userGrades = new ArrayList<>(grades);
-        fileManager.saveUserGrades(grades);
+        userGradesDirty = !fileManager.saveUserGrades(grades);
+    }
+    
+    // ===== 일괄 변경 / 트랜잭션 =====
+    
+    /**
+     * 여러 변경을 한 번에 적용합니다.
+     * 네 테이블의 쓰기 잠금을 한 번만 잡고 블록을 실행하며, 블록이 끝나면 저널 기록·저장 예약·스냅샷 교체를
+     * 한 번에 하고 변경 알림도 묶음 하나로 보냅니다. 블록에서 예외가 나면 메모리 변경을 모두 되돌리고
+     * 아무것도 저장하지 않은 채 예외를 다시 던집니다.
+     *
+     * 블록 안에서는 tx 의 메서드만 사용해야 합니다. (DatabaseManager 의 다른 메서드를 부르면 잠금 때문에 멈춤)
+     */
+    public void transaction(Consumer<Tx> body) {
+        Tx tx = new Tx();
+        long[] stamps = writeLockAllForUpdate();
+        try {
+            try {
+                body.accept(tx);
+            } catch (RuntimeException | Error e) {
+                tx.rollback();
+                throw e;
+            }
+            tx.commit();
+        } finally {
+            unlockAll(stamps);
+        }
+        if (!tx.changes.isEmpty()) {
+            notifier.publish(tx.changes.build());
+        }
+    }
+    
+    /** 과목 여러 개를 한 번에 추가 (ID 는 한 구간으로 예약) */
+    public void addSubjects(Collection<Subject> newSubjects) {
+        if (newSubjects.isEmpty()) return;
+        int id = reserveIds(DataTable.SUBJECT, newSubjects.size());
+        for (Subject subject : newSubjects) {
+            subject.setId(id++);
+        }
+        transaction(tx -> newSubjects.forEach(tx::insertSubject));
+        System.out.println("➕ 과목 일괄 추가: " + newSubjects.size() + "개");
+    }
+    
+    /** @return 실제로 수정된 과목 수 (없는 ID 는 건너뜀) */
+    public int updateSubjects(Collection<Subject> updatedSubjects) {
+        int[] count = new int[1];
+        transaction(tx -> updatedSubjects.forEach(subject -> { if (tx.updateSubject(subject)) count[0]++; }));
+        System.out.println("✏️ 과목 일괄 수정: " + count[0] + "개");
+        return count[0];
+    }
+    
+    /** 과목 여러 개를 관련 과제/시험/성적과 함께 삭제 @return 삭제된 과목 수 */
+    public int deleteSubjects(Collection<Integer> ids) {
+        int[] count = new int[1];
+        transaction(tx -> ids.forEach(id -> { if (tx.deleteSubject(id)) count[0]++; }));
+        System.out.println("🗑️ 과목 일괄 삭제 (관련 데이터 포함): " + count[0] + "개");
+        return count[0];
+    }
+    
+    /** 과제 여러 개를 한 번에 추가 (ID 는 한 구간으로 예약) */
+    public void addAssignments(Collection<Assignment> newAssignments) {
+        if (newAssignments.isEmpty()) return;
+        int id = reserveIds(DataTable.ASSIGNMENT, newAssignments.size());
+        for (Assignment assignment : newAssignments) {
+            assignment.setId(id++);
+        }
+        transaction(tx -> newAssignments.forEach(tx::insertAssignment));
+        System.out.println("➕ 과제 일괄 추가: " + newAssignments.size() + "개");
+    }
+    
+    /** @return 실제로 수정된 과제 수 (없는 ID 는 건너뜀) */
+    public int updateAssignments(Collection<Assignment> updatedAssignments) {
+        int[] count = new int[1];
+        transaction(tx -> updatedAssignments.forEach(assignment -> { if (tx.updateAssignment(assignment)) count[0]++; }));
+        System.out.println("✏️ 과제 일괄 수정: " + count[0] + "개");
+        return count[0];
+    }
+    
+    /** @return 삭제된 과제 수 */
+    public int deleteAssignments(Collection<Integer> ids) {
+        int[] count = new int[1];
+        transaction(tx -> ids.forEach(id -> { if (tx.deleteAssignment(id)) count[0]++; }));
+        System.out.println("🗑️ 과제 일괄 삭제: " + count[0] + "개");
+        return count[0];
+    }
+    
+    /** 시험 여러 개를 한 번에 추가 (ID 는 한 구간으로 예약) */
+    public void addExams(Collection<Exam> newExams) {
+        if (newExams.isEmpty()) return;
+        int id = reserveIds(DataTable.EXAM, newExams.size());
+        for (Exam exam : newExams) {
+            exam.setId(id++);
+        }
+        transaction(tx -> newExams.forEach(tx::insertExam));
+        System.out.println("➕ 시험 일괄 추가: " + newExams.size() + "개");
+    }
+    
+    /** @return 실제로 수정된 시험 수 (없는 ID 는 건너뜀) */
+    public int updateExams(Collection<Exam> updatedExams) {
+        int[] count = new int[1];
+        transaction(tx -> updatedExams.forEach(exam -> { if (tx.updateExam(exam)) count[0]++; }));
+        System.out.println("✏️ 시험 일괄 수정: " + count[0] + "개");
+        return count[0];
+    }
+    
+    /** @return 삭제된 시험 수 */
+    public int deleteExams(Collection<Integer> ids) {
+        int[] count = new int[1];
+        transaction(tx -> ids.forEach(id -> { if (tx.deleteExam(id)) count[0]++; }));
+        System.out.println("🗑️ 시험 일괄 삭제: " + count[0] + "개");
+        return count[0];
+    }
+    
+    /** 성적 여러 개를 한 번에 추가 (ID 는 한 구간으로 예약) */
+    public void addGrades(Collection<GradeRecord> newGrades) {
+        if (newGrades.isEmpty()) return;
+        int id = reserveIds(DataTable.GRADE, newGrades.size());
+        for (GradeRecord grade : newGrades) {
+            grade.setId(id++);
+        }
+        transaction(tx -> newGrades.forEach(tx::insertGrade));
+        System.out.println("➕ 성적 일괄 추가: " + newGrades.size() + "개");
+    }
+    
+    /** @return 실제로 수정된 성적 수 (없는 ID 는 건너뜀) */
+    public int updateGrades(Collection<GradeRecord> updatedGrades) {
+        int[] count = new int[1];
+        transaction(tx -> updatedGrades.forEach(grade -> { if (tx.updateGrade(grade)) count[0]++; }));
+        System.out.println("✏️ 성적 일괄 수정: " + count[0] + "개");
+        return count[0];
+    }
+    
+    /** @return 삭제된 성적 수 */
+    public int deleteGrades(Collection<Integer> ids) {
+        int[] count = new int[1];
+        transaction(tx -> ids.forEach(id -> { if (tx.deleteGrade(id)) count[0]++; }));
+        System.out.println("🗑️ 성적 일괄 삭제: " + count[0] + "개");
+        return count[0];
+    }
+    
+    /**
+     * transaction() 블록 안에서 쓰는 변경 핸들
+     * 변경은 메모리 테이블에 바로 반영되므로 같은 블록 안의 조회에는 보이지만,
+     * 다른 스레드의 스냅샷 조회에는 블록이 끝난 뒤에 한꺼번에 보입니다.
+     */
+    public final class Tx {
+        private final List<JournalRecord> records = new ArrayList<>();
+        private final Deque<Runnable> undo = new ArrayDeque<>();
+        private final Set<DataTable> touched = EnumSet.noneOf(DataTable.class);
+        private final DataChangeBatch.Builder changes = new DataChangeBatch.Builder();
+        private boolean subjectNamesChanged;
+        
+        private Tx() {}
+        
+        // ----- 조회 (블록 안의 변경 포함) -----
+        
+        public Optional<Subject> getSubjectById(int id) { return Optional.ofNullable(subjects.get(id)); }
+        public Optional<Assignment> getAssignmentById(int id) { return Optional.ofNullable(assignments.get(id)); }
+        public Optional<Exam> getExamById(int id) { return Optional.ofNullable(exams.get(id)); }
+        public Optional<GradeRecord> getGradeById(int id) { return Optional.ofNullable(grades.get(id)); }
+        
+        // ----- 과목 -----
+        
+        /** 새 ID 를 발급해서 추가 @return 추가된 과목 (발급된 ID 로 자식 행을 연결할 수 있음) */
+        public Subject addSubject(Subject subject) {
+            subject.setId(generateNewSubjectId());
+            insertSubject(subject);
+            return subject;
+        }
+        
+        public boolean updateSubject(Subject subject) {
+            if (!subjects.contains(subject.getId())) return false;
+            String previousName = subjectsByName.indexedKeyOf(subject.getId());
+            put(DataTable.SUBJECT, subjects, subject, subject.getId(), fileManager.subjectToString(subject), ChangeType.UPDATE);
+            refreshUniqueSubject(previousName);
+            refreshUniqueSubject(subject.getName());
+            subjectNamesChanged = true;
+            return true;
+        }
+        
+        /** 과목과 그 과목의 과제/시험/성적을 함께 삭제 */
+        public boolean deleteSubject(int id) {
+            if (!subjects.contains(id)) return false;
+            assignmentsBySubject.get(id).forEach(child -> deleteAssignment(child.getId()));
+            examsBySubject.get(id).forEach(child -> deleteExam(child.getId()));
+            gradesBySubject.get(id).forEach(child -> deleteGrade(child.getId()));
+            String previousName = subjectsByName.indexedKeyOf(id);
+            remove(DataTable.SUBJECT, subjects, id);
+            refreshUniqueSubject(previousName);
+            subjectNamesChanged = true;
+            return true;
+        }
+        
+        // ----- 과제 -----
+        
+        public Assignment addAssignment(Assignment assignment) {
+            assignment.setId(generateNewAssignmentId());
+            insertAssignment(assignment);
+            return assignment;
+        }
+        
+        public boolean updateAssignment(Assignment assignment) {
+            if (!assignments.contains(assignment.getId())) return false;
+            put(DataTable.ASSIGNMENT, assignments, assignment, assignment.getId(), fileManager.assignmentToString(assignment), ChangeType.UPDATE);
+            return true;
+        }
+        
+        public boolean deleteAssignment(int id) {
+            return remove(DataTable.ASSIGNMENT, assignments, id);
+        }
+        
+        // ----- 시험 -----
+        
+        public Exam addExam(Exam exam) {
+            exam.setId(generateNewExamId());
+            insertExam(exam);
+            return exam;
+        }
+        
+        public boolean updateExam(Exam exam) {
+            if (!exams.contains(exam.getId())) return false;
+            put(DataTable.EXAM, exams, exam, exam.getId(), fileManager.examToString(exam), ChangeType.UPDATE);
+            return true;
+        }
+        
+        public boolean deleteExam(int id) {
+            return remove(DataTable.EXAM, exams, id);
+        }
+        
+        // ----- 성적 -----
+        
+        public GradeRecord addGrade(GradeRecord grade) {
+            grade.setId(generateNewGradeId());
+            insertGrade(grade);
+            return grade;
+        }
+        
+        public boolean updateGrade(GradeRecord grade) {
+            if (!grades.contains(grade.getId())) return false;
+            put(DataTable.GRADE, grades, grade, grade.getId(), fileManager.gradeToString(grade), ChangeType.UPDATE);
+            return true;
+        }
+        
+        public boolean deleteGrade(int id) {
+            return remove(DataTable.GRADE, grades, id);
+        }
+        
+        // ----- 내부 -----
+        
+        /** 이미 ID 가 정해진 행 추가 (일괄 추가용) */
+        void insertSubject(Subject subject) {
+            put(DataTable.SUBJECT, subjects, subject, subject.getId(), fileManager.subjectToString(subject), ChangeType.ADD);
+            refreshUniqueSubject(subject.getName());
+            subjectNamesChanged = true;
+        }
+        
+        void insertAssignment(Assignment assignment) {
+            put(DataTable.ASSIGNMENT, assignments, assignment, assignment.getId(), fileManager.assignmentToString(assignment), ChangeType.ADD);
+        }
+        
+        void insertExam(Exam exam) {
+            put(DataTable.EXAM, exams, exam, exam.getId(), fileManager.examToString(exam), ChangeType.ADD);
+        }
+        
+        void insertGrade(GradeRecord grade) {
+            put(DataTable.GRADE, grades, grade, grade.getId(), fileManager.gradeToString(grade), ChangeType.ADD);
+        }
+        
+        private <T> void put(DataTable table, EntityTable<T> rows, T row, int id, String payload, ChangeType type) {
+            T previous = rows.put(row);
+            undo.push(() -> {
+                if (previous == null) rows.remove(id);
+                else rows.put(previous);
+            });
+            records.add(new JournalRecord(table, JournalManager.OP_PUT, payload));
+            touched.add(table);
+            changes.record(table, type, id);
+        }
+        
+        private <T> boolean remove(DataTable table, EntityTable<T> rows, int id) {
+            // 되돌릴 때 원래 자리에 다시 넣도록 삭제 전 위치를 함께 기록
+            EntityTable.Removal<T> removal = rows.removeForUndo(id);
+            if (removal == null) return false;
+            undo.push(() -> rows.undoRemove(removal));
+            records.add(new JournalRecord(table, JournalManager.OP_DELETE, String.valueOf(id)));
+            touched.add(table);
+            changes.record(table, ChangeType.DELETE, id);
+            return true;
+        }
+        
+        /** 모든 테이블 쓰기 잠금 안에서 호출: 저널 기록과 저장 예약, 스냅샷 교체를 한 번에 */
+        private void commit() {
+            for (JournalRecord record : records) {
+                appendJournal(record.table, record.op, record.payload);
+            }
+            for (DataTable table : touched) {
+                writeBehind.markDirty(table);
+                switch (table) {
+                    case SUBJECT:    publishSubjects(); break;
+                    case ASSIGNMENT: publishAssignments(); break;
+                    case EXAM:       publishExams(); break;
+                    case GRADE:      publishGrades(); break;
+                }
+            }
+        }
+        
+        /** 블록에서 예외가 났을 때: 메모리 변경을 역순으로 되돌림 (저널/파일에는 아직 아무것도 쓰지 않았음) */
+        private void rollback() {
+            while (!undo.isEmpty()) {
+                undo.pop().run();
+            }
+            if (subjectNamesChanged) {
+                rebuildUniqueSubjects();
+            }
+            System.err.println("↩️ 트랜잭션 취소: 변경을 모두 되돌렸습니다");
+        }
+    }
+    
+    /** 트랜잭션이 끝날 때 저널에 쓸 레코드 */
+    private static final class JournalRecord {
+        final DataTable table;
+        final String op;
+        final String payload;
+        
+        JournalRecord(DataTable table, String op, String payload) {
+            this.table = table;
+            this.op = op;
+            this.payload = payload;
+        }
     }
     
     // ===== ID 생성 메서드들 =====
     
     private int generateNewSubjectId() {
-        return subjects.stream()
-                .mapToInt(Subject::getId)
-                .max()
-                .orElse(0) + 1;
+        return sequences.get(DataTable.SUBJECT).next();
     }
     
     private int generateNewAssignmentId() {
-        return assignments.stream()
-                .mapToInt(Assignment::getId)
-                .max()
-                .orElse(0) + 1;
+        return sequences.get(DataTable.ASSIGNMENT).next();
     }
     
     private int generateNewExamId() {
-        return exams.stream()
-                .mapToInt(Exam::getId)
-                .max()
-                .orElse(0) + 1;
+        return sequences.get(DataTable.EXAM).next();
     }
     
     private int generateNewGradeId() {
-        return grades.stream()
-                .mapToInt(GradeRecord::getId)
-                .max()
-                .orElse(0) + 1;
+        return sequences.get(DataTable.GRADE).next();
+    }
+    
+    // ===== 일정 (과제 마감 + 시험) =====
+    
+    /** 마감일이 from ~ to (양 끝 포함) 인 과제 (마감 순) */
+    public List<Assignment> getAssignmentsDueBetween(LocalDate from, LocalDate to) {
+        return readLocked(assignmentLock, () -> assignmentsByDueDay.range(from.toEpochDay(), to.toEpochDay() + 1));
+    }
+    
+    /** 시험 일시가 [from, to) 인 시험 (시간 순) */
+    public List<Exam> getExamsBetween(LocalDateTime from, LocalDateTime to) {
+        return readLocked(examLock, () -> examsByTime.range(examTimeCeil(from), examTimeCeil(to)));
+    }
+    
+    /**
+     * from ~ to (양 끝 날짜 포함) 의 과제 마감과 시험을 시간 순으로 합친 스트림
+     * (같은 날이면 과제 마감이 먼저, 마감일/시험 일시가 없는 행은 빠짐)
+     *
+     * 미리 전부 모으지 않고 읽는 만큼만 두 인덱스에서 AGENDA_CHUNK 행씩 꺼내 합치므로,
+     * 월/주 화면이 limit() 으로 보이는 만큼만 읽으면 비용도 그만큼만 듭니다.
+     * 묶음을 꺼낼 때만 읽기 잠금을 잠깐 잡으므로, 읽는 도중의 변경은 아직 안 꺼낸 구간에만 보입니다.
+     */
+    public Stream<AgendaItem> getAgenda(LocalDate from, LocalDate to) {
+        RangeCursor<Assignment> dueAssignments = new RangeCursor<>(assignmentLock, () -> assignmentsByDueDay,
+                from.toEpochDay(), to.toEpochDay() + 1);
+        RangeCursor<Exam> upcomingExams = new RangeCursor<>(examLock, () -> examsByTime,
+                examTimeCeil(from.atStartOfDay()), examTimeCeil(to.plusDays(1).atStartOfDay()));
+        
+        Iterator<AgendaItem> merged = new Iterator<AgendaItem>() {
+            @Override
+            public boolean hasNext() {
+                return dueAssignments.peek() != null || upcomingExams.peek() != null;
+            }
+            
+            @Override
+            public AgendaItem next() {
+                Assignment assignment = dueAssignments.peek();
+                Exam exam = upcomingExams.peek();
+                if (assignment == null && exam == null) {
+                    throw new NoSuchElementException();
+                }
+                if (exam == null || (assignment != null
+                        && !assignment.getDueDate().atStartOfDay().isAfter(exam.getExamDateTime()))) {
+                    return new AgendaItem(dueAssignments.poll());
+                }
+                return new AgendaItem(upcomingExams.poll());
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+    
+    /** 정렬 인덱스의 [from, to) 구간을 앞에서부터 묶음 단위로 꺼내는 커서 */
+    private static final class RangeCursor<T> {
+        private final StampedLock lock;
+        private final Supplier<RangeIndex<T>> index;   // 전체 로드로 인덱스가 바뀌어도 현재 것을 읽도록
+        private final long end;
+        private long next;
+        private final Deque<T> buffer = new ArrayDeque<>();
+        
+        RangeCursor(StampedLock lock, Supplier<RangeIndex<T>> index, long from, long end) {
+            this.lock = lock;
+            this.index = index;
+            this.next = from;
+            this.end = end;
+        }
+        
+        T peek() {
+            while (buffer.isEmpty() && next < end) {
+                List<T> chunk = new ArrayList<>(AGENDA_CHUNK);
+                next = readLocked(lock, () -> index.get().collect(next, end, AGENDA_CHUNK, chunk));
+                buffer.addAll(chunk);
+            }
+            return buffer.peekFirst();
+        }
+        
+        T poll() {
+            peek();
+            return buffer.pollFirst();
+        }
     }
     
     // ===== 통계 및 유틸리티 메서드 =====
@@ -474,46 +1566,75 @@ public class DatabaseManager {
             "시험: %d개 (임박한 시험: %d개)\n" +
             "성적: %d개\n" +
             "등록된 리스너: %d개",
-            subjects.size(),
-            assignments.size(),
+            subjectSnapshot.size(),
+            assignmentSnapshot.size(),
             getUrgentAssignments().size(),
-            exams.size(),
+            examSnapshot.size(),
             getImminentExams().size(),
-            grades.size(),
-            listeners.size()
+            gradeSnapshot.size(),
+            notifier.getListenerCount()
         );
     }
 
+    /**
+     * 테이블 데이터가 들어 있는 파일 이름 (data/ 기준)
+     * 텍스트 파일과 함께, 바이너리 스냅샷 모드에서 실제 데이터인 목차(*.bin)와 현재 페이지 파일을 포함합니다.
+     */
+    public List<String> getTableFileNames() {
+        List<String> names = new ArrayList<>();
+        for (DataTable table : DataTable.values()) {
+            names.add(table.getFileName());
+            names.addAll(fileManager.snapshotFileNames(table));
+        }
+        return names;
+    }
+    
     /** 백업 생성 */
     public void createBackup() {
-        fileManager.createBackup("subjects.txt");
-        fileManager.createBackup("assignments.txt");
-        fileManager.createBackup("exams.txt");
-        fileManager.createBackup("grades.txt");
+        for (DataTable table : DataTable.values()) {
+            fileManager.createBackup(table.getFileName());
+            fileManager.snapshotFileNames(table).forEach(fileManager::createBackup);
+        }
+        fileManager.createBackup("sequences.txt");
+        if (journal != null) {
+            fileManager.createBackup("journal.log");
+        }
         System.out.println("🔄 전체 백업 완료");
     }
 
     /** 데이터 초기화 (개발/테스트용) */
     public void clearAllData() {
-        subjects.clear();
-        assignments.clear();
-        exams.clear();
-        grades.clear();
+        // 압축 스레드와의 잠금 순서를 지키기 위해 비우기와 저장을 분리
+        long[] stamps = writeLockAllForUpdate();
+        try {
+            subjects.clear();
+            assignments.clear();
+            exams.clear();
+            grades.clear();
+            rebuildUniqueSubjects();
+            publishAll();
+        } finally {
+            unlockAll(stamps);
+        }
         saveAllData();
         
-        // 모든 리스너에게 삭제 알림 (ID -1은 전체 삭제를 의미)
-        notifySubjectChanged("CLEAR", -1);
+        // 모든 리스너에게 전체 삭제 알림
+        notifyAllReset(ChangeType.CLEAR);
         
         System.out.println("🧹 모든 데이터 초기화 완료");
     }
 
     /** 데이터 다시 로드 */
     public void reloadData() {
+        // 저널을 끄면 아직 저장되지 않은 변경은 메모리에만 있으므로, 파일에서 다시 읽기 전에 먼저 저장
+        if (!writeBehind.awaitDurable()) {
+            System.err.println("⚠️ 다시 로드 전 저장 실패: 저장되지 않은 변경이 사라질 수 있습니다");
+        }
         loadAllData();
         userGrades = fileManager.loadUserGrades();
         
         // 모든 리스너에게 새로고침 알림
-        notifySubjectChanged("RELOAD", -1);
+        notifyAllReset(ChangeType.RELOAD);
         
         System.out.println("🔄 데이터 다시 로드 완료");
     }
@@ -0,0 +1,207 @@
+package common.database;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import common.listeners.ChangeType;
+import common.listeners.DataChangeBatch;
+import common.listeners.DataChangeBatchListener;
+import common.listeners.DeadlineEvent;
+import common.listeners.DeadlineListener;
+import common.model.Assignment;
+import common.model.Exam;
+
+/**
+ * 과제 마감/시험 임박 알림기
+ *
+ * 과제·시험마다 긴급도 기준 시각(마감 2일 전, 마감 지남, 시험 24시간 전)을 타이밍 휠에 걸어 두고,
+ * 틱마다 시계를 진행해서 그 사이 지난 기준만 알림으로 보냅니다. (전체 목록을 주기적으로 훑지 않음)
+ * 과제/시험이 바뀌면 DataChangeBatch 로 바뀐 행만 받아 그 행의 기준 시각만 다시 겁니다.
+ *
+ * 이미 지난 기준은 다시 알리지 않으며, 완료된 과제는 알리지 않습니다.
+ * 처음 리스너가 등록될 때 시작하고, 리스너는 알림 전용 스레드에서 호출됩니다.
+ */
+final class DeadlineMonitor implements DataChangeBatchListener {
+    private static final String DONE_STATUS = "완료";
+    private static final long URGENT_DAYS = 2;
+    private static final long IMMINENT_HOURS = 24;
+
+    private final DatabaseManager db;
+    private final long tickMillis;
+    private final List<DeadlineListener> listeners = new CopyOnWriteArrayList<>();
+
+    // 아래 필드는 this 로 보호
+    private TimingWheel<DeadlineEvent> wheel;
+    private final Map<Integer, List<TimingWheel.Timeout<DeadlineEvent>>> assignmentTimers = new HashMap<>();
+    private final Map<Integer, List<TimingWheel.Timeout<DeadlineEvent>>> examTimers = new HashMap<>();
+    private ScheduledExecutorService ticker;
+
+    DeadlineMonitor(DatabaseManager db, long tickMillis) {
+        this.db = db;
+        this.tickMillis = tickMillis;
+    }
+
+    /** @return 처음 등록된 리스너면 true */
+    boolean addListener(DeadlineListener listener) {
+        return listener != null && !listeners.contains(listener) && listeners.add(listener);
+    }
+
+    boolean removeListener(DeadlineListener listener) {
+        return listeners.remove(listener);
+    }
+
+    /** 모든 과제/시험의 기준 시각을 걸고 틱 스레드를 시작합니다. (이미 시작했으면 무시) */
+    synchronized void start() {
+        if (ticker != null) return;
+        wheel = new TimingWheel<>(tickMillis, System.currentTimeMillis());
+        rescheduleAssignments();
+        rescheduleExams();
+        ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "deadline-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 틱 경계에 맞춰 진행
+        long initialDelay = tickMillis - System.currentTimeMillis() % tickMillis;
+        ticker.scheduleAtFixedRate(this::tick, initialDelay, tickMillis, TimeUnit.MILLISECONDS);
+        System.out.println("⏰ 마감 알림 시작: 대기 중인 알림 " + wheel.size() + "개");
+    }
+
+    synchronized void close() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+            wheel.clear();
+            assignmentTimers.clear();
+            examTimers.clear();
+        }
+    }
+
+    synchronized int pendingCount() {
+        return wheel == null ? 0 : wheel.size();
+    }
+
+    // ===== 변경 반영 =====
+
+    @Override
+    public synchronized void onDataChanged(DataChangeBatch batch) {
+        if (ticker == null) return;
+        if (batch.getReset(DataTable.ASSIGNMENT) != null) {
+            rescheduleAssignments();
+        } else {
+            for (int id : batch.getChangedIds(DataTable.ASSIGNMENT)) {
+                cancel(assignmentTimers, id);
+                if (batch.getChange(DataTable.ASSIGNMENT, id) != ChangeType.DELETE) {
+                    db.getAssignmentById(id).ifPresent(this::schedule);
+                }
+            }
+        }
+        if (batch.getReset(DataTable.EXAM) != null) {
+            rescheduleExams();
+        } else {
+            for (int id : batch.getChangedIds(DataTable.EXAM)) {
+                cancel(examTimers, id);
+                if (batch.getChange(DataTable.EXAM, id) != ChangeType.DELETE) {
+                    db.getExamById(id).ifPresent(this::schedule);
+                }
+            }
+        }
+    }
+
+    private void rescheduleAssignments() {
+        assignmentTimers.values().forEach(timers -> timers.forEach(wheel::cancel));
+        assignmentTimers.clear();
+        for (Assignment assignment : db.getAllAssignments()) {
+            schedule(assignment);
+        }
+    }
+
+    private void rescheduleExams() {
+        examTimers.values().forEach(timers -> timers.forEach(wheel::cancel));
+        examTimers.clear();
+        for (Exam exam : db.getAllExams()) {
+            schedule(exam);
+        }
+    }
+
+    private void schedule(Assignment assignment) {
+        if (assignment.getDueDate() == null || DONE_STATUS.equals(assignment.getStatus())) return;
+        LocalDateTime due = assignment.getDueDate().atStartOfDay();
+        long now = System.currentTimeMillis();
+        List<TimingWheel.Timeout<DeadlineEvent>> timers = new ArrayList<>(2);
+        addTimer(timers, now, toMillis(due.minusDays(URGENT_DAYS)),
+                new DeadlineEvent(DeadlineEvent.Kind.ASSIGNMENT_URGENT, assignment.getId(), assignment.getTitle(), due));
+        addTimer(timers, now, toMillis(due.plusDays(1)),
+                new DeadlineEvent(DeadlineEvent.Kind.ASSIGNMENT_OVERDUE, assignment.getId(), assignment.getTitle(), due));
+        if (!timers.isEmpty()) {
+            assignmentTimers.put(assignment.getId(), timers);
+        }
+    }
+
+    private void schedule(Exam exam) {
+        if (exam.getExamDateTime() == null) return;
+        LocalDateTime at = exam.getExamDateTime();
+        List<TimingWheel.Timeout<DeadlineEvent>> timers = new ArrayList<>(1);
+        // getHoursLeft() 는 시간 단위로 내림하므로 25시간 전을 막 지난 순간부터 24 가 됨
+        addTimer(timers, System.currentTimeMillis(), toMillis(at.minusHours(IMMINENT_HOURS + 1)) + 1,
+                new DeadlineEvent(DeadlineEvent.Kind.EXAM_IMMINENT, exam.getId(), exam.getTitle(), at));
+        if (!timers.isEmpty()) {
+            examTimers.put(exam.getId(), timers);
+        }
+    }
+
+    /** 기준 시각이 아직 안 지났으면 건다 */
+    private void addTimer(List<TimingWheel.Timeout<DeadlineEvent>> timers, long now, long thresholdMillis, DeadlineEvent event) {
+        if (thresholdMillis > now) {
+            timers.add(wheel.schedule(event, thresholdMillis));
+        }
+    }
+
+    private void cancel(Map<Integer, List<TimingWheel.Timeout<DeadlineEvent>>> timersById, int id) {
+        List<TimingWheel.Timeout<DeadlineEvent>> timers = timersById.remove(id);
+        if (timers != null) {
+            timers.forEach(wheel::cancel);
+        }
+    }
+
+    // ===== 틱 =====
+
+    private void tick() {
+        List<DeadlineEvent> fired = new ArrayList<>();
+        synchronized (this) {
+            if (ticker == null) return;
+            wheel.advance(System.currentTimeMillis(), fired::add);
+            for (DeadlineEvent event : fired) {
+                Map<Integer, List<TimingWheel.Timeout<DeadlineEvent>>> timersById =
+                        event.getTable() == DataTable.EXAM ? examTimers : assignmentTimers;
+                List<TimingWheel.Timeout<DeadlineEvent>> timers = timersById.get(event.getId());
+                if (timers != null) {
+                    timers.removeIf(timeout -> !timeout.isPending());
+                    if (timers.isEmpty()) timersById.remove(event.getId());
+                }
+            }
+        }
+        // 리스너는 잠금 밖에서 호출
+        for (DeadlineEvent event : fired) {
+            for (DeadlineListener listener : listeners) {
+                try {
+                    listener.onDeadline(event);
+                } catch (Exception e) {
+                    System.err.println("❌ 마감 알림 처리 중 오류: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,83 @@
+package common.database;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 데이터 파일을 안전하게 교체하는 유틸리티
+ *
+ * 대상 파일을 그 자리에서 잘라 쓰지 않고, 같은 폴더의 임시 파일에 전부 쓴 뒤
+ * FileChannel.force()로 디스크까지 내리고 원자적 이동(ATOMIC_MOVE)으로 덮어씁니다.
+ * 쓰는 도중 프로그램이 죽어도 대상 파일은 이전 내용 또는 새 내용 중 하나로 남습니다.
+ *
+ * fsync 는 -Ddb.fsync=false 로 끌 수 있습니다. (원자적 교체는 그대로 유지)
+ */
+public final class DurableFiles {
+    /** fsync 사용 여부 */
+    public static final boolean FSYNC_ENABLED = !"false".equals(System.getProperty("db.fsync", "true"));
+
+    // 같은 파일을 동시에 교체하지 않도록 파일별 잠금
+    private static final ConcurrentHashMap<Path, Object> LOCKS = new ConcurrentHashMap<>();
+
+    /** 임시 파일에 내용을 쓰는 콜백 */
+    @FunctionalInterface
+    public interface ContentWriter {
+        void writeTo(Path temp) throws IOException;
+    }
+
+    private DurableFiles() {}
+
+    /**
+     * 임시 파일에 쓴 내용으로 대상 파일을 원자적으로 교체합니다.
+     * 실패하면 대상 파일은 건드리지 않고 IOException 을 던집니다.
+     */
+    public static void replace(Path target, ContentWriter writer) throws IOException {
+        Path absolute = target.toAbsolutePath().normalize();
+        Path dir = absolute.getParent();
+        synchronized (LOCKS.computeIfAbsent(absolute, p -> new Object())) {
+            // 파일별 잠금 안에서만 쓰므로 임시 파일 이름은 고정해도 겹치지 않음
+            Path temp = dir.resolve(absolute.getFileName() + ".tmp");
+            try {
+                writer.writeTo(temp);
+                if (FSYNC_ENABLED) {
+                    force(temp);
+                }
+                try {
+                    Files.move(temp, absolute, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+                }
+                if (FSYNC_ENABLED) {
+                    forceDirectory(dir);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    /** 파일 내용과 메타데이터를 디스크에 반영 */
+    public static void force(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    /**
+     * 이름 변경이 디스크에 남도록 폴더도 fsync 합니다.
+     * 폴더를 열 수 없는 플랫폼(Windows 등)에서는 조용히 넘어갑니다.
+     */
+    private static void forceDirectory(Path dir) {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException | UnsupportedOperationException e) {
+            // 폴더 fsync 미지원
+        }
+    }
+}
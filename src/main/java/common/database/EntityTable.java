@@ -0,0 +1,547 @@
+package common.database;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * ID로 바로 찾을 수 있는 메모리 테이블
+ *
+ * 행(row)은 입력 순서대로 배열에 저장하고, id → 배열 위치를
+ * int 기본형 해시 인덱스(오픈 어드레싱)로 따로 관리합니다.
+ * 조회/수정/삭제는 O(1)이며, 삭제된 자리는 비워 두었다가
+ * 빈 자리가 절반을 넘으면 한 번에 당겨서 정리합니다.
+ * 필요하면 addIndex()/addRangeIndex()로 보조 인덱스를 붙여 함께 갱신할 수 있습니다.
+ *
+ * 행 위치를 PAGE_SIZE 개씩 묶은 페이지 단위로 변경 여부를 기록하므로,
+ * takeDelta()로 마지막 저장 이후 바뀐 페이지만 꺼내 저장할 수 있고,
+ * snapshot()은 바뀐 페이지만 새로 복사하고 나머지는 이전 스냅샷과 공유합니다.
+ */
+public class EntityTable<T> implements Iterable<T> {
+    private static final int EMPTY = -1;
+    private static final int MIN_CAPACITY = 16;
+
+    /** 저장 단위 페이지 크기 (행 위치 기준) */
+    public static final int PAGE_SIZE = 1024;
+    private static final int PAGE_SHIFT = 10;
+
+    private final ToIntFunction<T> idOf;
+    private final List<TableIndex<T>> indexes = new ArrayList<>();
+
+    // 입력 순서대로 저장된 행 (삭제된 자리는 null)
+    private Object[] rows = new Object[MIN_CAPACITY];
+    private int rowCount;      // 사용한 행 칸 수 (삭제된 칸 포함)
+    private int size;          // 실제 행 수
+
+    // id → 행 위치 인덱스 (선형 탐사)
+    private int[] keys = new int[MIN_CAPACITY * 2];
+    private int[] slots = newSlots(MIN_CAPACITY * 2);
+
+    // 마지막 takeDelta() 이후 바뀐 페이지
+    private final BitSet dirtyPages = new BitSet();
+    // 마지막 snapshot() 이후 바뀐 페이지 (저장 여부와 따로 기록)
+    private final BitSet stalePages = new BitSet();
+    private TableSnapshot<T> lastSnapshot;
+
+    public EntityTable(ToIntFunction<T> idOf) {
+        this.idOf = idOf;
+    }
+
+    public EntityTable(ToIntFunction<T> idOf, List<T> initialRows) {
+        this(idOf);
+        for (T row : initialRows) {
+            put(row);
+        }
+    }
+
+    /**
+     * 보조 인덱스를 추가합니다. 기존 행으로 즉시 채워지며 이후 변경도 자동 반영됩니다.
+     */
+    public <K> SecondaryIndex<K, T> addIndex(Function<T, K> keyOf) {
+        SecondaryIndex<K, T> index = new SecondaryIndex<>(keyOf, idOf);
+        for (T row : this) {
+            index.onPut(row);
+        }
+        indexes.add(index);
+        return index;
+    }
+
+    /**
+     * 정렬된 구간 인덱스를 추가합니다. (keyOf 가 null 을 돌려주는 행은 색인하지 않음)
+     */
+    public RangeIndex<T> addRangeIndex(Function<T, Long> keyOf) {
+        RangeIndex<T> index = new RangeIndex<>(keyOf, idOf);
+        for (T row : this) {
+            index.onPut(row);
+        }
+        indexes.add(index);
+        return index;
+    }
+
+    // ===== 조회 =====
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int id) {
+        return find(id) >= 0;
+    }
+
+    /** ID로 행을 찾습니다. 없으면 null */
+    @SuppressWarnings("unchecked")
+    public T get(int id) {
+        int index = find(id);
+        return index < 0 ? null : (T) rows[slots[index]];
+    }
+
+    /** 입력 순서를 유지한 새 리스트로 복사 */
+    public List<T> toList() {
+        List<T> result = new ArrayList<>(size);
+        for (T row : this) {
+            result.add(row);
+        }
+        return result;
+    }
+
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int next = advance(0);
+
+            private int advance(int from) {
+                while (from < rowCount && rows[from] == null) from++;
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next < rowCount;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (next >= rowCount) throw new NoSuchElementException();
+                T row = (T) rows[next];
+                next = advance(next + 1);
+                return row;
+            }
+        };
+    }
+
+    // ===== 변경 =====
+
+    /**
+     * 같은 ID가 있으면 그 자리에서 교체하고, 없으면 끝에 추가합니다.
+     * @return 교체된 기존 행 (새로 추가된 경우 null)
+     */
+    @SuppressWarnings("unchecked")
+    public T put(T row) {
+        int id = idOf.applyAsInt(row);
+        int index = find(id);
+        if (index >= 0) {
+            T previous = (T) rows[slots[index]];
+            rows[slots[index]] = row;
+            markChanged(slots[index]);
+            for (TableIndex<T> secondary : indexes) {
+                secondary.onPut(row);
+            }
+            return previous;
+        }
+
+        if (rowCount == rows.length) {
+            if (size < rowCount / 2) {
+                compactRows();
+            } else {
+                rows = Arrays.copyOf(rows, rows.length * 2);
+            }
+        }
+        int slot = rowCount++;
+        rows[slot] = row;
+        size++;
+        insertKey(id, slot);
+        markChanged(slot);
+        for (TableIndex<T> secondary : indexes) {
+            secondary.onPut(row);
+        }
+        return null;
+    }
+
+    /**
+     * ID로 행을 삭제합니다.
+     * @return 삭제된 행 (없으면 null)
+     */
+    public T remove(int id) {
+        int index = find(id);
+        return index < 0 ? null : removeAt(index, null);
+    }
+
+    /**
+     * remove()와 같지만 삭제 전 자리(바로 뒤의 행, 보조 인덱스 버킷 안의 자리)를 함께 기록합니다. (트랜잭션 되돌리기용)
+     * @return 삭제 기록 (없으면 null)
+     */
+    @SuppressWarnings("unchecked")
+    public Removal<T> removeForUndo(int id) {
+        int index = find(id);
+        if (index < 0) return null;
+
+        int after = slots[index] + 1;
+        while (after < rowCount && rows[after] == null) after++;
+        T next = after < rowCount ? (T) rows[after] : null;
+        Object[] places = new Object[indexes.size()];
+        return new Removal<>(removeAt(index, places), next, places);
+    }
+
+    /**
+     * removeForUndo()로 지운 행을 원래 자리(바로 뒤에 있던 행 앞)에 되돌립니다.
+     * 그 뒤의 변경을 모두 역순으로 되돌린 다음 호출해야 순서가 그대로 돌아옵니다.
+     * 뒤의 행을 찾을 수 없으면 put()과 같이 끝에 추가합니다.
+     */
+    public void undoRemove(Removal<T> removal) {
+        T row = removal.row;
+        int id = idOf.applyAsInt(row);
+        int nextIndex = removal.next == null ? -1 : find(idOf.applyAsInt(removal.next));
+        if (nextIndex < 0 || find(id) >= 0) {
+            put(row);
+            return;
+        }
+
+        int slot = slots[nextIndex];
+        if (slot > 0 && rows[slot - 1] == null) {
+            // 삭제로 비워 둔 칸이 남아 있으면 그 자리에 바로 넣음
+            slot--;
+        } else {
+            // 칸이 정리된 뒤라면 뒤의 행들을 한 칸씩 밀고 넣음
+            if (rowCount == rows.length) {
+                rows = Arrays.copyOf(rows, rows.length * 2);
+            }
+            System.arraycopy(rows, slot, rows, slot + 1, rowCount - slot);
+            rowCount++;
+            for (int moved = slot + 1; moved < rowCount; moved++) {
+                if (rows[moved] == null) continue;
+                @SuppressWarnings("unchecked")
+                T shifted = (T) rows[moved];
+                slots[find(idOf.applyAsInt(shifted))] = moved;
+            }
+            int lastPage = (rowCount - 1) >>> PAGE_SHIFT;
+            dirtyPages.set(slot >>> PAGE_SHIFT, lastPage + 1);
+            stalePages.set(slot >>> PAGE_SHIFT, lastPage + 1);
+        }
+        rows[slot] = row;
+        size++;
+        insertKey(id, slot);
+        markChanged(slot);
+        for (int i = 0; i < indexes.size(); i++) {
+            indexes.get(i).onRestore(row, removal.indexPlaces[i]);
+        }
+    }
+
+    /** places 가 있으면 보조 인덱스별 삭제 전 자리를 채움 */
+    @SuppressWarnings("unchecked")
+    private T removeAt(int index, Object[] places) {
+        int slot = slots[index];
+        T removed = (T) rows[slot];
+        rows[slot] = null;
+        size--;
+        deleteIndex(index);
+        markChanged(slot);
+        for (int i = 0; i < indexes.size(); i++) {
+            if (places == null) {
+                indexes.get(i).onRemove(removed);
+            } else {
+                places[i] = indexes.get(i).onRemoveForUndo(removed);
+            }
+        }
+
+        if (slot == rowCount - 1) {
+            rowCount--;
+        } else if (rowCount > MIN_CAPACITY && size < rowCount / 2) {
+            compactRows();
+        }
+        return removed;
+    }
+
+    /**
+     * 조건에 맞는 행을 모두 삭제합니다.
+     * @return 삭제된 행 목록 (입력 순서)
+     */
+    public List<T> removeIf(Predicate<T> condition) {
+        List<T> removed = new ArrayList<>();
+        for (T row : this) {
+            if (condition.test(row)) {
+                removed.add(row);
+            }
+        }
+        for (T row : removed) {
+            remove(idOf.applyAsInt(row));
+        }
+        return removed;
+    }
+
+    public void clear() {
+        markAllChanged();
+        rows = new Object[MIN_CAPACITY];
+        rowCount = 0;
+        size = 0;
+        keys = new int[MIN_CAPACITY * 2];
+        slots = newSlots(MIN_CAPACITY * 2);
+        for (TableIndex<T> secondary : indexes) {
+            secondary.clear();
+        }
+    }
+
+    /**
+     * 스냅샷에 저장된 위치(slot) 그대로 행을 복원합니다. (로드용, 저장할 변경으로 기록하지 않음)
+     * 이미 같은 ID가 있거나 그 자리가 차 있으면 put()과 같이 동작합니다.
+     */
+    public void restore(int slot, T row) {
+        int id = idOf.applyAsInt(row);
+        if (slot < 0 || find(id) >= 0 || (slot < rowCount && rows[slot] != null)) {
+            put(row);
+            return;
+        }
+        if (slot >= rows.length) {
+            rows = Arrays.copyOf(rows, Math.max(rows.length * 2, Integer.highestOneBit(slot) * 2));
+        }
+        rows[slot] = row;
+        rowCount = Math.max(rowCount, slot + 1);
+        size++;
+        insertKey(id, slot);
+        stalePages.set(slot >>> PAGE_SHIFT);
+        for (TableIndex<T> secondary : indexes) {
+            secondary.onPut(row);
+        }
+    }
+
+    /** removeForUndo()의 삭제 기록 */
+    public static final class Removal<T> {
+        private final T row;
+        private final T next;             // 삭제 직전 바로 뒤에 있던 행 (마지막 행이었으면 null)
+        private final Object[] indexPlaces; // 보조 인덱스별 삭제 전 자리
+
+        private Removal(T row, T next, Object[] indexPlaces) {
+            this.row = row;
+            this.next = next;
+            this.indexPlaces = indexPlaces;
+        }
+
+        public T getRow() {
+            return row;
+        }
+    }
+
+    // ===== 페이지 단위 변경 추적 =====
+
+    /** 현재 행 위치를 덮는 페이지 수 */
+    public int pageCount() {
+        return (rowCount + PAGE_SIZE - 1) >>> PAGE_SHIFT;
+    }
+
+    /**
+     * 마지막 호출 이후 바뀐 페이지의 현재 내용을 복사해서 꺼내고, 변경 기록을 비웁니다.
+     * 저장에 실패하면 markAllPagesDirty()로 다시 기록해야 합니다.
+     */
+    public PageDelta<T> takeDelta() {
+        int pageCount = pageCount();
+        Map<Integer, PageDelta.Page<T>> pages = new LinkedHashMap<>();
+        for (int page = dirtyPages.nextSetBit(0); page >= 0 && page < pageCount; page = dirtyPages.nextSetBit(page + 1)) {
+            pages.put(page, copyPage(page));
+        }
+        boolean changed = !dirtyPages.isEmpty();
+        dirtyPages.clear();
+        return new PageDelta<>(PAGE_SIZE, pageCount, pages, changed);
+    }
+
+    /** 모든 페이지를 변경된 것으로 기록 (다음 저장 때 테이블 전체를 다시 씀) */
+    public void markAllPagesDirty() {
+        dirtyPages.set(0, Math.max(1, pageCount()));
+    }
+
+    /** 변경 기록만 비웁니다. (스냅샷에서 막 읽어 들인 직후 등) */
+    public void clearDirtyPages() {
+        dirtyPages.clear();
+    }
+
+    /**
+     * 현재 내용의 읽기 전용 스냅샷을 만듭니다.
+     * 마지막 스냅샷 이후 바뀌지 않은 페이지는 복사하지 않고 그대로 공유하므로
+     * 행 하나를 바꾼 뒤의 스냅샷은 페이지 1개(최대 PAGE_SIZE 행)만 복사합니다.
+     */
+    public TableSnapshot<T> snapshot(long version) {
+        int pageCount = pageCount();
+        Object[][] pages = new Object[pageCount][];
+        for (int page = 0; page < pageCount; page++) {
+            boolean reusable = lastSnapshot != null && page < lastSnapshot.pageCount() && !stalePages.get(page);
+            pages[page] = reusable ? lastSnapshot.page(page) : compactPage(page);
+        }
+        stalePages.clear();
+        lastSnapshot = new TableSnapshot<>(version, pages);
+        return lastSnapshot;
+    }
+
+    /** 페이지의 행만 빈 칸 없이 복사 */
+    private Object[] compactPage(int page) {
+        int from = page << PAGE_SHIFT;
+        int to = Math.min(rowCount, from + PAGE_SIZE);
+        int count = 0;
+        for (int slot = from; slot < to; slot++) {
+            if (rows[slot] != null) count++;
+        }
+        Object[] pageRows = new Object[count];
+        count = 0;
+        for (int slot = from; slot < to; slot++) {
+            if (rows[slot] != null) pageRows[count++] = rows[slot];
+        }
+        return pageRows;
+    }
+
+    private void markChanged(int slot) {
+        dirtyPages.set(slot >>> PAGE_SHIFT);
+        stalePages.set(slot >>> PAGE_SHIFT);
+    }
+
+    private void markAllChanged() {
+        int pages = Math.max(1, pageCount());
+        dirtyPages.set(0, pages);
+        stalePages.set(0, pages);
+    }
+
+    @SuppressWarnings("unchecked")
+    private PageDelta.Page<T> copyPage(int page) {
+        int from = page << PAGE_SHIFT;
+        int to = Math.min(rowCount, from + PAGE_SIZE);
+        int count = 0;
+        for (int slot = from; slot < to; slot++) {
+            if (rows[slot] != null) count++;
+        }
+        int[] offsets = new int[count];
+        List<T> pageRows = new ArrayList<>(count);
+        for (int slot = from; slot < to; slot++) {
+            if (rows[slot] != null) {
+                offsets[pageRows.size()] = slot - from;
+                pageRows.add((T) rows[slot]);
+            }
+        }
+        return new PageDelta.Page<>(offsets, pageRows);
+    }
+
+    // ===== 내부 해시 인덱스 =====
+
+    private static int[] newSlots(int capacity) {
+        int[] array = new int[capacity];
+        Arrays.fill(array, EMPTY);
+        return array;
+    }
+
+    private static int hash(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /** id가 들어 있는 인덱스 칸 위치 (없으면 -1) */
+    private int find(int id) {
+        int mask = keys.length - 1;
+        int index = hash(id) & mask;
+        while (slots[index] != EMPTY) {
+            if (keys[index] == id) return index;
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void insertKey(int id, int slot) {
+        if ((size) * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        int mask = keys.length - 1;
+        int index = hash(id) & mask;
+        while (slots[index] != EMPTY) {
+            index = (index + 1) & mask;
+        }
+        keys[index] = id;
+        slots[index] = slot;
+    }
+
+    /** 선형 탐사 삭제: 뒤따르는 항목을 앞으로 당겨 탐사 경로를 유지합니다. */
+    private void deleteIndex(int index) {
+        int mask = keys.length - 1;
+        int gap = index;
+        int next = (gap + 1) & mask;
+        while (slots[next] != EMPTY) {
+            int home = hash(keys[next]) & mask;
+            // home이 (gap, next] 구간 밖이면 gap 자리로 옮길 수 있음
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                slots[gap] = slots[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        slots[gap] = EMPTY;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldSlots = slots;
+        keys = new int[capacity];
+        slots = newSlots(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldSlots.length; i++) {
+            if (oldSlots[i] == EMPTY) continue;
+            int index = hash(oldKeys[i]) & mask;
+            while (slots[index] != EMPTY) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = oldKeys[i];
+            slots[index] = oldSlots[i];
+        }
+    }
+
+    /** 삭제로 생긴 빈 칸을 당겨서 정리하고 인덱스를 다시 만듭니다. */
+    @SuppressWarnings("unchecked")
+    private void compactRows() {
+        // 행 위치가 모두 바뀌므로 이전/이후 페이지 전체가 변경됨
+        markAllChanged();
+        Object[] compacted = new Object[Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, size)) * 2)];
+        int count = 0;
+        for (int i = 0; i < rowCount; i++) {
+            if (rows[i] != null) compacted[count++] = rows[i];
+        }
+        rows = compacted;
+        rowCount = count;
+
+        int capacity = MIN_CAPACITY * 2;
+        while (capacity < count * 2) capacity *= 2;
+        keys = new int[capacity];
+        slots = newSlots(capacity);
+        int mask = capacity - 1;
+        for (int slot = 0; slot < count; slot++) {
+            int id = idOf.applyAsInt((T) rows[slot]);
+            int index = hash(id) & mask;
+            while (slots[index] != EMPTY) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = id;
+            slots[index] = slot;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package common.database;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.NoSuchElementException;
+
+/**
+ * 파이프(|)로 구분된 텍스트 데이터를 한 번만 훑으며 필드를 꺼내는 토크나이저
+ *
+ * String.split(정규식) + trim() 처럼 필드마다 문자열을 만들지 않고,
+ * 원본 텍스트 위의 위치(offset)만 옮겨 가며 정수/실수/날짜를 그 자리에서 해석합니다.
+ * 문자열은 텍스트 필드를 꺼낼 때만 만들어지고, 빈 필드는 null 로 돌려줍니다.
+ *
+ * 파일 전체(CharBuffer 등)를 넘기면 nextLine()으로 줄을 옮겨 가며 읽고,
+ * ofLine()으로 한 줄만 감싸서 쓸 수도 있습니다. (줄 앞뒤 공백은 무시)
+ */
+public final class FieldTokenizer {
+    private static final char SEPARATOR = '|';
+    private static final long[] POWERS_OF_TEN = {
+        1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L,
+        100_000_000L, 1_000_000_000L, 10_000_000_000L, 100_000_000_000L,
+        1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L, 1_000_000_000_000_000L
+    };
+
+    private final CharSequence text;
+    private int nextLineStart;   // 다음 줄이 시작하는 위치
+    private int lineStart;       // 현재 줄 (앞뒤 공백 제외) 범위
+    private int lineEnd;
+    private int pos;             // 다음 필드가 시작하는 위치 (lineEnd + 1 이면 필드 없음)
+
+    // 마지막으로 꺼낸 필드 범위 (앞뒤 공백 제외)
+    private int fieldStart;
+    private int fieldEnd;
+
+    public FieldTokenizer(CharSequence text) {
+        this.text = text;
+        this.pos = 1;
+        this.lineEnd = 0;
+    }
+
+    /** 한 줄만 감싼 토크나이저 (바로 필드를 꺼낼 수 있음) */
+    public static FieldTokenizer ofLine(CharSequence line) {
+        FieldTokenizer tokenizer = new FieldTokenizer(line);
+        tokenizer.nextLine();
+        return tokenizer;
+    }
+
+    // ===== 줄 단위 이동 =====
+
+    /**
+     * 다음의 비어 있지 않은 줄로 이동합니다. (\n, \r\n, \r 모두 줄바꿈으로 처리)
+     * @return 더 읽을 줄이 없으면 false
+     */
+    public boolean nextLine() {
+        int length = text.length();
+        while (nextLineStart < length) {
+            int start = nextLineStart;
+            int end = start;
+            while (end < length && text.charAt(end) != '\n' && text.charAt(end) != '\r') end++;
+            nextLineStart = end;
+            if (nextLineStart < length && text.charAt(nextLineStart) == '\r') nextLineStart++;
+            if (nextLineStart < length && text.charAt(nextLineStart) == '\n') nextLineStart++;
+
+            while (start < end && text.charAt(start) <= ' ') start++;
+            while (end > start && text.charAt(end - 1) <= ' ') end--;
+            if (start < end) {
+                lineStart = start;
+                lineEnd = end;
+                pos = start;
+                return true;
+            }
+        }
+        pos = lineEnd + 1;
+        return false;
+    }
+
+    /** 현재 줄 전체 (오류 메시지용) */
+    public String line() {
+        return text.subSequence(lineStart, lineEnd).toString();
+    }
+
+    /** 현재 줄의 필드 수 (split("\\|", -1).length 와 같음) */
+    public int fieldCount() {
+        int count = 1;
+        for (int i = lineStart; i < lineEnd; i++) {
+            if (text.charAt(i) == SEPARATOR) count++;
+        }
+        return count;
+    }
+
+    public boolean hasMoreFields() {
+        return pos <= lineEnd;
+    }
+
+    // ===== 필드 꺼내기 =====
+
+    /** 필드 하나를 건너뜁니다. */
+    public void skip() {
+        advance();
+    }
+
+    /** 앞뒤 공백을 뺀 텍스트 필드 (비어 있으면 null) */
+    public String nextString() {
+        advance();
+        return fieldStart == fieldEnd ? null : text.subSequence(fieldStart, fieldEnd).toString();
+    }
+
+    public int nextInt() {
+        advance();
+        return parseInt(fieldStart, fieldEnd);
+    }
+
+    /**
+     * 실수 필드. "-12.345" 처럼 단순한 10진수는 그 자리에서 계산하고
+     * (정수부·소수부가 long 안에서 정확히 표현되는 경우), 지수 표기 등은 Double.parseDouble 에 맡깁니다.
+     */
+    public double nextDouble() {
+        advance();
+        int i = fieldStart;
+        boolean negative = false;
+        if (i < fieldEnd && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+        long mantissa = 0;
+        boolean anyDigit = false;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; i < fieldEnd; i++) {
+            char c = text.charAt(i);
+            if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+                continue;
+            }
+            if (c < '0' || c > '9' || digits >= 15) {
+                return Double.parseDouble(field());
+            }
+            mantissa = mantissa * 10 + (c - '0');
+            anyDigit = true;
+            if (mantissa != 0) digits++;
+            if (fractionDigits >= 0) fractionDigits++;
+        }
+        if (!anyDigit || fractionDigits == 0 || fractionDigits >= POWERS_OF_TEN.length) {
+            return Double.parseDouble(field());
+        }
+        // 15자리 이하 정수와 10^15 이하의 거듭제곱은 double 로 정확하므로 나눗셈 한 번으로 올바르게 반올림됨
+        double value = fractionDigits > 0 ? (double) mantissa / POWERS_OF_TEN[fractionDigits] : (double) mantissa;
+        return negative ? -value : value;
+    }
+
+    /** "true"(대소문자 무시)만 true 로 해석 (Boolean.parseBoolean 과 같음) */
+    public boolean nextBoolean() {
+        advance();
+        return fieldEnd - fieldStart == 4
+                && Character.toLowerCase(text.charAt(fieldStart)) == 't'
+                && Character.toLowerCase(text.charAt(fieldStart + 1)) == 'r'
+                && Character.toLowerCase(text.charAt(fieldStart + 2)) == 'u'
+                && Character.toLowerCase(text.charAt(fieldStart + 3)) == 'e';
+    }
+
+    /** ISO 날짜(yyyy-MM-dd) 필드 (비어 있으면 null) */
+    public LocalDate nextDate() {
+        advance();
+        if (fieldStart == fieldEnd) return null;
+        if (fieldEnd - fieldStart == 10 && isDateAt(fieldStart)) {
+            return LocalDate.of(digits(fieldStart, 4), digits(fieldStart + 5, 2), digits(fieldStart + 8, 2));
+        }
+        return LocalDate.parse(field());
+    }
+
+    /** ISO 날짜시간(yyyy-MM-ddTHH:mm[:ss]) 필드 (비어 있으면 null, 그 밖의 형식은 LocalDateTime.parse) */
+    public LocalDateTime nextDateTime() {
+        advance();
+        if (fieldStart == fieldEnd) return null;
+        int length = fieldEnd - fieldStart;
+        int s = fieldStart;
+        if ((length == 16 || length == 19) && isDateAt(s) && text.charAt(s + 10) == 'T'
+                && isDigits(s + 11, 2) && text.charAt(s + 13) == ':' && isDigits(s + 14, 2)
+                && (length == 16 || (text.charAt(s + 16) == ':' && isDigits(s + 17, 2)))) {
+            int second = length == 19 ? digits(s + 17, 2) : 0;
+            return LocalDateTime.of(digits(s, 4), digits(s + 5, 2), digits(s + 8, 2),
+                    digits(s + 11, 2), digits(s + 14, 2), second);
+        }
+        return LocalDateTime.parse(field());
+    }
+
+    /** 현재 위치부터 줄 끝까지 (구분자 포함) 그대로 돌려줍니다. */
+    public String rest() {
+        if (!hasMoreFields()) throw new NoSuchElementException("남은 필드가 없습니다: " + line());
+        String rest = text.subSequence(pos, lineEnd).toString();
+        pos = lineEnd + 1;
+        return rest;
+    }
+
+    // ===== 내부 =====
+
+    private void advance() {
+        if (!hasMoreFields()) {
+            throw new NoSuchElementException("남은 필드가 없습니다: " + line());
+        }
+        int start = pos;
+        int end = start;
+        while (end < lineEnd && text.charAt(end) != SEPARATOR) end++;
+        pos = end + 1;
+
+        while (start < end && text.charAt(start) <= ' ') start++;
+        while (end > start && text.charAt(end - 1) <= ' ') end--;
+        fieldStart = start;
+        fieldEnd = end;
+    }
+
+    private String field() {
+        return text.subSequence(fieldStart, fieldEnd).toString();
+    }
+
+    private int parseInt(int start, int end) {
+        if (start == end) {
+            throw new NumberFormatException("빈 숫자 필드");
+        }
+        int i = start;
+        boolean negative = false;
+        char first = text.charAt(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            if (++i == end) throw new NumberFormatException("For input string: \"" + field() + "\"");
+        }
+        // Integer.parseInt 처럼 음수 쪽으로 누적해서 MIN_VALUE 까지 처리
+        int limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        int result = 0;
+        for (; i < end; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || result < limit / 10) {
+                throw new NumberFormatException("For input string: \"" + field() + "\"");
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw new NumberFormatException("For input string: \"" + field() + "\"");
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    private boolean isDateAt(int s) {
+        return isDigits(s, 4) && text.charAt(s + 4) == '-' && isDigits(s + 5, 2)
+                && text.charAt(s + 7) == '-' && isDigits(s + 8, 2);
+    }
+
+    private boolean isDigits(int start, int count) {
+        for (int i = start; i < start + count; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+        return true;
+    }
+
+    private int digits(int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+        }
+        return value;
+    }
+}
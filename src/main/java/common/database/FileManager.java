@@ -1,15 +1,27 @@
 package common.database;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
 import common.model.Assignment;
 import common.model.Exam;
@@ -20,6 +32,10 @@ import common.model.Subject;
 public class FileManager {
     private static final String DATA_DIR = "data/";
 
+    // 스냅샷 형식: 기본은 바이너리 열 스냅샷(*.bin), -Ddb.snapshot=text 면 예전처럼 텍스트 파일에 저장
+    // 텍스트 형식은 export/import 메서드로 계속 내보내고 가져올 수 있습니다
+    private static final boolean BINARY_SNAPSHOTS = !"text".equals(System.getProperty("db.snapshot", "binary"));
+
     public FileManager() {
         createDataDirectory();
     }
@@ -36,18 +52,45 @@ public class FileManager {
     }
 
     // === SUBJECT 저장/로드 ===
-    public void saveSubjects(List<Subject> subjects) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(DATA_DIR + "subjects.txt"))) {
-            for (Subject subject : subjects) {
-                writer.println(subjectToString(subject));
-            }
+    public boolean saveSubjects(List<Subject> subjects) {
+        if (BINARY_SNAPSHOTS) {
+            return saveSubjectPages(new EntityTable<>(Subject::getId, subjects).takeDelta());
+        }
+        return exportSubjects(subjects);
+    }
+
+    /** 바뀐 페이지만 바이너리 스냅샷에 저장 (텍스트 형식에서는 사용할 수 없음) */
+    public boolean saveSubjectPages(PageDelta<Subject> delta) {
+        return savePages(DataTable.SUBJECT, delta, this::subjectColumns, "과목");
+    }
+
+    /** 텍스트(파이프 구분) 형식으로 내보내기 */
+    public boolean exportSubjects(List<Subject> subjects) {
+        try {
+            writeLines("subjects.txt", subjects, this::subjectToString);
             System.out.println("💾 과목 데이터 저장 완료: " + subjects.size() + "개");
+            return true;
         } catch (IOException e) {
             System.err.println("❌ 과목 저장 실패: " + e.getMessage());
+            return false;
         }
     }
 
     public List<Subject> loadSubjects() {
+        return loadSubjectTable().toList();
+    }
+
+    /** 스냅샷의 행 위치를 그대로 복원한 테이블 (텍스트에서 읽었으면 모든 페이지가 변경 상태) */
+    public EntityTable<Subject> loadSubjectTable() {
+        if (useSnapshot(DataTable.SUBJECT)) {
+            EntityTable<Subject> loaded = loadPages(DataTable.SUBJECT, "과목", Subject::getId, this::decodeSubjects);
+            if (loaded != null) return loaded;
+        }
+        return new EntityTable<>(Subject::getId, importSubjects());
+    }
+
+    /** 텍스트(파이프 구분) 형식에서 가져오기 */
+    public List<Subject> importSubjects() {
         List<Subject> subjects = new ArrayList<>();
         File file = new File(DATA_DIR + "subjects.txt");
         if (!file.exists()) {
@@ -55,14 +98,11 @@ public class FileManager {
             return subjects;
         }
         
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
-                if (!line.isEmpty()) {
-                    Subject subject = stringToSubject(line);
-                    if (subject != null) subjects.add(subject);
-                }
+        try {
+            FieldTokenizer fields = new FieldTokenizer(readText(file));
+            while (fields.nextLine()) {
+                Subject subject = parseSubject(fields);
+                if (subject != null) subjects.add(subject);
             }
             System.out.println("📂 과목 데이터 로드 완료: " + subjects.size() + "개");
         } catch (IOException e) {
@@ -71,7 +111,7 @@ public class FileManager {
         return subjects;
     }
 
-    private String subjectToString(Subject subject) {
+    String subjectToString(Subject subject) {
         return subject.getId() + "|" +
                nullToEmpty(subject.getName()) + "|" +
                subject.getCredits() + "|" +
@@ -83,41 +123,71 @@ public class FileManager {
                nullToEmpty(subject.getEndTime());
     }
 
-    private Subject stringToSubject(String line) {
+    Subject stringToSubject(String line) {
+        return parseSubject(FieldTokenizer.ofLine(line));
+    }
+
+    private Subject parseSubject(FieldTokenizer fields) {
         try {
-            String[] parts = line.split("\\|", -1); // -1을 사용하여 빈 문자열도 포함
-            if (parts.length >= 9) {
+            if (fields.fieldCount() >= 9) {
                 Subject subject = new Subject();
-                subject.setId(Integer.parseInt(parts[0]));
-                subject.setName(emptyToNull(parts[1]));
-                subject.setCredits(Integer.parseInt(parts[2]));
-                subject.setProfessor(emptyToNull(parts[3]));
-                subject.setClassroom(emptyToNull(parts[4]));
-                subject.setCategory(emptyToNull(parts[5]));
-                subject.setDayOfWeek(emptyToNull(parts[6]));
-                subject.setStartTime(emptyToNull(parts[7]));
-                subject.setEndTime(emptyToNull(parts[8]));
+                subject.setId(fields.nextInt());
+                subject.setName(fields.nextString());
+                subject.setCredits(fields.nextInt());
+                subject.setProfessor(fields.nextString());
+                subject.setClassroom(fields.nextString());
+                subject.setCategory(fields.nextString());
+                subject.setDayOfWeek(fields.nextString());
+                subject.setStartTime(fields.nextString());
+                subject.setEndTime(fields.nextString());
                 return subject;
             }
         } catch (Exception e) {
-            System.err.println("⚠️ 과목 데이터 파싱 오류: " + line + " - " + e.getMessage());
+            System.err.println("⚠️ 과목 데이터 파싱 오류: " + fields.line() + " - " + e.getMessage());
         }
         return null;
     }
 
     // === ASSIGNMENT 저장/로드 ===
-    public void saveAssignments(List<Assignment> assignments) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(DATA_DIR + "assignments.txt"))) {
-            for (Assignment asg : assignments) {
-                writer.println(assignmentToString(asg));
-            }
+    public boolean saveAssignments(List<Assignment> assignments) {
+        if (BINARY_SNAPSHOTS) {
+            return saveAssignmentPages(new EntityTable<>(Assignment::getId, assignments).takeDelta());
+        }
+        return exportAssignments(assignments);
+    }
+
+    /** 바뀐 페이지만 바이너리 스냅샷에 저장 (텍스트 형식에서는 사용할 수 없음) */
+    public boolean saveAssignmentPages(PageDelta<Assignment> delta) {
+        return savePages(DataTable.ASSIGNMENT, delta, this::assignmentColumns, "과제");
+    }
+
+    /** 텍스트(파이프 구분) 형식으로 내보내기 */
+    public boolean exportAssignments(List<Assignment> assignments) {
+        try {
+            writeLines("assignments.txt", assignments, this::assignmentToString);
             System.out.println("💾 과제 데이터 저장 완료: " + assignments.size() + "개");
+            return true;
         } catch (IOException e) {
             System.err.println("❌ 과제 저장 실패: " + e.getMessage());
+            return false;
         }
     }
 
     public List<Assignment> loadAssignments() {
+        return loadAssignmentTable().toList();
+    }
+
+    /** 스냅샷의 행 위치를 그대로 복원한 테이블 (텍스트에서 읽었으면 모든 페이지가 변경 상태) */
+    public EntityTable<Assignment> loadAssignmentTable() {
+        if (useSnapshot(DataTable.ASSIGNMENT)) {
+            EntityTable<Assignment> loaded = loadPages(DataTable.ASSIGNMENT, "과제", Assignment::getId, this::decodeAssignments);
+            if (loaded != null) return loaded;
+        }
+        return new EntityTable<>(Assignment::getId, importAssignments());
+    }
+
+    /** 텍스트(파이프 구분) 형식에서 가져오기 */
+    public List<Assignment> importAssignments() {
         List<Assignment> assignments = new ArrayList<>();
         File file = new File(DATA_DIR + "assignments.txt");
         if (!file.exists()) {
@@ -125,14 +195,11 @@ public class FileManager {
             return assignments;
         }
         
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
-                if (!line.isEmpty()) {
-                    Assignment asg = stringToAssignment(line);
-                    if (asg != null) assignments.add(asg);
-                }
+        try {
+            FieldTokenizer fields = new FieldTokenizer(readText(file));
+            while (fields.nextLine()) {
+                Assignment asg = parseAssignment(fields);
+                if (asg != null) assignments.add(asg);
             }
             System.out.println("📂 과제 데이터 로드 완료: " + assignments.size() + "개");
         } catch (IOException e) {
@@ -141,7 +208,7 @@ public class FileManager {
         return assignments;
     }
 
-    private String assignmentToString(Assignment a) {
+    String assignmentToString(Assignment a) {
         return a.getId() + "|" +
                a.getSubjectId() + "|" +
                nullToEmpty(a.getTitle()) + "|" +
@@ -151,45 +218,73 @@ public class FileManager {
                nullToEmpty(a.getPriority());
     }
 
-    private Assignment stringToAssignment(String line) {
+    Assignment stringToAssignment(String line) {
+        return parseAssignment(FieldTokenizer.ofLine(line));
+    }
+
+    private Assignment parseAssignment(FieldTokenizer fields) {
         try {
-            String[] parts = line.split("\\|", -1);
-            if (parts.length >= 7) {
+            if (fields.fieldCount() >= 7) {
                 Assignment asg = new Assignment();
-                asg.setId(Integer.parseInt(parts[0]));
-                asg.setSubjectId(Integer.parseInt(parts[1]));
-                asg.setTitle(emptyToNull(parts[2]));
-                asg.setDescription(emptyToNull(parts[3]));
-                if (!parts[4].isEmpty()) {
-                    try {
-                        asg.setDueDate(LocalDate.parse(parts[4]));
-                    } catch (Exception e) {
-                        System.err.println("⚠️ 날짜 파싱 오류: " + parts[4]);
-                    }
+                asg.setId(fields.nextInt());
+                asg.setSubjectId(fields.nextInt());
+                asg.setTitle(fields.nextString());
+                asg.setDescription(fields.nextString());
+                try {
+                    asg.setDueDate(fields.nextDate());
+                } catch (Exception e) {
+                    System.err.println("⚠️ 날짜 파싱 오류: " + e.getMessage());
                 }
-                asg.setStatus(emptyToNull(parts[5]));
-                asg.setPriority(emptyToNull(parts[6]));
+                asg.setStatus(fields.nextString());
+                asg.setPriority(fields.nextString());
                 return asg;
             }
         } catch (Exception e) {
-            System.err.println("⚠️ 과제 데이터 파싱 오류: " + line + " - " + e.getMessage());
+            System.err.println("⚠️ 과제 데이터 파싱 오류: " + fields.line() + " - " + e.getMessage());
         }
         return null;
     }
 
     // === EXAM 저장/로드 ===
-    public void saveExams(List<Exam> exams) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(DATA_DIR + "exams.txt"))) {
-            for (Exam ex : exams) {
-                writer.println(examToString(ex));
-            }
+    public boolean saveExams(List<Exam> exams) {
+        if (BINARY_SNAPSHOTS) {
+            return saveExamPages(new EntityTable<>(Exam::getId, exams).takeDelta());
+        }
+        return exportExams(exams);
+    }
+
+    /** 바뀐 페이지만 바이너리 스냅샷에 저장 (텍스트 형식에서는 사용할 수 없음) */
+    public boolean saveExamPages(PageDelta<Exam> delta) {
+        return savePages(DataTable.EXAM, delta, this::examColumns, "시험");
+    }
+
+    /** 텍스트(파이프 구분) 형식으로 내보내기 */
+    public boolean exportExams(List<Exam> exams) {
+        try {
+            writeLines("exams.txt", exams, this::examToString);
             System.out.println("💾 시험 데이터 저장 완료: " + exams.size() + "개");
+            return true;
         } catch (IOException e) {
             System.err.println("❌ 시험 저장 실패: " + e.getMessage());
+            return false;
         }
     }
 
     public List<Exam> loadExams() {
+        return loadExamTable().toList();
+    }
+
+    /** 스냅샷의 행 위치를 그대로 복원한 테이블 (텍스트에서 읽었으면 모든 페이지가 변경 상태) */
+    public EntityTable<Exam> loadExamTable() {
+        if (useSnapshot(DataTable.EXAM)) {
+            EntityTable<Exam> loaded = loadPages(DataTable.EXAM, "시험", Exam::getId, this::decodeExams);
+            if (loaded != null) return loaded;
+        }
+        return new EntityTable<>(Exam::getId, importExams());
+    }
+
+    /** 텍스트(파이프 구분) 형식에서 가져오기 */
+    public List<Exam> importExams() {
         List<Exam> exams = new ArrayList<>();
         File file = new File(DATA_DIR + "exams.txt");
         if (!file.exists()) {
@@ -197,14 +292,11 @@ public class FileManager {
             return exams;
         }
         
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
-                if (!line.isEmpty()) {
-                    Exam ex = stringToExam(line);
-                    if (ex != null) exams.add(ex);
-                }
+        try {
+            FieldTokenizer fields = new FieldTokenizer(readText(file));
+            while (fields.nextLine()) {
+                Exam ex = parseExam(fields);
+                if (ex != null) exams.add(ex);
             }
             System.out.println("📂 시험 데이터 로드 완료: " + exams.size() + "개");
         } catch (IOException e) {
@@ -213,7 +305,7 @@ public class FileManager {
         return exams;
     }
 
-    private String examToString(Exam e) {
+    String examToString(Exam e) {
         return e.getId() + "|" +
                e.getSubjectId() + "|" +
                nullToEmpty(e.getTitle()) + "|" +
@@ -223,45 +315,73 @@ public class FileManager {
                nullToEmpty(e.getDescription());
     }
 
-    private Exam stringToExam(String line) {
+    Exam stringToExam(String line) {
+        return parseExam(FieldTokenizer.ofLine(line));
+    }
+
+    private Exam parseExam(FieldTokenizer fields) {
         try {
-            String[] parts = line.split("\\|", -1);
-            if (parts.length >= 7) {
+            if (fields.fieldCount() >= 7) {
                 Exam ex = new Exam();
-                ex.setId(Integer.parseInt(parts[0]));
-                ex.setSubjectId(Integer.parseInt(parts[1]));
-                ex.setTitle(emptyToNull(parts[2]));
-                ex.setType(emptyToNull(parts[3]));
-                if (!parts[4].isEmpty()) {
-                    try {
-                        ex.setExamDateTime(LocalDateTime.parse(parts[4]));
-                    } catch (Exception e) {
-                        System.err.println("⚠️ 날짜시간 파싱 오류: " + parts[4]);
-                    }
+                ex.setId(fields.nextInt());
+                ex.setSubjectId(fields.nextInt());
+                ex.setTitle(fields.nextString());
+                ex.setType(fields.nextString());
+                try {
+                    ex.setExamDateTime(fields.nextDateTime());
+                } catch (Exception e) {
+                    System.err.println("⚠️ 날짜시간 파싱 오류: " + e.getMessage());
                 }
-                ex.setLocation(emptyToNull(parts[5]));
-                ex.setDescription(emptyToNull(parts[6]));
+                ex.setLocation(fields.nextString());
+                ex.setDescription(fields.nextString());
                 return ex;
             }
         } catch (Exception e) {
-            System.err.println("⚠️ 시험 데이터 파싱 오류: " + line + " - " + e.getMessage());
+            System.err.println("⚠️ 시험 데이터 파싱 오류: " + fields.line() + " - " + e.getMessage());
         }
         return null;
     }
 
     // === GradeRecord 저장/로드 ===
-    public void saveGrades(List<GradeRecord> grades) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(DATA_DIR + "grades.txt"))) {
-            for (GradeRecord gr : grades) {
-                writer.println(gradeToString(gr));
-            }
+    public boolean saveGrades(List<GradeRecord> grades) {
+        if (BINARY_SNAPSHOTS) {
+            return saveGradePages(new EntityTable<>(GradeRecord::getId, grades).takeDelta());
+        }
+        return exportGrades(grades);
+    }
+
+    /** 바뀐 페이지만 바이너리 스냅샷에 저장 (텍스트 형식에서는 사용할 수 없음) */
+    public boolean saveGradePages(PageDelta<GradeRecord> delta) {
+        return savePages(DataTable.GRADE, delta, this::gradeColumns, "성적");
+    }
+
+    /** 텍스트(파이프 구분) 형식으로 내보내기 */
+    public boolean exportGrades(List<GradeRecord> grades) {
+        try {
+            writeLines("grades.txt", grades, this::gradeToString);
             System.out.println("💾 성적 데이터 저장 완료: " + grades.size() + "개");
+            return true;
         } catch (IOException e) {
             System.err.println("❌ 성적 저장 실패: " + e.getMessage());
+            return false;
         }
     }
 
     public List<GradeRecord> loadGrades() {
+        return loadGradeTable().toList();
+    }
+
+    /** 스냅샷의 행 위치를 그대로 복원한 테이블 (텍스트에서 읽었으면 모든 페이지가 변경 상태) */
+    public EntityTable<GradeRecord> loadGradeTable() {
+        if (useSnapshot(DataTable.GRADE)) {
+            EntityTable<GradeRecord> loaded = loadPages(DataTable.GRADE, "성적", GradeRecord::getId, this::decodeGrades);
+            if (loaded != null) return loaded;
+        }
+        return new EntityTable<>(GradeRecord::getId, importGrades());
+    }
+
+    /** 텍스트(파이프 구분) 형식에서 가져오기 */
+    public List<GradeRecord> importGrades() {
         List<GradeRecord> grades = new ArrayList<>();
         File file = new File(DATA_DIR + "grades.txt");
         if (!file.exists()) {
@@ -269,14 +389,11 @@ public class FileManager {
             return grades;
         }
         
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
-                if (!line.isEmpty()) {
-                    GradeRecord gr = stringToGrade(line);
-                    if (gr != null) grades.add(gr);
-                }
+        try {
+            FieldTokenizer fields = new FieldTokenizer(readText(file));
+            while (fields.nextLine()) {
+                GradeRecord gr = parseGrade(fields);
+                if (gr != null) grades.add(gr);
             }
             System.out.println("📂 성적 데이터 로드 완료: " + grades.size() + "개");
         } catch (IOException e) {
@@ -285,7 +402,7 @@ public class FileManager {
         return grades;
     }
 
-    private String gradeToString(GradeRecord grade) {
+    String gradeToString(GradeRecord grade) {
         return grade.getId() + "|" +
                grade.getSubjectId() + "|" +
                nullToEmpty(grade.getSemester()) + "|" +
@@ -294,25 +411,326 @@ public class FileManager {
                grade.getGradePoint();
     }
 
-    private GradeRecord stringToGrade(String line) {
+    GradeRecord stringToGrade(String line) {
+        return parseGrade(FieldTokenizer.ofLine(line));
+    }
+
+    private GradeRecord parseGrade(FieldTokenizer fields) {
         try {
-            String[] parts = line.split("\\|", -1);
-            if (parts.length >= 6) {
+            if (fields.fieldCount() >= 6) {
                 GradeRecord gr = new GradeRecord();
-                gr.setId(Integer.parseInt(parts[0]));
-                gr.setSubjectId(Integer.parseInt(parts[1]));
-                gr.setSemester(emptyToNull(parts[2]));
-                gr.setScore(Double.parseDouble(parts[3]));
-                gr.setLetterGrade(emptyToNull(parts[4]));
-                gr.setGradePoint(Double.parseDouble(parts[5]));
+                gr.setId(fields.nextInt());
+                gr.setSubjectId(fields.nextInt());
+                gr.setSemester(fields.nextString());
+                gr.setScore(fields.nextDouble());
+                gr.setLetterGrade(fields.nextString());
+                gr.setGradePoint(fields.nextDouble());
                 return gr;
             }
         } catch (Exception e) {
-            System.err.println("⚠️ 성적 데이터 파싱 오류: " + line + " - " + e.getMessage());
+            System.err.println("⚠️ 성적 데이터 파싱 오류: " + fields.line() + " - " + e.getMessage());
         }
         return null;
     }
 
+    // === 바이너리 열 스냅샷 (ColumnarSnapshot) ===
+    // 텍스트 파일보다 스냅샷이 같거나 새로우면 스냅샷을 읽고,
+    // 텍스트 파일을 직접 고쳤거나 새로 가져온 경우(더 새로운 경우)에는 텍스트를 읽습니다.
+    private boolean useSnapshot(DataTable table) {
+        if (!BINARY_SNAPSHOTS) return false;
+        File snapshot = new File(DATA_DIR + table.getSnapshotFileName());
+        File text = new File(DATA_DIR + table.getFileName());
+        return snapshot.exists() && (!text.exists() || snapshot.lastModified() >= text.lastModified());
+    }
+
+    @FunctionalInterface
+    private interface SnapshotEncoder<T> {
+        void encode(ColumnarSnapshot.Writer writer, List<T> rows);
+    }
+
+    @FunctionalInterface
+    private interface SnapshotDecoder<T> {
+        List<T> decode(ColumnarSnapshot.Reader reader) throws IOException;
+    }
+
+    /**
+     * 바뀐 페이지만 새 세대의 페이지 파일로 쓰고, 마지막에 목차를 원자적으로 교체합니다.
+     * 목차가 없거나 읽을 수 없으면 모든 페이지가 담긴 변경분만 저장할 수 있습니다.
+     */
+    private synchronized <T> boolean savePages(DataTable table, PageDelta<T> delta,
+                                               SnapshotEncoder<T> encoder, String label) {
+        if (!delta.hasChanges()) return true;
+        Path manifestPath = Paths.get(DATA_DIR + table.getSnapshotFileName());
+        try {
+            SnapshotManifest previous = SnapshotManifest.readIfPresent(manifestPath);
+            if (!delta.isFull() && (previous == null || previous.getPageSize() != delta.getPageSize())) {
+                throw new IOException("기존 스냅샷 목차가 없어 일부 페이지만 저장할 수 없습니다");
+            }
+            int generation = previous == null ? 1 : previous.getLastGeneration() + 1;
+            int[] generations = new int[delta.getPageCount()];
+            for (int page = 0; page < generations.length && previous != null; page++) {
+                generations[page] = previous.getGeneration(page);
+            }
+
+            int rowsWritten = 0;
+            for (Map.Entry<Integer, PageDelta.Page<T>> entry : delta.getChangedPages().entrySet()) {
+                int page = entry.getKey();
+                List<T> rows = entry.getValue().getRows();
+                if (rows.isEmpty()) {
+                    generations[page] = 0;
+                    continue;
+                }
+                ColumnarSnapshot.Writer writer = new ColumnarSnapshot.Writer(rows.size())
+                        .intColumn(entry.getValue().getOffsets());
+                encoder.encode(writer, rows);
+                DurableFiles.replace(Paths.get(DATA_DIR + table.getPageFileName(page, generation)), writer::writeTo);
+                generations[page] = generation;
+                rowsWritten += rows.size();
+            }
+
+            SnapshotManifest manifest = new SnapshotManifest(delta.getPageSize(), generation, generations);
+            DurableFiles.replace(manifestPath, manifest::writeTo);
+            if (previous != null) {
+                deleteReplacedPages(table, previous, manifest);
+            }
+            System.out.println("💾 " + label + " 스냅샷 저장 완료: 페이지 " + delta.getChangedPages().size()
+                    + "/" + delta.getPageCount() + "개 (" + rowsWritten + "행)");
+            return true;
+        } catch (IOException e) {
+            System.err.println("❌ " + label + " 스냅샷 저장 실패: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /** 새 목차가 더 이상 가리키지 않는 이전 세대 페이지 파일 정리 */
+    private void deleteReplacedPages(DataTable table, SnapshotManifest previous, SnapshotManifest current) {
+        for (int page = 0; page < previous.getPageCount(); page++) {
+            int old = previous.getGeneration(page);
+            if (old != 0 && current.getGeneration(page) != old) {
+                new File(DATA_DIR + table.getPageFileName(page, old)).delete();
+            }
+        }
+    }
+
+    /**
+     * 목차와 페이지 파일을 읽어 행을 원래 위치에 복원합니다. 손상되었으면 null (텍스트로 대체)
+     * 페이지로 나뉘기 전의 단일 스냅샷 파일도 읽을 수 있으며, 이 경우 다음 저장 때 전체를 다시 씁니다.
+     */
+    private <T> EntityTable<T> loadPages(DataTable table, String label, ToIntFunction<T> idOf,
+                                         SnapshotDecoder<T> decoder) {
+        Path manifestPath = Paths.get(DATA_DIR + table.getSnapshotFileName());
+        try {
+            if (ColumnarSnapshot.isSnapshotFile(manifestPath)) {
+                EntityTable<T> loaded = new EntityTable<>(idOf, decoder.decode(ColumnarSnapshot.open(manifestPath)));
+                System.out.println("📂 " + label + " 스냅샷 로드 완료: " + loaded.size() + "개");
+                return loaded;
+            }
+
+            SnapshotManifest manifest = SnapshotManifest.read(manifestPath);
+            EntityTable<T> loaded = new EntityTable<>(idOf);
+            for (int page = 0; page < manifest.getPageCount(); page++) {
+                int generation = manifest.getGeneration(page);
+                if (generation == 0) continue;
+                ColumnarSnapshot.Reader reader = ColumnarSnapshot.open(Paths.get(DATA_DIR + table.getPageFileName(page, generation)));
+                int[] offsets = reader.intColumn();
+                List<T> rows = decoder.decode(reader);
+                int base = page * manifest.getPageSize();
+                for (int i = 0; i < rows.size(); i++) {
+                    loaded.restore(base + offsets[i], rows.get(i));
+                }
+            }
+            if (manifest.getPageSize() == EntityTable.PAGE_SIZE) {
+                loaded.clearDirtyPages();
+            } else {
+                loaded.markAllPagesDirty();
+            }
+            System.out.println("📂 " + label + " 스냅샷 로드 완료: " + loaded.size() + "개");
+            return loaded;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("⚠️ " + label + " 스냅샷 로드 실패 - 텍스트 파일로 대체: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /** 백업 대상 스냅샷 파일 이름 (목차 + 현재 유효한 페이지 파일) */
+    public List<String> snapshotFileNames(DataTable table) {
+        List<String> names = new ArrayList<>();
+        names.add(table.getSnapshotFileName());
+        SnapshotManifest manifest = SnapshotManifest.readIfPresent(Paths.get(DATA_DIR + table.getSnapshotFileName()));
+        if (manifest != null) {
+            for (int page = 0; page < manifest.getPageCount(); page++) {
+                if (manifest.getGeneration(page) != 0) {
+                    names.add(table.getPageFileName(page, manifest.getGeneration(page)));
+                }
+            }
+        }
+        return names;
+    }
+
+    /** 바뀐 페이지만 저장하는 페이지 스냅샷을 쓰는지 (텍스트 모드면 false) */
+    public boolean usesPagedSnapshots() {
+        return BINARY_SNAPSHOTS;
+    }
+
+    private void subjectColumns(ColumnarSnapshot.Writer writer, List<Subject> subjects) {
+        int n = subjects.size();
+        int[] id = new int[n], credits = new int[n];
+        String[] name = new String[n], professor = new String[n], classroom = new String[n],
+                 category = new String[n], day = new String[n], start = new String[n], end = new String[n];
+        for (int i = 0; i < n; i++) {
+            Subject s = subjects.get(i);
+            id[i] = s.getId();
+            name[i] = s.getName();
+            credits[i] = s.getCredits();
+            professor[i] = s.getProfessor();
+            classroom[i] = s.getClassroom();
+            category[i] = s.getCategory();
+            day[i] = s.getDayOfWeek();
+            start[i] = s.getStartTime();
+            end[i] = s.getEndTime();
+        }
+        writer
+                .intColumn(id).stringColumn(name).intColumn(credits)
+                .stringColumn(professor).stringColumn(classroom).stringColumn(category)
+                .stringColumn(day).stringColumn(start).stringColumn(end);
+    }
+
+    private List<Subject> decodeSubjects(ColumnarSnapshot.Reader reader) throws IOException {
+        int[] id = reader.intColumn();
+        String[] name = reader.stringColumn();
+        int[] credits = reader.intColumn();
+        String[] professor = reader.stringColumn();
+        String[] classroom = reader.stringColumn();
+        String[] category = reader.stringColumn();
+        String[] day = reader.stringColumn();
+        String[] start = reader.stringColumn();
+        String[] end = reader.stringColumn();
+        List<Subject> subjects = new ArrayList<>(reader.rowCount());
+        for (int i = 0; i < reader.rowCount(); i++) {
+            Subject s = new Subject();
+            s.setId(id[i]);
+            s.setName(name[i]);
+            s.setCredits(credits[i]);
+            s.setProfessor(professor[i]);
+            s.setClassroom(classroom[i]);
+            s.setCategory(category[i]);
+            s.setDayOfWeek(day[i]);
+            s.setStartTime(start[i]);
+            s.setEndTime(end[i]);
+            subjects.add(s);
+        }
+        return subjects;
+    }
+
+    private void assignmentColumns(ColumnarSnapshot.Writer writer, List<Assignment> assignments) {
+        int n = assignments.size();
+        int[] id = new int[n], subjectId = new int[n], dueDate = new int[n];
+        String[] title = new String[n], description = new String[n], status = new String[n], priority = new String[n];
+        for (int i = 0; i < n; i++) {
+            Assignment a = assignments.get(i);
+            id[i] = a.getId();
+            subjectId[i] = a.getSubjectId();
+            title[i] = a.getTitle();
+            description[i] = a.getDescription();
+            dueDate[i] = a.getDueDate() != null ? (int) a.getDueDate().toEpochDay() : ColumnarSnapshot.NULL_DATE;
+            status[i] = a.getStatus();
+            priority[i] = a.getPriority();
+        }
+        writer
+                .intColumn(id).intColumn(subjectId).stringColumn(title).stringColumn(description)
+                .intColumn(dueDate).stringColumn(status).stringColumn(priority);
+    }
+
+    private List<Assignment> decodeAssignments(ColumnarSnapshot.Reader reader) throws IOException {
+        int[] id = reader.intColumn();
+        int[] subjectId = reader.intColumn();
+        String[] title = reader.stringColumn();
+        String[] description = reader.stringColumn();
+        int[] dueDate = reader.intColumn();
+        String[] status = reader.stringColumn();
+        String[] priority = reader.stringColumn();
+        List<Assignment> assignments = new ArrayList<>(reader.rowCount());
+        for (int i = 0; i < reader.rowCount(); i++) {
+            assignments.add(new Assignment(id[i], subjectId[i], title[i], description[i],
+                    dueDate[i] == ColumnarSnapshot.NULL_DATE ? null : LocalDate.ofEpochDay(dueDate[i]),
+                    status[i], priority[i]));
+        }
+        return assignments;
+    }
+
+    private void examColumns(ColumnarSnapshot.Writer writer, List<Exam> exams) {
+        int n = exams.size();
+        int[] id = new int[n], subjectId = new int[n], examDay = new int[n];
+        long[] examTime = new long[n];
+        String[] title = new String[n], type = new String[n], location = new String[n], description = new String[n];
+        for (int i = 0; i < n; i++) {
+            Exam e = exams.get(i);
+            id[i] = e.getId();
+            subjectId[i] = e.getSubjectId();
+            title[i] = e.getTitle();
+            type[i] = e.getType();
+            LocalDateTime dateTime = e.getExamDateTime();
+            examDay[i] = dateTime != null ? (int) dateTime.toLocalDate().toEpochDay() : ColumnarSnapshot.NULL_DATE;
+            examTime[i] = dateTime != null ? dateTime.toLocalTime().toNanoOfDay() : 0L;
+            location[i] = e.getLocation();
+            description[i] = e.getDescription();
+        }
+        writer
+                .intColumn(id).intColumn(subjectId).stringColumn(title).stringColumn(type)
+                .intColumn(examDay).longColumn(examTime).stringColumn(location).stringColumn(description);
+    }
+
+    private List<Exam> decodeExams(ColumnarSnapshot.Reader reader) throws IOException {
+        int[] id = reader.intColumn();
+        int[] subjectId = reader.intColumn();
+        String[] title = reader.stringColumn();
+        String[] type = reader.stringColumn();
+        int[] examDay = reader.intColumn();
+        long[] examTime = reader.longColumn();
+        String[] location = reader.stringColumn();
+        String[] description = reader.stringColumn();
+        List<Exam> exams = new ArrayList<>(reader.rowCount());
+        for (int i = 0; i < reader.rowCount(); i++) {
+            LocalDateTime dateTime = examDay[i] == ColumnarSnapshot.NULL_DATE ? null
+                    : LocalDateTime.of(LocalDate.ofEpochDay(examDay[i]), LocalTime.ofNanoOfDay(examTime[i]));
+            exams.add(new Exam(id[i], subjectId[i], title[i], type[i], dateTime, location[i], description[i]));
+        }
+        return exams;
+    }
+
+    private void gradeColumns(ColumnarSnapshot.Writer writer, List<GradeRecord> grades) {
+        int n = grades.size();
+        int[] id = new int[n], subjectId = new int[n];
+        double[] score = new double[n], gradePoint = new double[n];
+        String[] semester = new String[n], letterGrade = new String[n];
+        for (int i = 0; i < n; i++) {
+            GradeRecord g = grades.get(i);
+            id[i] = g.getId();
+            subjectId[i] = g.getSubjectId();
+            semester[i] = g.getSemester();
+            score[i] = g.getScore();
+            letterGrade[i] = g.getLetterGrade();
+            gradePoint[i] = g.getGradePoint();
+        }
+        writer
+                .intColumn(id).intColumn(subjectId).stringColumn(semester)
+                .doubleColumn(score).stringColumn(letterGrade).doubleColumn(gradePoint);
+    }
+
+    private List<GradeRecord> decodeGrades(ColumnarSnapshot.Reader reader) throws IOException {
+        int[] id = reader.intColumn();
+        int[] subjectId = reader.intColumn();
+        String[] semester = reader.stringColumn();
+        double[] score = reader.doubleColumn();
+        String[] letterGrade = reader.stringColumn();
+        double[] gradePoint = reader.doubleColumn();
+        List<GradeRecord> grades = new ArrayList<>(reader.rowCount());
+        for (int i = 0; i < reader.rowCount(); i++) {
+            grades.add(new GradeRecord(id[i], subjectId[i], semester[i], score[i], letterGrade[i], gradePoint[i]));
+        }
+        return grades;
+    }
+
     // === 사용자 Grade 저장/로드 (UI용 Grade 기반) ===
     private String userGradeToString(Grade grade) {
         return grade.getSubjectName() + "|" +
@@ -322,31 +740,30 @@ public class FileManager {
                grade.isMajor();
     }
 
-    private Grade stringToUserGrade(String line) {
+    private Grade parseUserGrade(FieldTokenizer fields) {
         try {
-            String[] parts = line.split("\\|", -1);
-            if (parts.length >= 5) {
-                String subj   = parts[0];
-                String let    = parts[1];
-                double gpa    = Double.parseDouble(parts[2]);
-                int credit    = Integer.parseInt(parts[3]);
-                boolean major = Boolean.parseBoolean(parts[4]);
-                return new Grade(subj, let, gpa, credit, major);
+            if (fields.fieldCount() >= 5) {
+                String subj   = fields.nextString();
+                String let    = fields.nextString();
+                double gpa    = fields.nextDouble();
+                int credit    = fields.nextInt();
+                boolean major = fields.nextBoolean();
+                return new Grade(nullToEmpty(subj), nullToEmpty(let), gpa, credit, major);
             }
         } catch (Exception e) {
-            System.err.println("⚠️ 사용자 성적 파싱 오류: " + line + " - " + e.getMessage());
+            System.err.println("⚠️ 사용자 성적 파싱 오류: " + fields.line() + " - " + e.getMessage());
         }
         return null;
     }
 
-    public void saveUserGrades(List<Grade> grades) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(DATA_DIR + "user_grades.txt"))) {
-            for (Grade g : grades) {
-                writer.println(userGradeToString(g));
-            }
+    public boolean saveUserGrades(List<Grade> grades) {
+        try {
+            writeLines("user_grades.txt", grades, this::userGradeToString);
             System.out.println("💾 사용자 성적 저장 완료: " + grades.size() + "개");
+            return true;
         } catch (IOException e) {
             System.err.println("❌ 사용자 성적 저장 실패: " + e.getMessage());
+            return false;
         }
     }
 
@@ -358,20 +775,52 @@ public class FileManager {
             return grades;
         }
         
+        try {
+            FieldTokenizer fields = new FieldTokenizer(readText(file));
+            while (fields.nextLine()) {
+                Grade g = parseUserGrade(fields);
+                if (g != null) grades.add(g);
+            }
+            System.out.println("📂 사용자 성적 로드 완료: " + grades.size() + "개");
+        } catch (IOException e) {
+            System.err.println("❌ 사용자 성적 로드 실패: " + e.getMessage());
+        }
+        return grades;
+    }
+
+    // === ID 시퀀스 저장/로드 ===
+    public boolean saveSequences(Map<DataTable, Integer> sequences) {
+        try {
+            writeLines("sequences.txt", sequences.entrySet(), entry -> entry.getKey().name() + "=" + entry.getValue());
+            return true;
+        } catch (IOException e) {
+            System.err.println("❌ ID 시퀀스 저장 실패: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public Map<DataTable, Integer> loadSequences() {
+        Map<DataTable, Integer> sequences = new EnumMap<>(DataTable.class);
+        File file = new File(DATA_DIR + "sequences.txt");
+        if (!file.exists()) {
+            return sequences;
+        }
+
         try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
             String line;
             while ((line = reader.readLine()) != null) {
-                line = line.trim();
-                if (!line.isEmpty()) {
-                    Grade g = stringToUserGrade(line);
-                    if (g != null) grades.add(g);
+                String[] parts = line.trim().split("=", 2);
+                if (parts.length < 2) continue;
+                try {
+                    sequences.put(DataTable.valueOf(parts[0]), Integer.parseInt(parts[1]));
+                } catch (IllegalArgumentException e) {
+                    System.err.println("⚠️ ID 시퀀스 파싱 오류: " + line);
                 }
             }
-            System.out.println("📂 사용자 성적 로드 완료: " + grades.size() + "개");
         } catch (IOException e) {
-            System.err.println("❌ 사용자 성적 로드 실패: " + e.getMessage());
+            System.err.println("❌ ID 시퀀스 로드 실패: " + e.getMessage());
         }
-        return grades;
+        return sequences;
     }
 
     // === 유틸리티 메서드 ===
@@ -379,8 +828,25 @@ public class FileManager {
         return str == null ? "" : str;
     }
 
-    private String emptyToNull(String str) {
-        return str == null || str.trim().isEmpty() ? null : str.trim();
+    /**
+     * 한 줄씩 변환해서 텍스트 파일을 원자적으로 교체합니다. (DurableFiles 참고)
+     * PrintWriter 와 달리 쓰기 오류를 삼키지 않고 IOException 으로 알립니다.
+     */
+    private <T> void writeLines(String fileName, Iterable<T> rows, Function<T, String> format) throws IOException {
+        DurableFiles.replace(Paths.get(DATA_DIR + fileName), temp -> {
+            try (BufferedWriter writer = new BufferedWriter(
+                    new OutputStreamWriter(Files.newOutputStream(temp), Charset.defaultCharset()))) {
+                for (T row : rows) {
+                    writer.write(format.apply(row));
+                    writer.newLine();
+                }
+            }
+        });
+    }
+
+    /** 텍스트 파일 전체를 한 번에 읽습니다. (FileReader 와 같은 기본 문자셋) */
+    private CharBuffer readText(File file) throws IOException {
+        return Charset.defaultCharset().decode(ByteBuffer.wrap(Files.readAllBytes(file.toPath())));
     }
 
     public boolean fileExists(String fileName) {
@@ -396,15 +862,12 @@ public class FileManager {
             File orig = new File(DATA_DIR + fileName);
             if (orig.exists()) {
                 String backup = "backup_" + System.currentTimeMillis() + "_" + fileName;
-                try (BufferedReader r = new BufferedReader(new FileReader(orig));
-                     PrintWriter w = new PrintWriter(new FileWriter(DATA_DIR + backup))) {
-                    String line;
-                    while ((line = r.readLine()) != null) w.println(line);
-                }
+                // 바이너리 스냅샷도 있으므로 줄 단위가 아니라 바이트 그대로 복사
+                Files.copy(orig.toPath(), Paths.get(DATA_DIR + backup), StandardCopyOption.COPY_ATTRIBUTES);
                 System.out.println("🔄 백업 생성: " + backup);
             }
         } catch (IOException e) {
             System.err.println("❌ 백업 실패: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+}
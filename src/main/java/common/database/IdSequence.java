@@ -0,0 +1,44 @@
+package common.database;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 테이블별 ID 발급기
+ *
+ * 마지막으로 발급한 ID만 기억하므로 새 ID 발급은 O(1)입니다.
+ * 값은 data/sequences.txt 에 저장되고, 로드 시 실제 데이터의 최대 ID와 비교해
+ * 더 큰 쪽부터 이어서 발급하므로 파일이 오래되어도 ID가 겹치지 않습니다.
+ */
+public class IdSequence {
+    private final AtomicInteger lastIssued;
+
+    public IdSequence(int lastIssued) {
+        this.lastIssued = new AtomicInteger(lastIssued);
+    }
+
+    /** 새 ID 1개 발급 */
+    public int next() {
+        return lastIssued.incrementAndGet();
+    }
+
+    /**
+     * 연속된 ID 구간을 한 번에 예약합니다.
+     * @return 예약된 구간의 첫 ID (구간: first ~ first + count - 1)
+     */
+    public int reserve(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("예약할 ID 개수는 1 이상이어야 합니다: " + count);
+        }
+        return lastIssued.getAndAdd(count) + 1;
+    }
+
+    /** 이미 사용 중인 ID보다 작은 값은 다시 발급하지 않도록 끌어올립니다. */
+    public void advanceTo(int usedId) {
+        lastIssued.accumulateAndGet(usedId, Math::max);
+    }
+
+    /** 마지막으로 발급한 ID */
+    public int current() {
+        return lastIssued.get();
+    }
+}
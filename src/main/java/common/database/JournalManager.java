@@ -0,0 +1,200 @@
+package common.database;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
+
+/**
+ * 변경 내역을 한 줄씩 덧붙여 기록하는 저널(write-ahead log)
+ *
+ * 과목/과제/시험/성적이 바뀔 때마다 data/*.txt 전체를 다시 쓰는 대신
+ * 변경 1건당 레코드 1줄만 journal.log 끝에 추가합니다.
+ * 레코드 형식: "PUT|SUBJECT|<과목 한 줄>" 또는 "DELETE|ASSIGNMENT|<id>"
+ *
+ * 압축(compaction) 시에는 현재 로그를 journal.log.compacting 으로 돌려놓고
+ * 스냅샷 파일을 새로 쓴 뒤 돌려놓은 로그를 지웁니다.
+ * 압축 도중 종료되더라도 두 로그를 순서대로 재생하면 최신 상태가 복구됩니다.
+ */
+public class JournalManager {
+    private static final String DATA_DIR = "data/";
+    private static final String JOURNAL_FILE = "journal.log";
+    private static final String COMPACTING_FILE = "journal.log.compacting";
+
+    public static final String OP_PUT = "PUT";
+    public static final String OP_DELETE = "DELETE";
+
+    /** 저널 레코드 재생 콜백 */
+    @FunctionalInterface
+    public interface RecordHandler {
+        void apply(String op, DataTable table, String payload);
+    }
+
+    private BufferedWriter writer;
+    private FileOutputStream output;   // fsync 용
+    private int recordCount;
+
+    public JournalManager() {
+        File dataDir = new File(DATA_DIR);
+        if (!dataDir.exists()) {
+            dataDir.mkdirs();
+        }
+    }
+
+    /**
+     * 레코드 1건을 로그 끝에 추가합니다.
+     * 버퍼에만 쓰고 바로 돌아오므로, 디스크 반영은 flush()가 묶어서 처리합니다.
+     */
+    public synchronized void append(String op, DataTable table, String payload) {
+        try {
+            if (writer == null) {
+                output = new FileOutputStream(DATA_DIR + JOURNAL_FILE, true);
+                writer = new BufferedWriter(new OutputStreamWriter(output, Charset.defaultCharset()));
+            }
+            writer.write(op + "|" + table.name() + "|" + payload);
+            writer.newLine();
+            recordCount++;
+        } catch (IOException e) {
+            System.err.println("❌ 저널 기록 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 버퍼에 쌓인 레코드를 파일에 쓰고 fsync 합니다. (그룹 커밋)
+     * write-behind 스레드가 묶음마다 한 번 호출하므로, 그 사이의 레코드들이 fsync 1회를 나눠 씁니다.
+     * @return 성공했거나 쓸 레코드가 없으면 true
+     */
+    public synchronized boolean flush() {
+        if (writer == null) return true;
+        try {
+            writer.flush();
+            if (DurableFiles.FSYNC_ENABLED) {
+                output.getChannel().force(false);
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("❌ 저널 기록 실패: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /** 마지막 압축 이후 기록된 레코드 수 */
+    public synchronized int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * 남아 있는 로그(압축 중이던 로그 → 현재 로그 순)를 재생합니다.
+     * 마지막 줄이 중간에 잘린 경우처럼 해석할 수 없는 레코드는 건너뜁니다.
+     * 실행 중 다시 불러올 때 버퍼에만 있던 레코드가 빠지지 않도록 먼저 파일에 씁니다. (append 와 같은 잠금 안)
+     * @return 재생한 레코드 수
+     */
+    public synchronized int replay(RecordHandler handler) {
+        flush();
+        int applied = replayFile(new File(DATA_DIR + COMPACTING_FILE), handler);
+        int current = replayFile(new File(DATA_DIR + JOURNAL_FILE), handler);
+        recordCount = current;
+        applied += current;
+        if (applied > 0) {
+            System.out.println("📜 저널 재생 완료: " + applied + "건");
+        }
+        return applied;
+    }
+
+    private int replayFile(File file, RecordHandler handler) {
+        if (!file.exists()) return 0;
+
+        int applied = 0;
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split("\\|", 3);
+                if (parts.length < 3) continue;
+                try {
+                    handler.apply(parts[0], DataTable.valueOf(parts[1]), parts[2]);
+                    applied++;
+                } catch (Exception e) {
+                    System.err.println("⚠️ 저널 레코드 무시: " + line + " - " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("❌ 저널 재생 실패: " + e.getMessage());
+        }
+        return applied;
+    }
+
+    /**
+     * 압축 시작: 현재 로그를 압축용 파일로 넘기고 새 로그를 시작합니다.
+     * 이전 압축이 끝나지 못해 압축용 파일이 남아 있으면 그 뒤에 이어 붙입니다.
+     */
+    public synchronized void beginCompaction() {
+        closeWriter();
+        File journal = new File(DATA_DIR + JOURNAL_FILE);
+        File compacting = new File(DATA_DIR + COMPACTING_FILE);
+        if (!journal.exists()) {
+            recordCount = 0;
+            return;
+        }
+
+        if (!compacting.exists()) {
+            if (!journal.renameTo(compacting)) {
+                System.err.println("❌ 저널 전환 실패: " + JOURNAL_FILE);
+                return;
+            }
+        } else {
+            try (BufferedReader r = new BufferedReader(new FileReader(journal));
+                 BufferedWriter w = new BufferedWriter(new FileWriter(compacting, true))) {
+                String line;
+                while ((line = r.readLine()) != null) {
+                    w.write(line);
+                    w.newLine();
+                }
+            } catch (IOException e) {
+                System.err.println("❌ 저널 전환 실패: " + e.getMessage());
+                return;
+            }
+            if (DurableFiles.FSYNC_ENABLED) {
+                try {
+                    DurableFiles.force(compacting.toPath());
+                } catch (IOException e) {
+                    System.err.println("❌ 저널 전환 실패: " + e.getMessage());
+                    return;
+                }
+            }
+            journal.delete();
+        }
+        recordCount = 0;
+    }
+
+    /**
+     * 압축 완료: 스냅샷 파일에 모두 반영된 압축용 로그를 삭제합니다.
+     */
+    public synchronized void finishCompaction() {
+        File compacting = new File(DATA_DIR + COMPACTING_FILE);
+        if (compacting.exists() && !compacting.delete()) {
+            System.err.println("❌ 압축된 저널 삭제 실패: " + COMPACTING_FILE);
+        }
+    }
+
+    public synchronized void close() {
+        closeWriter();
+    }
+
+    private void closeWriter() {
+        if (writer != null) {
+            flush();
+            try {
+                writer.close();
+            } catch (IOException e) {
+                System.err.println("❌ 저널 닫기 실패: " + e.getMessage());
+            }
+            writer = null;
+            output = null;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package common.database;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * EntityTable 에서 마지막 저장 이후 바뀐 페이지만 모은 변경분
+ *
+ * 페이지는 행 위치(slot) 기준으로 PAGE_SIZE 개씩 나눈 구간이며,
+ * 바뀐 페이지는 그 구간의 현재 행 전체와 각 행의 페이지 내 위치를 담습니다.
+ * FileManager 는 이 변경분으로 바이너리 스냅샷의 해당 페이지 파일만 다시 씁니다.
+ */
+public final class PageDelta<T> {
+    /** 페이지 하나의 현재 내용 */
+    public static final class Page<T> {
+        private final int[] offsets;
+        private final List<T> rows;
+
+        Page(int[] offsets, List<T> rows) {
+            this.offsets = offsets;
+            this.rows = rows;
+        }
+
+        /** 각 행의 페이지 내 위치 (0 ~ PAGE_SIZE-1) */
+        public int[] getOffsets() { return offsets; }
+        public List<T> getRows() { return rows; }
+    }
+
+    private final int pageSize;
+    private final int pageCount;
+    private final Map<Integer, Page<T>> changedPages;
+    private final boolean changed;
+
+    PageDelta(int pageSize, int pageCount, Map<Integer, Page<T>> changedPages, boolean changed) {
+        this.pageSize = pageSize;
+        this.pageCount = pageCount;
+        this.changedPages = changedPages;
+        this.changed = changed;
+    }
+
+    public int getPageSize() { return pageSize; }
+
+    /** 테이블의 현재 페이지 수 (이보다 뒤의 페이지는 삭제 대상) */
+    public int getPageCount() { return pageCount; }
+
+    /** 페이지 번호 → 바뀐 페이지 내용 (번호 순) */
+    public Map<Integer, Page<T>> getChangedPages() { return changedPages; }
+
+    /** 저장할 변경이 있는지 (행이 모두 삭제되어 페이지 수만 줄어든 경우 포함) */
+    public boolean hasChanges() { return changed; }
+
+    /** 모든 페이지를 담고 있어 기존 스냅샷 없이도 테이블 전체를 쓸 수 있는지 */
+    public boolean isFull() { return changedPages.size() == pageCount; }
+}
@@ -0,0 +1,211 @@
+package common.database;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * EntityTable에 붙는 정렬된 구간 인덱스 (long 키 → 행 목록, 키 순서 유지)
+ *
+ * 마감일(epoch day)이나 시험 시각(epoch second)처럼 크기 비교가 되는 값으로 행을 정렬해 두고,
+ * "키가 [from, to) 인 행"을 전체를 훑지 않고 O(log n + k) 로 꺼냅니다. (k: 결과 수)
+ * collect()로 앞에서부터 일정량씩 끊어 읽을 수도 있어서, 보이는 만큼만 읽는 커서를 만들 수 있습니다.
+ * 같은 키의 행은 EntityTable 버킷에 입력 순서대로 들어가므로 버킷 안의 추가/삭제는 O(1)입니다.
+ *
+ * SecondaryIndex와 마찬가지로 행마다 마지막으로 색인한 키를 기억해 두어,
+ * 화면에서 객체를 직접 고친 뒤 update를 호출해도 예전 자리를 찾아 옮깁니다.
+ */
+public class RangeIndex<T> extends TableIndex<T> {
+    private final Function<T, Long> keyOf;
+    private final ToIntFunction<T> idOf;
+    private final NavigableMap<Long, EntityTable<T>> buckets = new TreeMap<>();
+    private final EntityTable<IndexedKey> keysById = new EntityTable<>(entry -> entry.id);
+    private int size;
+
+    /** 행 ID와 그 행이 색인된 키 */
+    private static final class IndexedKey {
+        final int id;
+        final long key;
+
+        IndexedKey(int id, long key) {
+            this.id = id;
+            this.key = key;
+        }
+    }
+
+    /** 삭제 전 키와 버킷 안의 자리 (onRemoveForUndo → onRestore) */
+    private static final class Place<T> {
+        final long key;
+        final EntityTable.Removal<T> removal;
+
+        Place(long key, EntityTable.Removal<T> removal) {
+            this.key = key;
+            this.removal = removal;
+        }
+    }
+
+    RangeIndex(Function<T, Long> keyOf, ToIntFunction<T> idOf) {
+        this.keyOf = keyOf;
+        this.idOf = idOf;
+    }
+
+    /** 색인된 행 수 (키가 없는 행 제외) */
+    public int size() {
+        return size;
+    }
+
+    /** 키가 [fromInclusive, toExclusive) 인 행 목록 (키 순서, 새 리스트) */
+    public List<T> range(long fromInclusive, long toExclusive) {
+        List<T> result = new ArrayList<>();
+        for (T row : view(fromInclusive, toExclusive)) {
+            result.add(row);
+        }
+        return result;
+    }
+
+    /** 키가 [fromInclusive, toExclusive) 인 행 수 */
+    public int count(long fromInclusive, long toExclusive) {
+        if (fromInclusive >= toExclusive) return 0;
+        int count = 0;
+        for (EntityTable<T> bucket : buckets.subMap(fromInclusive, true, toExclusive, false).values()) {
+            count += bucket.size();
+        }
+        return count;
+    }
+
+    /** 키가 [fromInclusive, toExclusive) 인 행들을 복사 없이 키 순서로 순회 (변경 중 순회 금지) */
+    public Iterable<T> view(long fromInclusive, long toExclusive) {
+        if (fromInclusive >= toExclusive) return Collections.emptyList();
+        Iterable<EntityTable<T>> range = buckets.subMap(fromInclusive, true, toExclusive, false).values();
+        return () -> new Iterator<T>() {
+            private final Iterator<EntityTable<T>> bucketIterator = range.iterator();
+            private Iterator<T> rows = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!rows.hasNext() && bucketIterator.hasNext()) {
+                    rows = bucketIterator.next().iterator();
+                }
+                return rows.hasNext();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return rows.next();
+            }
+        };
+    }
+
+    /**
+     * [fromInclusive, toExclusive) 의 행을 앞에서부터 키 단위로 모아 limit 행 이상이 되면 멈춥니다. (키 순서)
+     * 같은 키의 행은 나누지 않으므로 결과가 limit 을 조금 넘을 수 있습니다.
+     * @return 이어서 읽을 시작 키 (끝까지 읽었으면 toExclusive)
+     */
+    public long collect(long fromInclusive, long toExclusive, int limit, List<T> out) {
+        if (fromInclusive >= toExclusive) return toExclusive;
+        int collected = 0;
+        for (Map.Entry<Long, EntityTable<T>> entry : buckets.subMap(fromInclusive, true, toExclusive, false).entrySet()) {
+            for (T row : entry.getValue()) {
+                out.add(row);
+                collected++;
+            }
+            if (collected >= limit) {
+                return entry.getKey() + 1;
+            }
+        }
+        return toExclusive;
+    }
+
+    /** 해당 ID의 행이 현재 색인되어 있는 키 (색인되지 않았으면 null) */
+    public Long indexedKeyOf(int id) {
+        IndexedKey indexed = keysById.get(id);
+        return indexed == null ? null : indexed.key;
+    }
+
+    // ===== EntityTable에서 호출하는 갱신 메서드 =====
+
+    @Override
+    void onPut(T row) {
+        int id = idOf.applyAsInt(row);
+        Long newKey = keyOf.apply(row);
+        IndexedKey indexed = keysById.get(id);
+        if (indexed != null && (newKey == null || indexed.key != newKey)) {
+            removeFrom(indexed.key, id);
+            keysById.remove(id);
+            indexed = null;
+        }
+        if (newKey == null) {
+            return;
+        }
+        EntityTable<T> bucket = buckets.computeIfAbsent(newKey, k -> new EntityTable<>(idOf));
+        if (bucket.put(row) == null) {
+            size++;
+        }
+        if (indexed == null) {
+            keysById.put(new IndexedKey(id, newKey));
+        }
+    }
+
+    @Override
+    void onRemove(T row) {
+        IndexedKey indexed = keysById.remove(idOf.applyAsInt(row));
+        if (indexed != null) {
+            removeFrom(indexed.key, indexed.id);
+        }
+    }
+
+    @Override
+    Object onRemoveForUndo(T row) {
+        IndexedKey indexed = keysById.remove(idOf.applyAsInt(row));
+        if (indexed == null) return null;
+        EntityTable<T> bucket = buckets.get(indexed.key);
+        if (bucket == null) return null;
+        EntityTable.Removal<T> removal = bucket.removeForUndo(indexed.id);
+        if (removal != null) {
+            size--;
+        }
+        if (bucket.isEmpty()) {
+            buckets.remove(indexed.key);
+        }
+        return removal == null ? null : new Place<>(indexed.key, removal);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    void onRestore(T row, Object place) {
+        if (place == null) {
+            onPut(row);
+            return;
+        }
+        Place<T> removed = (Place<T>) place;
+        buckets.computeIfAbsent(removed.key, k -> new EntityTable<>(idOf)).undoRemove(removed.removal);
+        keysById.put(new IndexedKey(idOf.applyAsInt(row), removed.key));
+        size++;
+    }
+
+    @Override
+    void clear() {
+        buckets.clear();
+        keysById.clear();
+        size = 0;
+    }
+
+    private void removeFrom(long key, int id) {
+        EntityTable<T> bucket = buckets.get(key);
+        if (bucket == null) return;
+        if (bucket.remove(id) != null) {
+            size--;
+        }
+        if (bucket.isEmpty()) {
+            buckets.remove(key);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package common.database;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * EntityTable에 붙는 보조 인덱스 (키 → 행 목록 멀티맵)
+ *
+ * 외래키(subjectId)나 상태/유형/학기 같은 값으로 행을 묶어 두고,
+ * 테이블이 추가/수정/삭제될 때마다 해당 행만 옮겨서 갱신합니다.
+ * 키별 버킷도 EntityTable이므로 버킷 안의 추가/삭제 역시 O(1)입니다.
+ *
+ * 화면에서 객체를 직접 고친 뒤 update를 호출하는 경우(같은 객체)에도
+ * 예전 버킷을 찾을 수 있도록, 행마다 마지막으로 색인한 키를 따로 기억합니다.
+ */
+public class SecondaryIndex<K, T> extends TableIndex<T> {
+    private final Function<T, K> keyOf;
+    private final ToIntFunction<T> idOf;
+    private final Map<K, EntityTable<T>> buckets = new HashMap<>();
+    private final EntityTable<IndexedKey<K>> keysById = new EntityTable<>(entry -> entry.id);
+
+    /** 행 ID와 그 행이 색인된 키 */
+    private static final class IndexedKey<K> {
+        final int id;
+        final K key;
+
+        IndexedKey(int id, K key) {
+            this.id = id;
+            this.key = key;
+        }
+    }
+
+    /** 삭제 전 키와 버킷 안의 자리 (onRemoveForUndo → onRestore) */
+    private static final class Place<K, T> {
+        final K key;
+        final EntityTable.Removal<T> removal;
+
+        Place(K key, EntityTable.Removal<T> removal) {
+            this.key = key;
+            this.removal = removal;
+        }
+    }
+
+    SecondaryIndex(Function<T, K> keyOf, ToIntFunction<T> idOf) {
+        this.keyOf = keyOf;
+        this.idOf = idOf;
+    }
+
+    /** 키에 해당하는 행 목록 (입력 순서, 새 리스트) */
+    public List<T> get(K key) {
+        EntityTable<T> bucket = buckets.get(key);
+        return bucket == null ? new ArrayList<>() : bucket.toList();
+    }
+
+    /** 키에 해당하는 행 수 */
+    public int count(K key) {
+        EntityTable<T> bucket = buckets.get(key);
+        return bucket == null ? 0 : bucket.size();
+    }
+
+    /** 키에 해당하는 행들을 복사 없이 순회 (변경 중 순회 금지) */
+    public Iterable<T> view(K key) {
+        EntityTable<T> bucket = buckets.get(key);
+        return bucket == null ? Collections.emptyList() : bucket;
+    }
+
+    /** 해당 ID의 행이 현재 색인되어 있는 키 (색인되지 않았으면 null) */
+    public K indexedKeyOf(int id) {
+        IndexedKey<K> indexed = keysById.get(id);
+        return indexed == null ? null : indexed.key;
+    }
+
+    // ===== EntityTable에서 호출하는 갱신 메서드 =====
+
+    @Override
+    void onPut(T row) {
+        int id = idOf.applyAsInt(row);
+        K newKey = keyOf.apply(row);
+        IndexedKey<K> indexed = keysById.get(id);
+        if (indexed != null && !Objects.equals(indexed.key, newKey)) {
+            removeFrom(indexed.key, id);
+        }
+        buckets.computeIfAbsent(newKey, k -> new EntityTable<>(idOf)).put(row);
+        if (indexed == null || !Objects.equals(indexed.key, newKey)) {
+            keysById.put(new IndexedKey<>(id, newKey));
+        }
+    }
+
+    @Override
+    void onRemove(T row) {
+        IndexedKey<K> indexed = keysById.remove(idOf.applyAsInt(row));
+        if (indexed != null) {
+            removeFrom(indexed.key, indexed.id);
+        }
+    }
+
+    @Override
+    Object onRemoveForUndo(T row) {
+        IndexedKey<K> indexed = keysById.remove(idOf.applyAsInt(row));
+        if (indexed == null) return null;
+        EntityTable<T> bucket = buckets.get(indexed.key);
+        if (bucket == null) return null;
+        EntityTable.Removal<T> removal = bucket.removeForUndo(indexed.id);
+        if (bucket.isEmpty()) {
+            buckets.remove(indexed.key);
+        }
+        return removal == null ? null : new Place<>(indexed.key, removal);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    void onRestore(T row, Object place) {
+        if (place == null) {
+            onPut(row);
+            return;
+        }
+        Place<K, T> removed = (Place<K, T>) place;
+        buckets.computeIfAbsent(removed.key, k -> new EntityTable<>(idOf)).undoRemove(removed.removal);
+        keysById.put(new IndexedKey<>(idOf.applyAsInt(row), removed.key));
+    }
+
+    @Override
+    void clear() {
+        buckets.clear();
+        keysById.clear();
+    }
+
+    private void removeFrom(K key, int id) {
+        EntityTable<T> bucket = buckets.get(key);
+        if (bucket == null) return;
+        bucket.remove(id);
+        if (bucket.isEmpty()) {
+            buckets.remove(key);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package common.database;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 페이지로 나뉜 바이너리 스냅샷의 목차 파일 (예: data/subjects.bin)
+ *
+ * 페이지마다 현재 유효한 페이지 파일의 세대(generation) 번호를 기록합니다.
+ * 바뀐 페이지는 새 세대 번호의 파일로 따로 쓰고, 마지막에 목차를 원자적으로 교체하므로
+ * 목차가 바뀌기 전에 중단되면 이전 목차와 이전 페이지 파일들이 그대로 유효합니다.
+ * 세대 번호 0 은 행이 없는 빈 페이지(파일 없음)를 뜻합니다.
+ *
+ * 파일 구조 (big-endian): MAGIC, VERSION, 페이지 크기, 마지막 세대, 페이지 수, 페이지별 세대
+ */
+public final class SnapshotManifest {
+    private static final int MAGIC = 0x43534D46; // "CSMF"
+    private static final int VERSION = 1;
+
+    private final int pageSize;
+    private final int lastGeneration;
+    private final int[] generations;
+
+    public SnapshotManifest(int pageSize, int lastGeneration, int[] generations) {
+        this.pageSize = pageSize;
+        this.lastGeneration = lastGeneration;
+        this.generations = generations;
+    }
+
+    public int getPageSize() { return pageSize; }
+    public int getLastGeneration() { return lastGeneration; }
+    public int getPageCount() { return generations.length; }
+
+    /** 페이지의 현재 세대 번호 (0 이면 빈 페이지) */
+    public int getGeneration(int page) {
+        return page < generations.length ? generations[page] : 0;
+    }
+
+    public void writeTo(Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(pageSize);
+            out.writeInt(lastGeneration);
+            out.writeInt(generations.length);
+            for (int generation : generations) {
+                out.writeInt(generation);
+            }
+        }
+    }
+
+    /** 목차 파일을 읽습니다. 목차 형식이 아니면 IOException */
+    public static SnapshotManifest read(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("스냅샷 목차 파일이 아닙니다: " + path.getFileName());
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("지원하지 않는 목차 버전: " + version);
+            }
+            int pageSize = in.readInt();
+            int lastGeneration = in.readInt();
+            int[] generations = new int[in.readInt()];
+            for (int i = 0; i < generations.length; i++) {
+                generations[i] = in.readInt();
+            }
+            return new SnapshotManifest(pageSize, lastGeneration, generations);
+        }
+    }
+
+    /** 목차 파일이 있고 읽을 수 있으면 목차, 아니면 null */
+    public static SnapshotManifest readIfPresent(Path path) {
+        if (!Files.exists(path)) return null;
+        try {
+            return read(path);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
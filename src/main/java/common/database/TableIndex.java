@@ -0,0 +1,31 @@
+package common.database;
+
+/**
+ * EntityTable에 붙어서 행 변경을 따라가는 인덱스의 공통 부모
+ * (키 → 행 목록 멀티맵인 SecondaryIndex, 정렬된 구간 조회용 RangeIndex)
+ */
+abstract class TableIndex<T> {
+
+    /** 행이 추가되거나 같은 ID의 행으로 교체됨 */
+    abstract void onPut(T row);
+
+    /** 행이 삭제됨 */
+    abstract void onRemove(T row);
+
+    /**
+     * 행이 삭제됨 (트랜잭션 되돌리기용)
+     * @return onRestore()에 넘길 삭제 전 자리 (기본은 자리를 기억하지 않음)
+     */
+    Object onRemoveForUndo(T row) {
+        onRemove(row);
+        return null;
+    }
+
+    /** onRemoveForUndo()로 삭제된 행이 되돌려짐 */
+    void onRestore(T row, Object place) {
+        onPut(row);
+    }
+
+    /** 테이블이 비워짐 */
+    abstract void clear();
+}
@@ -0,0 +1,108 @@
+package common.database;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * 테이블 한 시점의 읽기 전용 스냅샷 (EntityTable.snapshot()으로 생성)
+ *
+ * 행을 페이지 단위 배열로 들고 있으며, 바뀌지 않은 페이지 배열은 이전 버전 스냅샷과 공유합니다.
+ * 한 번 만들어진 뒤에는 절대 바뀌지 않으므로 잠금 없이 여러 스레드에서 읽을 수 있고,
+ * 버전 번호가 같으면 내용도 같으므로 화면은 버전만 비교해서 불필요한 새로고침을 건너뛸 수 있습니다.
+ */
+public final class TableSnapshot<T> extends AbstractList<T> implements RandomAccess {
+    private static final TableSnapshot<?> EMPTY = new TableSnapshot<>(0, new Object[0][]);
+
+    private final long version;
+    private final Object[][] pages;   // 페이지별 행 (빈 칸 없음), 다른 버전과 공유될 수 있으므로 수정 금지
+    private final int[] ends;         // ends[p] = 0 ~ p 페이지의 누적 행 수
+
+    TableSnapshot(long version, Object[][] pages) {
+        this.version = version;
+        this.pages = pages;
+        this.ends = new int[pages.length];
+        int total = 0;
+        for (int page = 0; page < pages.length; page++) {
+            total += pages[page].length;
+            ends[page] = total;
+        }
+    }
+
+    /** 행이 없는 버전 0 스냅샷 */
+    @SuppressWarnings("unchecked")
+    public static <T> TableSnapshot<T> empty() {
+        return (TableSnapshot<T>) EMPTY;
+    }
+
+    /** 테이블이 바뀔 때마다 1씩 커지는 버전 번호 */
+    public long getVersion() {
+        return version;
+    }
+
+    int pageCount() {
+        return pages.length;
+    }
+
+    Object[] page(int page) {
+        return pages[page];
+    }
+
+    @Override
+    public int size() {
+        return ends.length == 0 ? 0 : ends[ends.length - 1];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        Objects.checkIndex(index, size());
+        // ends[page] > index 인 첫 페이지 (빈 페이지는 누적 값이 같으므로 건너뜀)
+        int low = 0;
+        int high = ends.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ends[mid] > index) high = mid;
+            else low = mid + 1;
+        }
+        int start = low == 0 ? 0 : ends[low - 1];
+        return (T) pages[low][index - start];
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int page;
+            private int offset;
+
+            @Override
+            public boolean hasNext() {
+                while (page < pages.length && offset >= pages[page].length) {
+                    page++;
+                    offset = 0;
+                }
+                return page < pages.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return (T) pages[page][offset++];
+            }
+        };
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        for (Object[] page : pages) {
+            for (Object row : page) {
+                action.accept((T) row);
+            }
+        }
+    }
+}
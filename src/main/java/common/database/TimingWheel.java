@@ -0,0 +1,185 @@
+package common.database;
+
+import java.util.function.Consumer;
+
+/**
+ * 계층형 타이밍 휠 (hierarchical timing wheel)
+ *
+ * 만료 시각을 틱(tick) 단위로 바꿔 64칸짜리 바퀴 4단에 나눠 담습니다.
+ * 0단은 한 칸이 1틱, 1단은 64틱, 2단은 64²틱, 3단은 64³틱이고,
+ * 상위 단의 칸은 시계가 그 구간에 들어설 때 아래 단으로 다시 나눠 담깁니다. (cascade)
+ * 등록/취소는 O(1), 시계를 한 틱 진행하는 비용은 그 틱에 만료되는 항목 수에 비례하므로
+ * 항목이 아무리 많아도 매번 전체를 훑는 폴링이 필요 없습니다.
+ *
+ * 기본 틱 1분이면 64⁴분(약 31년)까지 담고, 그보다 먼 항목은 맨 위 단에 두었다가 다시 나눕니다.
+ * 스레드 안전하지 않으므로 소유자가 동기화해서 사용합니다.
+ */
+final class TimingWheel<E> {
+    private static final int LEVELS = 4;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final long MAX_DELTA = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    /** 등록된 항목 (취소용 핸들) */
+    static final class Timeout<E> {
+        final E item;
+        final long deadlineMillis;
+        private final long expiryTick;
+        private Timeout<E> prev;
+        private Timeout<E> next;
+        private TimingWheel<E> owner;
+
+        private Timeout(E item, long deadlineMillis, long expiryTick) {
+            this.item = item;
+            this.deadlineMillis = deadlineMillis;
+            this.expiryTick = expiryTick;
+        }
+
+        boolean isPending() {
+            return owner != null;
+        }
+    }
+
+    private final long tickMillis;
+    private final Timeout<E>[][] wheels;
+    // 등록 시점에 이미 만료된 항목 (다음 advance 에서 바로 만료)
+    private final Timeout<E> overdue;
+    private long currentTick;
+    private int size;
+
+    TimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) throw new IllegalArgumentException("틱 간격은 0보다 커야 합니다: " + tickMillis);
+        this.tickMillis = tickMillis;
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+        this.wheels = newLevels();
+        for (Timeout<E>[] level : wheels) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                level[slot] = newSentinel();
+            }
+        }
+        this.overdue = newSentinel();
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** deadlineMillis 가 지나면 만료되도록 등록 (이미 지난 시각이면 다음 advance 에서 만료) */
+    Timeout<E> schedule(E item, long deadlineMillis) {
+        // 틱 경계를 넘어야 만료되도록 올림 (틱 중간의 시각이 일찍 만료되지 않게)
+        long expiryTick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+        Timeout<E> timeout = new Timeout<>(item, deadlineMillis, expiryTick);
+        if (expiryTick <= currentTick) {
+            link(overdue, timeout);
+        } else {
+            place(timeout);
+        }
+        size++;
+        return timeout;
+    }
+
+    /** @return 아직 만료되지 않은 항목이었으면 true */
+    boolean cancel(Timeout<E> timeout) {
+        if (timeout == null || timeout.owner != this) return false;
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    void clear() {
+        for (Timeout<E>[] level : wheels) {
+            for (Timeout<E> sentinel : level) {
+                drain(sentinel, null);
+            }
+        }
+        drain(overdue, null);
+        size = 0;
+    }
+
+    /** 시계를 nowMillis 까지 진행하고 만료된 항목을 시각 순서대로 넘깁니다. */
+    void advance(long nowMillis, Consumer<E> expired) {
+        size -= drain(overdue, expired);
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        if (size == 0) {
+            currentTick = Math.max(currentTick, targetTick);   // 빈 바퀴는 돌릴 필요 없음
+            return;
+        }
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade(1);
+            size -= drain(wheels[0][(int) (currentTick & SLOT_MASK)], expired);
+        }
+    }
+
+    // ===== 내부 =====
+
+    /** 현재 틱이 level 단의 칸 경계이면 그 칸을 아래 단으로 다시 나눕니다. (위 단부터) */
+    private void cascade(int level) {
+        if (level >= LEVELS || (currentTick & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+            return;
+        }
+        cascade(level + 1);
+        Timeout<E> sentinel = wheels[level][(int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK)];
+        Timeout<E> timeout = sentinel.next;
+        while (timeout != sentinel) {
+            Timeout<E> next = timeout.next;
+            unlink(timeout);
+            place(timeout);
+            timeout = next;
+        }
+    }
+
+    /** 남은 틱 수에 맞는 단/칸에 넣습니다. (expiryTick >= currentTick) */
+    private void place(Timeout<E> timeout) {
+        long delta = Math.min(timeout.expiryTick - currentTick, MAX_DELTA);
+        long tick = currentTick + delta;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        link(wheels[level][(int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK)], timeout);
+    }
+
+    private int drain(Timeout<E> sentinel, Consumer<E> expired) {
+        int count = 0;
+        Timeout<E> timeout = sentinel.next;
+        while (timeout != sentinel) {
+            Timeout<E> next = timeout.next;
+            unlink(timeout);
+            if (expired != null) expired.accept(timeout.item);
+            count++;
+            timeout = next;
+        }
+        return count;
+    }
+
+    /** 칸마다 센티널을 담을 배열 (제네릭 배열은 직접 만들 수 없어 여기서만 형변환) */
+    @SuppressWarnings("unchecked")
+    private static <E> Timeout<E>[][] newLevels() {
+        return (Timeout<E>[][]) new Timeout<?>[LEVELS][SLOTS];
+    }
+
+    private Timeout<E> newSentinel() {
+        Timeout<E> sentinel = new Timeout<>(null, 0, 0);
+        sentinel.prev = sentinel;
+        sentinel.next = sentinel;
+        return sentinel;
+    }
+
+    private void link(Timeout<E> sentinel, Timeout<E> timeout) {
+        timeout.owner = this;
+        timeout.prev = sentinel.prev;
+        timeout.next = sentinel;
+        sentinel.prev.next = timeout;
+        sentinel.prev = timeout;
+    }
+
+    private void unlink(Timeout<E> timeout) {
+        timeout.prev.next = timeout.next;
+        timeout.next.prev = timeout.prev;
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.owner = null;
+    }
+}
@@ -0,0 +1,162 @@
+package common.database;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 변경된 테이블을 모아 두었다가 백그라운드 스레드에서 한 번에 저장하는 write-behind 저장기
+ *
+ * 추가/수정/삭제는 markDirty()로 테이블에 표시만 하고 바로 돌아옵니다.
+ * 첫 표시 후 잠깐(coalesce delay) 기다렸다가 그 사이 쌓인 변경을 테이블당 1번의 저장으로 처리하므로,
+ * 버튼 핸들러(JavaFX Application Thread)가 디스크 쓰기를 기다리지 않습니다.
+ *
+ * 저장에 실패한 테이블은 다시 표시해 두고 잠시 뒤 재시도합니다.
+ * 종료 시에는 close()로 남은 변경을 모두 저장한 뒤 스레드를 정리합니다.
+ */
+public class WriteBehindWriter {
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    /** 표시된 테이블들을 실제로 저장하는 콜백 (성공 시 true) */
+    @FunctionalInterface
+    public interface Flusher {
+        boolean flush(Set<DataTable> tables);
+    }
+
+    private final Flusher flusher;
+    private final long coalesceDelayMillis;
+    private final ScheduledExecutorService executor;
+
+    // 아래 필드는 모두 this 로 보호
+    private final Set<DataTable> dirty = EnumSet.noneOf(DataTable.class);
+    private long markedGeneration;      // markDirty 호출마다 증가
+    private long flushedGeneration;     // 마지막 저장이 반영한 세대
+    private boolean lastFlushSucceeded = true;
+    private boolean scheduled;
+    private boolean closed;
+
+    public WriteBehindWriter(Flusher flusher, long coalesceDelayMillis) {
+        this.flusher = flusher;
+        this.coalesceDelayMillis = coalesceDelayMillis;
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "db-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 테이블에 저장할 변경이 있다고 표시합니다. (즉시 반환)
+     */
+    public synchronized void markDirty(DataTable table) {
+        dirty.add(table);
+        markedGeneration++;
+        if (!scheduled && !closed) {
+            scheduled = true;
+            executor.schedule(this::runFlush, coalesceDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 기다리지 않고 남은 변경을 지금 바로 저장하도록 요청합니다.
+     */
+    public synchronized void flush() {
+        if (!dirty.isEmpty() && !closed) {
+            scheduled = true;
+            executor.execute(this::runFlush);
+        }
+    }
+
+    /**
+     * 이 호출 전까지 표시된 변경이 모두 저장될 때까지 기다립니다.
+     * close() 이후에는 저장 스레드가 없으므로 호출한 스레드에서 직접 저장합니다.
+     * @return 저장에 성공했으면 true (실패했거나 기다리는 중 인터럽트되면 false)
+     */
+    public boolean awaitDurable() {
+        long target;
+        boolean flushHere;
+        synchronized (this) {
+            target = markedGeneration;
+            if (flushedGeneration >= target) {
+                return lastFlushSucceeded;
+            }
+            flushHere = closed;
+            if (!flushHere) {
+                flush();
+            }
+        }
+        if (flushHere) {
+            runFlush();   // 저장 콜백은 테이블 잠금을 잡으므로 이 객체의 잠금 밖에서 호출
+        }
+        synchronized (this) {
+            while (flushedGeneration < target) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return lastFlushSucceeded;
+        }
+    }
+
+    /** 저장되지 않은 변경이 남아 있는지 */
+    public synchronized boolean hasPendingChanges() {
+        return !dirty.isEmpty();
+    }
+
+    /**
+     * 남은 변경을 모두 저장하고 저장 스레드를 종료합니다.
+     * @return 마지막 저장에 성공했으면 true
+     */
+    public boolean close() {
+        boolean durable = awaitDurable();
+        synchronized (this) {
+            closed = true;
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return durable;
+    }
+
+    private void runFlush() {
+        Set<DataTable> tables;
+        long generation;
+        synchronized (this) {
+            scheduled = false;
+            if (dirty.isEmpty()) return;
+            tables = EnumSet.copyOf(dirty);
+            dirty.clear();
+            generation = markedGeneration;
+        }
+
+        boolean saved;
+        try {
+            saved = flusher.flush(tables);
+        } catch (RuntimeException e) {
+            System.err.println("❌ 백그라운드 저장 중 오류: " + e.getMessage());
+            saved = false;
+        }
+
+        synchronized (this) {
+            flushedGeneration = Math.max(flushedGeneration, generation);
+            lastFlushSucceeded = saved;
+            if (!saved) {
+                // 다음 재시도 때 함께 저장되도록 다시 표시
+                dirty.addAll(tables);
+                if (!scheduled && !closed) {
+                    scheduled = true;
+                    executor.schedule(this::runFlush, RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+                }
+            }
+            notifyAll();
+        }
+    }
+}
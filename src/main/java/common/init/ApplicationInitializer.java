@@ -4,8 +4,10 @@ package common.init;
 import java.io.File;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 import common.database.DatabaseManager;
+import timetable.ConflictDetector;
 
 /**
  * 애플리케이션 초기화를 담당하는 클래스
@@ -32,6 +34,7 @@ public class ApplicationInitializer {
         createDirectories();
         checkFirstRun();
         validateData();
+        registerDeadlineReminders();
         
         System.out.println("✅ UniScheduler 초기화 완료!");
         System.out.println("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
@@ -185,42 +188,40 @@ public class ApplicationInitializer {
     }
     
     /**
-     * 시간표 충돌 검사
+     * 시간표 충돌 검사 (요일별 스윕 라인 한 번으로 모든 충돌 쌍을 찾음)
      */
     private void checkTimetableConflicts() {
-        var subjects = dbManager.getAllSubjects();
-        int conflicts = 0;
+        List<ConflictDetector.Conflict> conflicts = ConflictDetector.findAllConflicts(dbManager.getAllSubjects());
         
-        for (int i = 0; i < subjects.size(); i++) {
-            for (int j = i + 1; j < subjects.size(); j++) {
-                var subject1 = subjects.get(i);
-                var subject2 = subjects.get(j);
-                
-                if (hasTimeConflict(subject1, subject2)) {
-                    System.out.println("⚠️ 시간표 충돌: " + subject1.getName() + " ↔ " + subject2.getName());
-                    conflicts++;
-                }
-            }
+        for (ConflictDetector.Conflict conflict : conflicts) {
+            System.out.println("⚠️ 시간표 충돌: " + conflict);
         }
         
-        if (conflicts == 0) {
+        if (conflicts.isEmpty()) {
             System.out.println("✅ 시간표 충돌 없음");
         } else {
-            System.out.println("⚠️ 총 " + conflicts + "개의 시간표 충돌 발견");
+            System.out.println("⚠️ 총 " + conflicts.size() + "개의 시간표 충돌 발견");
         }
     }
     
     /**
-     * 두 과목의 시간 충돌 검사
+     * 마감 알림 등록 (과제 마감 2일 전/마감 지남, 시험 24시간 전이 되는 순간 출력)
      */
-    private boolean hasTimeConflict(common.model.Subject s1, common.model.Subject s2) {
-        if (s1.getDayOfWeek() == null || s2.getDayOfWeek() == null) return false;
-        if (!s1.getDayOfWeek().equals(s2.getDayOfWeek())) return false;
-        if (s1.getStartTime() == null || s1.getEndTime() == null ||
-            s2.getStartTime() == null || s2.getEndTime() == null) return false;
-        
-        return s1.getStartTime().compareTo(s2.getEndTime()) < 0 && 
-               s2.getStartTime().compareTo(s1.getEndTime()) < 0;
+    private void registerDeadlineReminders() {
+        dbManager.addDeadlineListener(event -> {
+            switch (event.getKind()) {
+                case ASSIGNMENT_URGENT:
+                    System.out.println("⏰ 과제 마감 임박: " + event.getTitle() + " (마감: " + event.getDeadline().toLocalDate() + ")");
+                    break;
+                case ASSIGNMENT_OVERDUE:
+                    System.out.println("⏰ 과제 마감 지남: " + event.getTitle() + " (마감: " + event.getDeadline().toLocalDate() + ")");
+                    break;
+                case EXAM_IMMINENT:
+                    System.out.println("⏰ 시험 24시간 전: " + event.getTitle() + " ("
+                            + event.getDeadline().format(DateTimeFormatter.ofPattern("MM-dd HH:mm")) + ")");
+                    break;
+            }
+        });
     }
     
     /**
@@ -288,8 +289,8 @@ public class ApplicationInitializer {
         System.out.println("🧹 애플리케이션 종료 준비...");
         
         try {
-            // 최종 데이터 저장
-            dbManager.saveAllData();
+            // 백그라운드에 남은 변경까지 모두 저장하고 저장 스레드 정리
+            dbManager.shutdown();
             
             // 종료 시간 기록
             System.out.println("⏰ 종료 시간: " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
@@ -3,6 +3,8 @@ package common.init;
 import java.io.File;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 
 import common.database.DatabaseManager;
 import javafx.scene.control.Alert;
@@ -171,16 +173,13 @@ public class DataInitializer {
             
             System.out.println("📦 백업 생성 중: " + timestamp);
             
-            // 각 데이터 파일 백업
-            String[] dataFiles = {
-                "subjects.txt",
-                "assignments.txt", 
-                "exams.txt",
-                "grades.txt",
-                "user_grades.txt",
-                "study_plans.txt",
-                "app_config.txt"
-            };
+            // 각 데이터 파일 백업 (테이블은 텍스트 파일과 바이너리 스냅샷 목차·페이지 파일 모두)
+            List<String> dataFiles = new ArrayList<>(dbManager.getTableFileNames());
+            dataFiles.add("user_grades.txt");
+            dataFiles.add("study_plans.txt");
+            dataFiles.add("journal.log");
+            dataFiles.add("sequences.txt");
+            dataFiles.add("app_config.txt");
             
             int successCount = 0;
             for (String fileName : dataFiles) {
@@ -191,7 +190,7 @@ public class DataInitializer {
                 }
             }
             
-            System.out.println("📦 백업 완료: " + successCount + "/" + dataFiles.length + " 파일");
+            System.out.println("📦 백업 완료: " + successCount + "/" + dataFiles.size() + " 파일");
             return successCount > 0; // 하나라도 백업되면 성공으로 간주
             
         } catch (Exception e) {
@@ -233,14 +232,9 @@ public class DataInitializer {
      * 데이터 파일들 삭제
      */
     private void clearDataFiles() {
-        String[] dataFiles = {
-            "subjects.txt",
-            "assignments.txt", 
-            "exams.txt",
-            "grades.txt",
-            "user_grades.txt",
-            "study_plans.txt"
-        };
+        List<String> dataFiles = new ArrayList<>(dbManager.getTableFileNames());
+        dataFiles.add("user_grades.txt");
+        dataFiles.add("study_plans.txt");
         
         for (String fileName : dataFiles) {
             File file = new File(DATA_DIR + fileName);
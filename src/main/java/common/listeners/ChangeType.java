@@ -0,0 +1,15 @@
+package common.listeners;
+
+/**
+ * 데이터 변경 유형
+ * 이름은 기존 DataChangeListener 의 문자열 변경 유형("ADD", "UPDATE", ...)과 같습니다.
+ */
+public enum ChangeType {
+    ADD,
+    UPDATE,
+    DELETE,
+    /** 테이블 전체 삭제 */
+    CLEAR,
+    /** 파일에서 테이블 전체를 다시 읽음 */
+    RELOAD
+}
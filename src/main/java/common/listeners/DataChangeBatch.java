@@ -0,0 +1,127 @@
+package common.listeners;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import common.database.DataTable;
+
+/**
+ * 한 틱 동안 모인 데이터 변경 묶음 (읽기 전용)
+ *
+ * 같은 행이 여러 번 바뀌면 최종 결과 하나로 합칩니다.
+ * (추가 후 수정 → 추가, 수정 후 삭제 → 삭제, 추가 후 삭제 → 변경 없음, 삭제가 기록되면 그대로 삭제)
+ * 테이블 전체가 비워지거나 다시 로드되면 getReset()으로 알 수 있고, 이 경우 개별 ID 대신 전체를 새로 읽으면 됩니다.
+ */
+public final class DataChangeBatch {
+    private final Map<DataTable, Map<Integer, ChangeType>> changes;
+    private final Map<DataTable, Map<ChangeType, Set<Integer>>> idsByType;
+    private final Map<DataTable, ChangeType> resets;
+
+    private DataChangeBatch(Map<DataTable, Map<Integer, ChangeType>> changes, Map<DataTable, ChangeType> resets) {
+        this.changes = changes;
+        this.resets = resets;
+        this.idsByType = new EnumMap<>(DataTable.class);
+        changes.forEach((table, rows) -> {
+            Map<ChangeType, Set<Integer>> byType = new EnumMap<>(ChangeType.class);
+            rows.forEach((id, type) -> byType.computeIfAbsent(type, t -> new LinkedHashSet<>()).add(id));
+            byType.replaceAll((type, ids) -> Collections.unmodifiableSet(ids));
+            idsByType.put(table, byType);
+        });
+    }
+
+    /** 변경이 있는 테이블 */
+    public Set<DataTable> getTables() {
+        Set<DataTable> tables = EnumSet.noneOf(DataTable.class);
+        tables.addAll(changes.keySet());
+        tables.addAll(resets.keySet());
+        return tables;
+    }
+
+    public boolean contains(DataTable table) {
+        return changes.containsKey(table) || resets.containsKey(table);
+    }
+
+    /** 테이블 전체 변경 (CLEAR/RELOAD), 없으면 null */
+    public ChangeType getReset(DataTable table) {
+        return resets.get(table);
+    }
+
+    /** 해당 유형으로 바뀐 행 ID (변경 순서) */
+    public Set<Integer> getIds(DataTable table, ChangeType type) {
+        Map<ChangeType, Set<Integer>> byType = idsByType.get(table);
+        return byType == null ? Set.of() : byType.getOrDefault(type, Set.of());
+    }
+
+    /** 유형과 상관없이 바뀐 행 ID (변경 순서) */
+    public Set<Integer> getChangedIds(DataTable table) {
+        Map<Integer, ChangeType> rows = changes.get(table);
+        return rows == null ? Set.of() : Collections.unmodifiableSet(rows.keySet());
+    }
+
+    /** 행의 최종 변경 유형, 바뀌지 않았으면 null */
+    public ChangeType getChange(DataTable table, int id) {
+        Map<Integer, ChangeType> rows = changes.get(table);
+        return rows == null ? null : rows.get(id);
+    }
+
+    /** 바뀐 행 수 (전체 변경은 제외) */
+    public int size() {
+        int size = 0;
+        for (Map<Integer, ChangeType> rows : changes.values()) {
+            size += rows.size();
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty() && resets.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "DataChangeBatch" + idsByType + (resets.isEmpty() ? "" : " resets=" + resets);
+    }
+
+    /** 변경을 모으는 빌더 (스레드 안전하지 않음, 트랜잭션이 변경을 모아 한 번에 알릴 때도 사용) */
+    public static final class Builder {
+        private final Map<DataTable, Map<Integer, ChangeType>> changes = new EnumMap<>(DataTable.class);
+        private final Map<DataTable, ChangeType> resets = new EnumMap<>(DataTable.class);
+
+        public void record(DataTable table, ChangeType type, int id) {
+            Map<Integer, ChangeType> rows = changes.computeIfAbsent(table, t -> new LinkedHashMap<>());
+            ChangeType previous = rows.get(id);
+            if (previous == ChangeType.ADD && type == ChangeType.DELETE) {
+                rows.remove(id);   // 이번 틱에 생겼다가 사라진 행
+                if (rows.isEmpty()) changes.remove(table);
+            } else if (previous == null || previous == ChangeType.UPDATE) {
+                // ID 는 다시 쓰지 않으므로 삭제가 기록된 뒤의 변경은 무시 (알림 순서가 뒤바뀐 경우)
+                rows.put(id, type);
+            }
+        }
+
+        /** 테이블 전체가 바뀜: 그 전의 개별 변경은 의미가 없으므로 버림 */
+        public void reset(DataTable table, ChangeType type) {
+            changes.remove(table);
+            resets.put(table, type);
+        }
+
+        /** 이미 만들어진 묶음을 이어서 합칩니다. (리스너가 밀렸을 때 다음 묶음과 합치기용) */
+        void merge(DataChangeBatch batch) {
+            batch.resets.forEach(this::reset);
+            batch.changes.forEach((table, rows) -> rows.forEach((id, type) -> record(table, type, id)));
+        }
+
+        public boolean isEmpty() {
+            return changes.isEmpty() && resets.isEmpty();
+        }
+
+        public DataChangeBatch build() {
+            return new DataChangeBatch(changes, resets);
+        }
+    }
+}
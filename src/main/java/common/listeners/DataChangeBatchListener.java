@@ -0,0 +1,16 @@
+package common.listeners;
+
+/**
+ * 한 틱(tick) 동안 모인 데이터 변경을 한 번에 받는 리스너
+ * 대량 가져오기로 수천 건이 바뀌어도 틱마다 한 번만 호출됩니다.
+ * 리스너 전용 스레드에서 호출되므로 파일 읽기 같은 무거운 준비 작업은 그 자리에서 하고,
+ * 마지막 화면 변경만 Platform.runLater 로 넘기면 됩니다.
+ */
+@FunctionalInterface
+public interface DataChangeBatchListener {
+
+    /**
+     * @param batch 마지막 알림 이후 바뀐 테이블과 ID 목록 (읽기 전용)
+     */
+    void onDataChanged(DataChangeBatch batch);
+}
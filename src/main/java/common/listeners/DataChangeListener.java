@@ -3,13 +3,18 @@ package common.listeners;
 /**
  * 데이터 변경 시 알림을 받을 수 있는 리스너 인터페이스
  * Observer 패턴을 구현하여 데이터 동기화를 지원합니다.
+ *
+ * 기존 화면과의 호환용이며, 내부적으로는 DataChangeListenerAdapter 가 틱마다 모인 변경을
+ * 테이블·변경 유형별로 한 번씩 전달합니다. 여러 행이 함께 바뀐 경우 ID 는 -1 입니다.
+ * 리스너 전용 스레드에서 호출되므로 화면 변경은 Platform.runLater 로 넘겨야 합니다.
+ * 새 코드는 DataChangeBatchListener 를 사용하세요.
  */
 public interface DataChangeListener {
     
     /**
      * 과목 데이터가 변경되었을 때 호출됩니다.
-     * @param changeType 변경 유형 ("ADD", "UPDATE", "DELETE")
-     * @param subjectId 변경된 과목의 ID (삭제의 경우 -1일 수 있음)
+     * @param changeType 변경 유형 ("ADD", "UPDATE", "DELETE", "CLEAR", "RELOAD")
+     * @param subjectId 변경된 과목의 ID (여러 행이 바뀌었거나 전체 변경이면 -1)
      */
     void onSubjectChanged(String changeType, int subjectId);
     
@@ -0,0 +1,60 @@
+package common.listeners;
+
+import java.util.Set;
+
+import common.database.DataTable;
+
+/**
+ * 기존 DataChangeListener 를 묶음 알림에 연결하는 어댑터
+ *
+ * 묶음 하나를 테이블·변경 유형별로 최대 한 번의 호출로 바꿉니다.
+ * 한 행만 바뀌었으면 그 ID를, 여러 행이 바뀌었거나 테이블 전체가 바뀌었으면 -1 을 넘깁니다.
+ * 감싼 리스너가 같으면 같은 어댑터로 취급하므로 등록 해제에도 새 어댑터를 만들어 쓰면 됩니다.
+ */
+public final class DataChangeListenerAdapter implements DataChangeBatchListener {
+    private final DataChangeListener delegate;
+
+    public DataChangeListenerAdapter(DataChangeListener delegate) {
+        this.delegate = delegate;
+    }
+
+    public DataChangeListener getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void onDataChanged(DataChangeBatch batch) {
+        for (DataTable table : batch.getTables()) {
+            ChangeType reset = batch.getReset(table);
+            if (reset != null) {
+                dispatch(table, reset, -1);
+            }
+            for (ChangeType type : ChangeType.values()) {
+                Set<Integer> ids = batch.getIds(table, type);
+                if (!ids.isEmpty()) {
+                    dispatch(table, type, ids.size() == 1 ? ids.iterator().next() : -1);
+                }
+            }
+        }
+    }
+
+    private void dispatch(DataTable table, ChangeType type, int id) {
+        switch (table) {
+            case SUBJECT:    delegate.onSubjectChanged(type.name(), id); break;
+            case ASSIGNMENT: delegate.onAssignmentChanged(type.name(), id); break;
+            case EXAM:       delegate.onExamChanged(type.name(), id); break;
+            case GRADE:      delegate.onGradeChanged(type.name(), id); break;
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof DataChangeListenerAdapter
+                && ((DataChangeListenerAdapter) other).delegate.equals(delegate);
+    }
+
+    @Override
+    public int hashCode() {
+        return delegate.hashCode();
+    }
+}
@@ -0,0 +1,213 @@
+package common.listeners;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import common.database.DataTable;
+
+/**
+ * 데이터 변경을 모아 틱마다 한 번씩 리스너에게 전달하는 알림기
+ *
+ * record()/reset()은 변경을 현재 묶음에 합치기만 하고 바로 돌아오므로 쓰기 잠금 안에서 불러도 됩니다.
+ * 첫 변경 후 한 틱(기본 16ms, 화면 1프레임)이 지나면 그 사이 모인 변경을 DataChangeBatch 하나로 만들어
+ * 리스너마다 따로 전달합니다.
+ *
+ * 리스너는 데이터를 바꾼 스레드나 JavaFX Application Thread가 아니라 리스너 전용 스레드에서 호출됩니다.
+ * 한 리스너는 동시에 한 번만 호출되며(순서 보장), 이전 묶음을 처리하는 동안 도착한 묶음은
+ * 하나로 합쳐 두었다가 끝나면 전달합니다. 느린 리스너 때문에 알림이 무한히 쌓이거나
+ * 다른 리스너가 늦어지지 않습니다.
+ */
+public class DataChangeNotifier {
+    /** 이보다 오래 걸린 리스너 호출은 경고를 남김 */
+    private static final long SLOW_LISTENER_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final List<ListenerLane> lanes = new CopyOnWriteArrayList<>();
+    private final long tickMillis;
+    private final ScheduledExecutorService ticker;
+    private final ExecutorService workers;
+
+    // 아래 필드는 this 로 보호
+    private DataChangeBatch.Builder pending = new DataChangeBatch.Builder();
+    private boolean scheduled;
+    private boolean closed;
+
+    public DataChangeNotifier(long tickMillis) {
+        this.tickMillis = tickMillis;
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "data-change-notifier");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger workerCount = new AtomicInteger();
+        this.workers = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "data-change-listener-" + workerCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** 리스너 등록 (이미 등록된 리스너면 false) */
+    public synchronized boolean addListener(DataChangeBatchListener listener) {
+        if (listener == null || findLane(listener) != null) return false;
+        return lanes.add(new ListenerLane(listener));
+    }
+
+    public synchronized boolean removeListener(DataChangeBatchListener listener) {
+        ListenerLane lane = findLane(listener);
+        if (lane == null) return false;
+        lane.discard();
+        return lanes.remove(lane);
+    }
+
+    public int getListenerCount() {
+        return lanes.size();
+    }
+
+    /** 리스너별 처리 시간/밀린 정도 */
+    public List<ListenerStats> getStats() {
+        List<ListenerStats> stats = new ArrayList<>();
+        for (ListenerLane lane : lanes) {
+            stats.add(lane.stats());
+        }
+        return stats;
+    }
+
+    /** 행 1건의 변경을 기록합니다. */
+    public synchronized void record(DataTable table, ChangeType type, int id) {
+        pending.record(table, type, id);
+        schedule();
+    }
+
+    /** 테이블 전체의 변경(CLEAR/RELOAD)을 기록합니다. */
+    public synchronized void reset(DataTable table, ChangeType type) {
+        pending.reset(table, type);
+        schedule();
+    }
+
+    /** 여러 변경을 한꺼번에 기록합니다. (같은 틱의 묶음에 함께 들어감) */
+    public synchronized void publish(DataChangeBatch batch) {
+        pending.merge(batch);
+        schedule();
+    }
+
+    /** 남은 변경을 전달하고 알림 스레드를 종료합니다. */
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        ticker.shutdown();
+        try {
+            ticker.awaitTermination(1, TimeUnit.SECONDS);
+            workers.shutdown();
+            workers.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ListenerLane findLane(DataChangeBatchListener listener) {
+        for (ListenerLane lane : lanes) {
+            if (lane.listener.equals(listener)) return lane;
+        }
+        return null;
+    }
+
+    private void schedule() {
+        if (!scheduled && !closed) {
+            scheduled = true;
+            ticker.schedule(this::deliver, tickMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void deliver() {
+        DataChangeBatch batch;
+        synchronized (this) {
+            scheduled = false;
+            if (pending.isEmpty()) return;
+            batch = pending.build();
+            pending = new DataChangeBatch.Builder();
+        }
+        for (ListenerLane lane : lanes) {
+            lane.offer(batch);
+        }
+    }
+
+    /** 리스너 하나의 전달 순서와 통계를 관리 */
+    private final class ListenerLane {
+        private final DataChangeBatchListener listener;
+        private final String name;
+
+        // 아래 필드는 this 로 보호
+        private DataChangeBatch.Builder backlog;   // 처리 중에 도착해서 합쳐 둔 묶음
+        private boolean running;
+        private boolean discarded;
+        private long deliveries;
+        private long coalescedBatches;
+        private long totalNanos;
+        private long maxNanos;
+
+        ListenerLane(DataChangeBatchListener listener) {
+            this.listener = listener;
+            Class<?> type = listener instanceof DataChangeListenerAdapter
+                    ? ((DataChangeListenerAdapter) listener).getDelegate().getClass()
+                    : listener.getClass();
+            this.name = type.getSimpleName().isEmpty() ? type.getName() : type.getSimpleName();
+        }
+
+        synchronized void offer(DataChangeBatch batch) {
+            if (discarded) return;
+            if (running) {
+                if (backlog == null) backlog = new DataChangeBatch.Builder();
+                backlog.merge(batch);
+                coalescedBatches++;
+                return;
+            }
+            running = true;
+            workers.execute(() -> run(batch));
+        }
+
+        synchronized void discard() {
+            discarded = true;
+            backlog = null;
+        }
+
+        private void run(DataChangeBatch first) {
+            DataChangeBatch batch = first;
+            while (batch != null) {
+                long start = System.nanoTime();
+                try {
+                    listener.onDataChanged(batch);
+                } catch (Exception e) {
+                    System.err.println("❌ 리스너 알림 중 오류 (" + name + "): " + e.getMessage());
+                }
+                long elapsed = System.nanoTime() - start;
+                if (elapsed > SLOW_LISTENER_NANOS) {
+                    System.err.printf("⚠️ 느린 리스너: %s (%.1fms)%n", name, elapsed / 1_000_000.0);
+                }
+
+                synchronized (this) {
+                    deliveries++;
+                    totalNanos += elapsed;
+                    maxNanos = Math.max(maxNanos, elapsed);
+                    if (backlog == null || discarded) {
+                        running = false;
+                        batch = null;
+                    } else {
+                        batch = backlog.build();
+                        backlog = null;
+                    }
+                }
+            }
+        }
+
+        synchronized ListenerStats stats() {
+            return new ListenerStats(name, deliveries, coalescedBatches, totalNanos, maxNanos, running);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package common.listeners;
+
+import java.time.LocalDateTime;
+
+import common.database.DataTable;
+
+/**
+ * 과제/시험이 긴급도 기준을 넘은 순간의 알림 (읽기 전용)
+ */
+public final class DeadlineEvent {
+
+    /** 넘은 기준 */
+    public enum Kind {
+        /** 과제 마감 2일 전 (Assignment.isUrgent() 가 참이 되는 날 0시) */
+        ASSIGNMENT_URGENT,
+        /** 과제 마감일이 지남 (마감 다음 날 0시) */
+        ASSIGNMENT_OVERDUE,
+        /** 시험 24시간 전 (Exam.isImminent() 가 참이 되는 시각) */
+        EXAM_IMMINENT
+    }
+
+    private final Kind kind;
+    private final int id;
+    private final String title;
+    private final LocalDateTime deadline;
+
+    public DeadlineEvent(Kind kind, int id, String title, LocalDateTime deadline) {
+        this.kind = kind;
+        this.id = id;
+        this.title = title;
+        this.deadline = deadline;
+    }
+
+    public Kind getKind() { return kind; }
+
+    /** 과제 알림이면 ASSIGNMENT, 시험 알림이면 EXAM */
+    public DataTable getTable() {
+        return kind == Kind.EXAM_IMMINENT ? DataTable.EXAM : DataTable.ASSIGNMENT;
+    }
+
+    /** 과제 또는 시험 ID */
+    public int getId() { return id; }
+    public String getTitle() { return title; }
+    /** 과제 마감일 0시 또는 시험 일시 */
+    public LocalDateTime getDeadline() { return deadline; }
+
+    @Override
+    public String toString() {
+        return kind + " #" + id + " " + title + " (" + deadline + ")";
+    }
+}
@@ -0,0 +1,12 @@
+package common.listeners;
+
+/**
+ * 과제 마감/시험 임박 알림 리스너
+ * 매번 목록을 훑어 남은 시간을 확인하는 대신, 기준 시각이 지나는 순간 한 번씩 호출됩니다.
+ * 알림 전용 스레드에서 호출되므로 화면 변경은 Platform.runLater 로 넘겨야 합니다.
+ */
+@FunctionalInterface
+public interface DeadlineListener {
+
+    void onDeadline(DeadlineEvent event);
+}
@@ -0,0 +1,47 @@
+package common.listeners;
+
+/**
+ * 리스너 하나의 알림 처리 통계 (조회 시점의 값)
+ */
+public final class ListenerStats {
+    private final String listenerName;
+    private final long deliveries;
+    private final long coalescedBatches;
+    private final long totalNanos;
+    private final long maxNanos;
+    private final boolean busy;
+
+    ListenerStats(String listenerName, long deliveries, long coalescedBatches, long totalNanos, long maxNanos, boolean busy) {
+        this.listenerName = listenerName;
+        this.deliveries = deliveries;
+        this.coalescedBatches = coalescedBatches;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.busy = busy;
+    }
+
+    public String getListenerName() { return listenerName; }
+
+    /** 리스너를 호출한 횟수 */
+    public long getDeliveries() { return deliveries; }
+
+    /** 리스너가 처리 중이라 다음 묶음에 합쳐진 묶음 수 (밀린 정도) */
+    public long getCoalescedBatches() { return coalescedBatches; }
+
+    public double getTotalMillis() { return totalNanos / 1_000_000.0; }
+
+    public double getMaxMillis() { return maxNanos / 1_000_000.0; }
+
+    public double getAverageMillis() {
+        return deliveries == 0 ? 0 : getTotalMillis() / deliveries;
+    }
+
+    /** 지금 알림을 처리하는 중인지 */
+    public boolean isBusy() { return busy; }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d회 (평균 %.1fms, 최대 %.1fms, 합쳐진 묶음 %d개)",
+                listenerName, deliveries, getAverageMillis(), getMaxMillis(), coalescedBatches);
+    }
+}
@@ -0,0 +1,43 @@
+// src/main/java/common/model/AgendaItem.java
+package common.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * 일정 목록의 한 줄 (과제 마감 또는 시험)
+ * 과제는 마감일 0시, 시험은 시험 일시를 기준 시각으로 정렬합니다.
+ */
+public class AgendaItem {
+    private final Assignment assignment; // 과제 항목이면 과제, 아니면 null
+    private final Exam exam;             // 시험 항목이면 시험, 아니면 null
+    private final LocalDateTime time;    // 정렬 기준 시각
+
+    public AgendaItem(Assignment assignment) {
+        this.assignment = assignment;
+        this.exam = null;
+        this.time = assignment.getDueDate().atStartOfDay();
+    }
+
+    public AgendaItem(Exam exam) {
+        this.assignment = null;
+        this.exam = exam;
+        this.time = exam.getExamDateTime();
+    }
+
+    public boolean isAssignment() { return assignment != null; }
+    public boolean isExam() { return exam != null; }
+    public Assignment getAssignment() { return assignment; }
+    public Exam getExam() { return exam; }
+    public LocalDateTime getTime() { return time; }
+
+    public int getId() { return assignment != null ? assignment.getId() : exam.getId(); }
+    public int getSubjectId() { return assignment != null ? assignment.getSubjectId() : exam.getSubjectId(); }
+    public String getTitle() { return assignment != null ? assignment.getTitle() : exam.getTitle(); }
+
+    @Override
+    public String toString() {
+        return assignment != null
+                ? "📝 " + assignment.getTitle() + " (마감: " + assignment.getDueDate() + ")"
+                : "📅 " + exam.getTitle() + " (" + exam.getType() + ", " + time.toLocalDate() + " " + time.toLocalTime() + ")";
+    }
+}
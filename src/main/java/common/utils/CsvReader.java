@@ -0,0 +1,93 @@
+// src/main/java/common/utils/CsvReader.java
+package common.utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV 를 레코드 단위로 읽는 리더
+ * 큰따옴표로 감싼 필드 안의 쉼표·줄바꿈·"" 이스케이프를 처리하고, 파일 맨 앞의 BOM 은 무시합니다.
+ */
+public final class CsvReader {
+    private final Reader in;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private int line = 1;
+    private int recordLine;
+    private boolean first = true;
+
+    public CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    /** 방금 읽은 레코드가 시작한 줄 번호 */
+    public int recordLine() {
+        return recordLine;
+    }
+
+    /** @return 다음 레코드의 필드 목록, 파일 끝이면 null */
+    public List<String> next() throws IOException {
+        int c = read();
+        if (first) {
+            first = false;
+            if (c == '\uFEFF') c = read();
+        }
+        if (c < 0) return null;
+        recordLine = line;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c < 0) {
+                    throw new IOException(recordLine + "행: 닫히지 않은 큰따옴표");
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') line++;
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c < 0) {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n' && next >= 0) position--;   // 버퍼에 남아 있으므로 되돌림
+                }
+                if (c >= 0) line++;
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+}
@@ -0,0 +1,794 @@
+// src/main/java/studyschedule/StudyPlanner.java
+package studyschedule;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import common.model.Assignment;
+import common.model.Exam;
+import common.model.Subject;
+import timetable.ConflictDetector;
+import timetable.OccupancyMap;
+
+/**
+ * 공부 일정 자동 계획기
+ *
+ * 시간표 수업과 시험 시간을 뺀 빈 시간을 15분 단위 칸으로 나누고,
+ * 과제·시험 준비·과목별 목표 시간(할 일)을 마감 전 빈 칸에 날짜별·시각별로 배치합니다.
+ *
+ * 1단계: 할 일 → 날짜 배분을 최소 비용 유량(min-cost flow)으로 풉니다.
+ *   날짜마다 하루 공부량을 1시간 단위로 나눠 뒤 시간일수록 비용을 올리고(하루에 몰리지 않게),
+ *   마감에서 먼 주일수록·마감 당일이면 비용을 더해서, 마감 직전 주에 고르게 퍼지도록 합니다.
+ *   시간이 모자라면 우선순위가 높은 할 일부터 채웁니다.
+ * 2단계: 날짜마다 배분된 양을 마감이 이른 할 일부터 그날의 빈 칸에 앞에서부터 채웁니다.
+ *
+ * 할 일 하나가 바뀌면(putTask/removeTask) 그 할 일만 다른 배분은 그대로 둔 채 가장 싼 날짜에 다시 넣고,
+ * 바뀐 날짜만 다시 배치합니다. 그래도 못 채운 할 일이 생기면 전체를 다시 풉니다.
+ * 시간표·공부 시간대·하루 한도를 바꾸면 다음 getPlan()에서 전체를 다시 풉니다.
+ * 스레드 안전하지 않으므로 여러 스레드에서 쓰면 호출하는 쪽에서 동기화합니다.
+ */
+public class StudyPlanner {
+    /** 칸 하나의 길이 (분) */
+    public static final int SLOT_MINUTES = 15;
+    private static final int UNITS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    private static final int UNITS_PER_BAND = 60 / SLOT_MINUTES;
+    private static final String DAYS = "월화수목금토일";
+
+    // 배분 비용: 하루 공부량 1시간마다, 마감에서 한 주 멀어질 때마다, 마감 당일
+    private static final int BAND_COST = 4;
+    private static final int WEEK_COST = 3;
+    private static final int CRAM_COST = 2;
+    // 우선순위(높음/보통/낮음)별 비용: 다른 비용보다 훨씬 커서 시간이 모자랄 때만 차이가 남
+    private static final int[] PRIORITY_COST = {0, 10_000, 20_000};
+    // 시험 자체가 차지하는 시간 (시험 시각부터)
+    private static final int EXAM_BLOCK_MINUTES = 120;
+
+    /** 배치할 할 일 (과제, 시험 준비, 과목 목표 시간) */
+    public static final class Task {
+        /** 완료 전 과제 하나에 잡는 기본 시간 (분) */
+        public static final int DEFAULT_ASSIGNMENT_MINUTES = 180;
+
+        private final String key;
+        private final String title;
+        private final int subjectId;
+        private final int minutes;
+        private final LocalDateTime deadline;   // 이 시각 전에 끝내야 함 (null 이면 계획 끝까지)
+        private final int priority;             // 0 높음, 1 보통, 2 낮음
+        private final boolean exam;
+
+        public Task(String key, String title, int subjectId, int minutes, LocalDateTime deadline, String priority) {
+            this(key, title, subjectId, minutes, deadline, priority, false);
+        }
+
+        private Task(String key, String title, int subjectId, int minutes, LocalDateTime deadline,
+                     String priority, boolean exam) {
+            this.key = key;
+            this.title = title;
+            this.subjectId = subjectId;
+            this.minutes = Math.max(0, minutes);
+            this.deadline = deadline;
+            this.priority = "높음".equals(priority) ? 0 : "낮음".equals(priority) ? 2 : 1;
+            this.exam = exam;
+        }
+
+        /** 과제: 마감일 0시 전까지 */
+        public static Task forAssignment(Assignment assignment, int minutes) {
+            return new Task(assignmentKey(assignment.getId()), assignment.getTitle(), assignment.getSubjectId(),
+                    minutes, assignment.getDueDate().atStartOfDay(), assignment.getPriority());
+        }
+
+        /** 시험 준비: 시험 시각 전까지, 우선순위 높음 (시험 시간은 다른 공부에서 뺌) */
+        public static Task forExam(Exam exam, int minutes) {
+            return new Task(examKey(exam.getId()), exam.getTitle(), exam.getSubjectId(),
+                    minutes, exam.getExamDateTime(), "높음", true);
+        }
+
+        /** 과목 목표 시간: 목표일이 끝날 때까지 (목표일이 없으면 계획 끝까지) */
+        public static Task forTarget(String subjectName, int minutes, LocalDate targetDate, String priority) {
+            return new Task(targetKey(subjectName), subjectName, 0, minutes,
+                    targetDate == null ? null : targetDate.plusDays(1).atStartOfDay(), priority);
+        }
+
+        /** 시험 유형별 기본 준비 시간 (분): 중간/기말 10시간, 그 외 2시간 */
+        public static int defaultExamMinutes(Exam exam) {
+            String type = exam.getType();
+            return type != null && (type.contains("중간") || type.contains("기말")) ? 600 : 120;
+        }
+
+        public static String assignmentKey(int assignmentId) { return "A" + assignmentId; }
+        public static String examKey(int examId) { return "E" + examId; }
+        public static String targetKey(String subjectName) { return "P:" + subjectName; }
+
+        public String getKey() { return key; }
+        public String getTitle() { return title; }
+        public int getSubjectId() { return subjectId; }
+        public int getMinutes() { return minutes; }
+        public LocalDateTime getDeadline() { return deadline; }
+        public boolean isExam() { return exam; }
+
+        @Override
+        public String toString() {
+            return (exam ? "📅 " : key.startsWith("A") ? "📝 " : "📚 ") + title;
+        }
+    }
+
+    /** 공부 시간 한 덩어리 [start, end) */
+    public static final class Session {
+        private final LocalDate date;
+        private final int startMinute;
+        private final int endMinute;
+        private final Task task;
+
+        Session(LocalDate date, int startMinute, int endMinute, Task task) {
+            this.date = date;
+            this.startMinute = startMinute;
+            this.endMinute = endMinute;
+            this.task = task;
+        }
+
+        public LocalDate getDate() { return date; }
+        public int getStartMinute() { return startMinute; }
+        public int getEndMinute() { return endMinute; }
+        public int getMinutes() { return endMinute - startMinute; }
+        public String getStartTime() { return formatMinutes(startMinute); }
+        public String getEndTime() { return formatMinutes(endMinute); }
+        public Task getTask() { return task; }
+
+        @Override
+        public String toString() {
+            return getStartTime() + "~" + getEndTime() + " " + task;
+        }
+    }
+
+    /** 계획 결과 (만든 시점의 사본) */
+    public static final class Plan {
+        private final List<Session> sessions;
+        private final Map<String, Integer> shortMinutes;
+        private final Map<String, Task> tasks;
+
+        private Plan(List<Session> sessions, Map<String, Integer> shortMinutes, Map<String, Task> tasks) {
+            this.sessions = Collections.unmodifiableList(sessions);
+            this.shortMinutes = Collections.unmodifiableMap(shortMinutes);
+            this.tasks = Collections.unmodifiableMap(tasks);
+        }
+
+        /** 날짜·시각 순 */
+        public List<Session> getSessions() { return sessions; }
+
+        /** 주(월요일 날짜)별 세션 (주 순서) */
+        public Map<LocalDate, List<Session>> getWeeks() {
+            Map<LocalDate, List<Session>> weeks = new LinkedHashMap<>();
+            for (Session session : sessions) {
+                LocalDate monday = session.getDate().minusDays(session.getDate().getDayOfWeek().getValue() - 1);
+                weeks.computeIfAbsent(monday, k -> new ArrayList<>()).add(session);
+            }
+            return weeks;
+        }
+
+        /** 마감 전에 배치하지 못한 시간 (할 일 키 → 분, 모자란 할 일만) */
+        public Map<String, Integer> getShortMinutes() { return shortMinutes; }
+
+        public Task getTask(String key) { return tasks.get(key); }
+
+        public int getPlannedMinutes() {
+            int total = 0;
+            for (Session session : sessions) total += session.getMinutes();
+            return total;
+        }
+
+        public boolean isComplete() { return shortMinutes.isEmpty(); }
+
+        @Override
+        public String toString() {
+            int shortTotal = 0;
+            for (int minutes : shortMinutes.values()) shortTotal += minutes;
+            return String.format("공부 세션 %d개, 총 %s%s", sessions.size(), formatHours(getPlannedMinutes()),
+                    shortTotal > 0 ? " (부족 " + formatHours(shortTotal) + ")" : "");
+        }
+    }
+
+    /** 할 일과 그 배분 상태 */
+    private static final class TaskState {
+        final Task task;
+        final int units;
+        final int lastDay;        // 배치할 수 있는 마지막 날 (-1 이면 이미 마감 지남)
+        final int deadlineUnit;   // lastDay 에서 이 칸 전까지만 사용
+        final int[] alloc;        // 날짜별 배분 칸 수
+        int allocated;
+        int missing;              // 날짜 안 배치에서 못 넣은 칸 수 (날짜 배분 이후 확정)
+
+        TaskState(Task task, int lastDay, int deadlineUnit, int days) {
+            this.task = task;
+            this.units = (task.getMinutes() + SLOT_MINUTES - 1) / SLOT_MINUTES;
+            this.lastDay = lastDay;
+            this.deadlineUnit = deadlineUnit;
+            this.alloc = new int[days];
+        }
+
+        int deadlineOn(int day) {
+            return day == lastDay ? deadlineUnit : UNITS_PER_DAY;
+        }
+    }
+
+    private final LocalDateTime start;
+    private final LocalDate startDate;
+    private final int days;
+    private int windowStart = 9 * 60;
+    private int windowEnd = 23 * 60;
+    private int dailyLimitUnits = 4 * UNITS_PER_BAND;
+    private int taskDailyLimitUnits = 2 * UNITS_PER_BAND;
+    private final OccupancyMap occupancy = new OccupancyMap();
+
+    private final Map<String, TaskState> tasks = new LinkedHashMap<>();
+    private final long[][] freeMasks;   // 날짜별 빈 칸 (bit u = u번째 15분 칸)
+    private final int[] capacity;       // 날짜별 배분 한도 (빈 칸 수와 하루 한도 중 작은 값)
+    private final int[] load;           // 날짜별 배분된 칸 수
+    private final List<List<Session>> daySessions;
+    private boolean stale = true;
+
+    /** start 부터 end(포함)까지 계획합니다. start 이전 시각은 쓰지 않습니다. */
+    public StudyPlanner(LocalDateTime start, LocalDate end) {
+        this.start = start;
+        this.startDate = start.toLocalDate();
+        this.days = (int) Math.max(0, ChronoUnit.DAYS.between(startDate, end) + 1);
+        this.freeMasks = new long[days][2];
+        this.capacity = new int[days];
+        this.load = new int[days];
+        this.daySessions = new ArrayList<>(days);
+        for (int day = 0; day < days; day++) {
+            daySessions.add(Collections.emptyList());
+        }
+    }
+
+    // ===== 설정 (바꾸면 다음 getPlan 에서 전체를 다시 풂) =====
+
+    /** 수업이 있는 시간을 뺍니다. (요일/시작/종료가 올바른 과목만) */
+    public StudyPlanner setTimetable(Collection<Subject> subjects) {
+        occupancy.clear();
+        for (Subject subject : subjects) {
+            occupancy.add(subject);
+        }
+        stale = true;
+        return this;
+    }
+
+    /** 하루 중 공부할 수 있는 시간대 ("HH:mm", 기본 09:00~23:00) */
+    public StudyPlanner setStudyWindow(String from, String to) {
+        int fromMinute = ConflictDetector.parseMinutes(from);
+        int toMinute = ConflictDetector.parseMinutes(to);
+        if (fromMinute < 0 || toMinute <= fromMinute) {
+            throw new IllegalArgumentException("공부 시간대가 올바르지 않습니다: " + from + "~" + to);
+        }
+        windowStart = fromMinute;
+        windowEnd = toMinute;
+        stale = true;
+        return this;
+    }
+
+    /** 하루 최대 공부 시간 (분, 기본 4시간) */
+    public StudyPlanner setDailyLimitMinutes(int minutes) {
+        dailyLimitUnits = Math.max(0, minutes / SLOT_MINUTES);
+        stale = true;
+        return this;
+    }
+
+    /** 할 일 하나에 하루 최대로 쓰는 시간 (분, 기본 2시간) */
+    public StudyPlanner setTaskDailyLimitMinutes(int minutes) {
+        taskDailyLimitUnits = Math.max(1, minutes / SLOT_MINUTES);
+        stale = true;
+        return this;
+    }
+
+    // ===== 할 일 =====
+
+    /** 전체 할 일을 바꿉니다. (다음 getPlan 에서 전체를 다시 풂) */
+    public void setTasks(Collection<Task> newTasks) {
+        tasks.clear();
+        for (Task task : newTasks) {
+            tasks.put(task.getKey(), newState(task));
+        }
+        stale = true;
+    }
+
+    /** 할 일을 추가하거나 같은 키의 할 일을 바꾸고, 그 할 일만 다시 배치합니다. */
+    public void putTask(Task task) {
+        boolean[] dirty = new boolean[days];
+        TaskState old = tasks.remove(task.getKey());
+        if (old != null) {
+            release(old, dirty);
+        }
+        TaskState state = newState(task);
+        tasks.put(task.getKey(), state);
+        if (stale) return;
+        if (task.isExam() || (old != null && old.task.isExam())) {
+            refreshExamDays(old, state, dirty);
+        }
+        allocateGreedy(state, dirty);
+        afterIncrementalChange(dirty);
+    }
+
+    /** @return 해당 키의 할 일이 있었으면 true */
+    public boolean removeTask(String key) {
+        TaskState old = tasks.remove(key);
+        if (old == null) return false;
+        if (stale) return true;
+        boolean[] dirty = new boolean[days];
+        release(old, dirty);
+        if (old.task.isExam()) {
+            refreshExamDays(old, null, dirty);
+        }
+        afterIncrementalChange(dirty);
+        return true;
+    }
+
+    public int getTaskCount() {
+        return tasks.size();
+    }
+
+    /** 현재 계획 (설정이 바뀌었으면 전체를 다시 풂) */
+    public Plan getPlan() {
+        if (stale) {
+            replanAll();
+        }
+        List<Session> sessions = new ArrayList<>();
+        for (List<Session> list : daySessions) {
+            sessions.addAll(list);
+        }
+        Map<String, Integer> shortMinutes = new LinkedHashMap<>();
+        Map<String, Task> taskMap = new LinkedHashMap<>();
+        for (TaskState state : tasks.values()) {
+            taskMap.put(state.task.getKey(), state.task);
+            int shortUnits = state.units - state.allocated + state.missing;
+            if (shortUnits > 0) {
+                shortMinutes.put(state.task.getKey(), Math.min(state.task.getMinutes(), shortUnits * SLOT_MINUTES));
+            }
+        }
+        return new Plan(sessions, shortMinutes, taskMap);
+    }
+
+    /** 빈 시간을 다시 계산하고 모든 할 일을 처음부터 배분합니다. */
+    public Plan replanAll() {
+        long started = System.nanoTime();
+        stale = false;
+        long[][] weekdayMasks = weekdayMasks();
+        for (int day = 0; day < days; day++) {
+            freeMasks[day] = dayMask(day, weekdayMasks);
+        }
+        Arrays.fill(load, 0);
+        for (TaskState state : tasks.values()) {
+            Arrays.fill(state.alloc, 0);
+            state.allocated = 0;
+        }
+        for (int day = 0; day < days; day++) {
+            updateCapacity(day);
+        }
+        solveFlow();
+        for (int day = 0; day < days; day++) {
+            placeDay(day);
+        }
+        Plan plan = getPlan();
+        System.out.printf("🗓️ 공부 일정 계산: 할 일 %d개, %d일 → %s (%.1fms)%n",
+                tasks.size(), days, plan, (System.nanoTime() - started) / 1e6);
+        return plan;
+    }
+
+    // ===== 증분 갱신 =====
+
+    private void release(TaskState state, boolean[] dirty) {
+        for (int day = 0; day < days; day++) {
+            if (state.alloc[day] > 0) {
+                load[day] -= state.alloc[day];
+                dirty[day] = true;
+            }
+        }
+    }
+
+    /** 바뀐 시험이 걸친 날짜의 빈 칸을 다시 계산 (그날 배분이 한도를 넘으면 전체를 다시 풀도록 표시) */
+    private void refreshExamDays(TaskState old, TaskState current, boolean[] dirty) {
+        long[][] weekdayMasks = weekdayMasks();
+        for (TaskState state : new TaskState[] {old, current}) {
+            if (state == null || state.task.getDeadline() == null) continue;
+            int day = dayIndex(state.task.getDeadline().toLocalDate());
+            if (day < 0 || day >= days) continue;
+            freeMasks[day] = dayMask(day, weekdayMasks);
+            updateCapacity(day);
+            dirty[day] = true;
+            if (load[day] > capacity[day]) stale = true;
+        }
+    }
+
+    /** 다른 할 일의 배분은 그대로 두고, 이 할 일만 한 칸씩 가장 싼 날짜에 넣습니다. (비용이 볼록이라 이 할 일만 보면 최적) */
+    private void allocateGreedy(TaskState state, boolean[] dirty) {
+        int last = Math.min(state.lastDay, days - 1);
+        int[] edgeCap = new int[Math.max(0, last + 1)];
+        for (int day = 0; day <= last; day++) {
+            edgeCap[day] = edgeCapacity(state, day);
+        }
+        while (state.allocated < state.units) {
+            int best = -1;
+            long bestCost = Long.MAX_VALUE;
+            for (int day = 0; day <= last; day++) {
+                if (state.alloc[day] >= edgeCap[day] || load[day] >= capacity[day]) continue;
+                long cost = edgeCost(state, day) + (long) BAND_COST * (load[day] / UNITS_PER_BAND);
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    best = day;
+                }
+            }
+            if (best < 0) break;
+            state.alloc[best]++;
+            state.allocated++;
+            load[best]++;
+            dirty[best] = true;
+        }
+    }
+
+    private void afterIncrementalChange(boolean[] dirty) {
+        if (!stale) {
+            for (TaskState state : tasks.values()) {
+                if (state.allocated < state.units && state.lastDay >= 0) {
+                    stale = true;   // 다른 할 일을 옮기면 채울 수 있을지도 모름
+                    break;
+                }
+            }
+        }
+        if (stale) {
+            replanAll();
+            return;
+        }
+        for (int day = 0; day < days; day++) {
+            if (dirty[day]) placeDay(day);
+        }
+    }
+
+    // ===== 빈 시간 =====
+
+    /** 요일별 빈 칸 (수업과 공부 시간대 밖 제외) */
+    private long[][] weekdayMasks() {
+        long[][] masks = new long[DAYS.length()][2];
+        String from = formatMinutes(windowStart);
+        String to = formatMinutes(windowEnd);
+        for (int weekday = 0; weekday < DAYS.length(); weekday++) {
+            String dayName = String.valueOf(DAYS.charAt(weekday));
+            for (OccupancyMap.Range range : occupancy.findFreeRanges(dayName, from, to, SLOT_MINUTES)) {
+                int first = (range.getStartMinute() + SLOT_MINUTES - 1) / SLOT_MINUTES;
+                int end = range.getEndMinute() / SLOT_MINUTES;
+                setBits(masks[weekday], first, end);
+            }
+        }
+        return masks;
+    }
+
+    /** 그날의 빈 칸: 요일 빈 칸에서 시작 시각 이전과 시험 시간을 뺌 */
+    private long[] dayMask(int day, long[][] weekdayMasks) {
+        LocalDate date = startDate.plusDays(day);
+        long[] mask = weekdayMasks[date.getDayOfWeek().getValue() - DayOfWeek.MONDAY.getValue()].clone();
+        if (day == 0) {
+            int firstUnit = (start.getHour() * 60 + start.getMinute() + SLOT_MINUTES - 1) / SLOT_MINUTES;
+            clearBits(mask, 0, firstUnit);
+        }
+        for (TaskState state : tasks.values()) {
+            LocalDateTime examTime = state.task.isExam() ? state.task.getDeadline() : null;
+            if (examTime == null || !examTime.toLocalDate().equals(date)) continue;
+            int from = (examTime.getHour() * 60 + examTime.getMinute()) / SLOT_MINUTES;
+            int to = (examTime.getHour() * 60 + examTime.getMinute() + EXAM_BLOCK_MINUTES + SLOT_MINUTES - 1) / SLOT_MINUTES;
+            clearBits(mask, from, Math.min(to, UNITS_PER_DAY));
+        }
+        return mask;
+    }
+
+    private void updateCapacity(int day) {
+        capacity[day] = Math.min(dailyLimitUnits, Long.bitCount(freeMasks[day][0]) + Long.bitCount(freeMasks[day][1]));
+    }
+
+    // ===== 날짜 배분 (최소 비용 유량) =====
+
+    private TaskState newState(Task task) {
+        int lastDay;
+        int deadlineUnit;
+        LocalDateTime deadline = task.getDeadline();
+        if (deadline == null || dayIndex(deadline.toLocalDate()) >= days) {
+            lastDay = days - 1;
+            deadlineUnit = UNITS_PER_DAY;
+        } else if (!deadline.isAfter(start)) {
+            lastDay = -1;
+            deadlineUnit = 0;
+        } else {
+            lastDay = dayIndex(deadline.toLocalDate());
+            deadlineUnit = (deadline.getHour() * 60 + deadline.getMinute()) / SLOT_MINUTES;
+            if (deadlineUnit == 0) {   // 자정 마감이면 전날 끝까지
+                lastDay--;
+                deadlineUnit = UNITS_PER_DAY;
+            }
+        }
+        return new TaskState(task, lastDay, deadlineUnit, days);
+    }
+
+    /** 할 일이 그날 쓸 수 있는 칸 수 */
+    private int edgeCapacity(TaskState state, int day) {
+        int free = day == state.lastDay
+                ? countBelow(freeMasks[day], state.deadlineUnit)
+                : Long.bitCount(freeMasks[day][0]) + Long.bitCount(freeMasks[day][1]);
+        return Math.min(Math.min(taskDailyLimitUnits, free), capacity[day]);
+    }
+
+    private int edgeCost(TaskState state, int day) {
+        int cost = WEEK_COST * ((state.lastDay - day) / 7);
+        if (day == state.lastDay && state.deadlineUnit < UNITS_PER_DAY) cost += CRAM_COST;
+        return cost;
+    }
+
+    /**
+     * 출발 → 할 일(필요 칸 수, 우선순위 비용) → 날짜(할 일별 하루 한도, 마감 거리 비용)
+     * → 도착(하루 공부량 1시간마다 비용이 오르는 병렬 간선)
+     */
+    private void solveFlow() {
+        List<TaskState> states = new ArrayList<>();
+        for (TaskState state : tasks.values()) {
+            if (state.units > 0 && state.lastDay >= 0) states.add(state);
+        }
+        int source = 0;
+        int sink = 1;
+        int firstTask = 2;
+        int firstDay = firstTask + states.size();
+        MinCostFlow flow = new MinCostFlow(firstDay + days);
+
+        int[][] taskEdges = new int[states.size()][];
+        for (int t = 0; t < states.size(); t++) {
+            TaskState state = states.get(t);
+            flow.addEdge(source, firstTask + t, state.units, PRIORITY_COST[state.task.priority]);
+            int last = Math.min(state.lastDay, days - 1);
+            taskEdges[t] = new int[last + 1];
+            for (int day = 0; day <= last; day++) {
+                int cap = edgeCapacity(state, day);
+                taskEdges[t][day] = cap > 0 ? flow.addEdge(firstTask + t, firstDay + day, cap, edgeCost(state, day)) : -1;
+            }
+        }
+        for (int day = 0; day < days; day++) {
+            for (int band = 0; band * UNITS_PER_BAND < capacity[day]; band++) {
+                flow.addEdge(firstDay + day, sink, Math.min(UNITS_PER_BAND, capacity[day] - band * UNITS_PER_BAND),
+                        BAND_COST * band);
+            }
+        }
+        flow.run(source, sink);
+
+        for (int t = 0; t < states.size(); t++) {
+            TaskState state = states.get(t);
+            for (int day = 0; day < taskEdges[t].length; day++) {
+                int units = taskEdges[t][day] < 0 ? 0 : flow.flowOf(taskEdges[t][day]);
+                state.alloc[day] = units;
+                state.allocated += units;
+                load[day] += units;
+            }
+        }
+    }
+
+    // ===== 날짜 안 배치 =====
+
+    /** 그날 배분된 칸을 마감이 이른 할 일부터 빈 칸 앞에서부터 채웁니다. */
+    private void placeDay(int day) {
+        List<TaskState> todays = new ArrayList<>();
+        for (TaskState state : tasks.values()) {
+            if (day == state.lastDay) state.missing = 0;
+            if (state.alloc[day] > 0) todays.add(state);
+        }
+        if (todays.isEmpty()) {
+            daySessions.set(day, Collections.emptyList());
+            return;
+        }
+        todays.sort(Comparator.comparingInt((TaskState s) -> s.deadlineOn(day))
+                .thenComparingInt(s -> s.lastDay)
+                .thenComparingInt(s -> s.task.priority));
+
+        LocalDate date = startDate.plusDays(day);
+        long[] free = freeMasks[day].clone();
+        List<Session> sessions = new ArrayList<>();
+        for (TaskState state : todays) {
+            int remaining = state.alloc[day];
+            int limit = state.deadlineOn(day);
+            int runStart = -1;
+            int runEnd = -1;
+            for (int unit = nextSetBit(free, 0); unit >= 0 && unit < limit && remaining > 0; unit = nextSetBit(free, unit + 1)) {
+                free[unit >>> 6] &= ~(1L << unit);
+                remaining--;
+                if (unit != runEnd) {
+                    if (runStart >= 0) sessions.add(new Session(date, runStart * SLOT_MINUTES, runEnd * SLOT_MINUTES, state.task));
+                    runStart = unit;
+                }
+                runEnd = unit + 1;
+            }
+            if (runStart >= 0) sessions.add(new Session(date, runStart * SLOT_MINUTES, runEnd * SLOT_MINUTES, state.task));
+            if (remaining > 0) state.missing += remaining;   // 마감 전 칸이 다른 할 일과 겹쳐 모자람
+        }
+        sessions.sort(Comparator.comparingInt(Session::getStartMinute));
+        daySessions.set(day, sessions);
+    }
+
+    // ===== 유틸 =====
+
+    private int dayIndex(LocalDate date) {
+        return (int) ChronoUnit.DAYS.between(startDate, date);
+    }
+
+    private static void setBits(long[] mask, int from, int to) {
+        for (int unit = from; unit < to; unit++) mask[unit >>> 6] |= 1L << unit;
+    }
+
+    private static void clearBits(long[] mask, int from, int to) {
+        for (int unit = from; unit < to; unit++) mask[unit >>> 6] &= ~(1L << unit);
+    }
+
+    /** unit 칸 전까지 빈 칸 수 */
+    private static int countBelow(long[] mask, int unit) {
+        if (unit >= UNITS_PER_DAY) return Long.bitCount(mask[0]) + Long.bitCount(mask[1]);
+        if (unit <= 64) return Long.bitCount(unit == 64 ? mask[0] : mask[0] & ((1L << unit) - 1));
+        return Long.bitCount(mask[0]) + Long.bitCount(mask[1] & ((1L << (unit - 64)) - 1));
+    }
+
+    private static int nextSetBit(long[] mask, int from) {
+        for (int word = from >>> 6; word < mask.length; word++) {
+            long bits = word == from >>> 6 ? mask[word] & (-1L << from) : mask[word];
+            if (bits != 0) return (word << 6) + Long.numberOfTrailingZeros(bits);
+        }
+        return -1;
+    }
+
+    private static String formatMinutes(int minutes) {
+        return String.format("%02d:%02d", minutes / 60, minutes % 60);
+    }
+
+    private static String formatHours(int minutes) {
+        return minutes % 60 == 0 ? minutes / 60 + "h" : minutes / 60 + "h " + minutes % 60 + "m";
+    }
+
+    /**
+     * 최소 비용 최대 유량 (primal-dual)
+     * 포텐셜을 둔 다익스트라로 최단 거리를 구한 뒤, 비용이 0 인 간선만으로 보낼 수 있는 만큼 한 번에 보냅니다.
+     * (그 탐색이 하나도 못 보내면 다익스트라가 찾은 최단 경로로 보냄)
+     * 간선 비용은 모두 0 이상이어야 합니다.
+     */
+    private static final class MinCostFlow {
+        private final int nodes;
+        private final int[] head;
+        private int[] next = new int[64];
+        private int[] to = new int[64];
+        private int[] cap = new int[64];
+        private int[] cost = new int[64];
+        private int[] initialCap = new int[64];
+        private int edges;
+
+        private long[] potential;
+        private long[] dist;
+        private int[] cursor;
+        private int[] prevEdge;
+        private boolean[] onPath;
+
+        MinCostFlow(int nodes) {
+            this.nodes = nodes;
+            this.head = new int[nodes];
+            Arrays.fill(head, -1);
+        }
+
+        /** @return 간선 번호 (flowOf 에 사용) */
+        int addEdge(int from, int target, int capacity, int edgeCost) {
+            int id = edges;
+            link(from, target, capacity, edgeCost);
+            link(target, from, 0, -edgeCost);
+            return id;
+        }
+
+        int flowOf(int edge) {
+            return initialCap[edge] - cap[edge];
+        }
+
+        long run(int source, int sink) {
+            potential = new long[nodes];
+            dist = new long[nodes];
+            cursor = new int[nodes];
+            prevEdge = new int[nodes];
+            onPath = new boolean[nodes];
+            long total = 0;
+            while (shortestPaths(source, sink)) {
+                for (int v = 0; v < nodes; v++) {
+                    if (dist[v] < Long.MAX_VALUE) potential[v] += dist[v];
+                }
+                System.arraycopy(head, 0, cursor, 0, nodes);
+                long phase = 0;
+                int pushed;
+                while ((pushed = push(source, sink, Integer.MAX_VALUE)) > 0) {
+                    phase += pushed;
+                }
+                if (phase == 0) {
+                    phase = augmentShortestPath(source, sink);
+                }
+                total += phase;
+            }
+            return total;
+        }
+
+        private boolean shortestPaths(int source, int sink) {
+            Arrays.fill(dist, Long.MAX_VALUE);
+            dist[source] = 0;
+            PriorityQueue<long[]> queue = new PriorityQueue<>(Comparator.comparingLong(entry -> entry[0]));
+            queue.add(new long[] {0, source});
+            while (!queue.isEmpty()) {
+                long[] entry = queue.poll();
+                int v = (int) entry[1];
+                if (entry[0] > dist[v]) continue;
+                for (int e = head[v]; e >= 0; e = next[e]) {
+                    if (cap[e] == 0) continue;
+                    int w = to[e];
+                    long candidate = dist[v] + cost[e] + potential[v] - potential[w];
+                    if (candidate < dist[w]) {
+                        dist[w] = candidate;
+                        prevEdge[w] = e;
+                        queue.add(new long[] {candidate, w});
+                    }
+                }
+            }
+            return dist[sink] < Long.MAX_VALUE;
+        }
+
+        /** 줄인 비용이 0 인 간선으로만 보냄 (현재 간선 포인터로 막힌 간선은 다시 보지 않음) */
+        private int push(int v, int sink, int limit) {
+            if (v == sink) return limit;
+            onPath[v] = true;
+            try {
+                for (; cursor[v] >= 0; cursor[v] = next[cursor[v]]) {
+                    int e = cursor[v];
+                    int w = to[e];
+                    if (cap[e] == 0 || onPath[w] || potential[w] != potential[v] + cost[e]) continue;
+                    int pushed = push(w, sink, Math.min(limit, cap[e]));
+                    if (pushed > 0) {
+                        cap[e] -= pushed;
+                        cap[e ^ 1] += pushed;
+                        return pushed;
+                    }
+                }
+                return 0;
+            } finally {
+                onPath[v] = false;
+            }
+        }
+
+        private int augmentShortestPath(int source, int sink) {
+            int pushed = Integer.MAX_VALUE;
+            for (int v = sink; v != source; v = to[prevEdge[v] ^ 1]) {
+                pushed = Math.min(pushed, cap[prevEdge[v]]);
+            }
+            for (int v = sink; v != source; v = to[prevEdge[v] ^ 1]) {
+                cap[prevEdge[v]] -= pushed;
+                cap[prevEdge[v] ^ 1] += pushed;
+            }
+            return pushed;
+        }
+
+        private void link(int from, int target, int capacity, int edgeCost) {
+            if (edges == to.length) {
+                int size = edges * 2;
+                next = Arrays.copyOf(next, size);
+                to = Arrays.copyOf(to, size);
+                cap = Arrays.copyOf(cap, size);
+                cost = Arrays.copyOf(cost, size);
+                initialCap = Arrays.copyOf(initialCap, size);
+            }
+            next[edges] = head[from];
+            to[edges] = target;
+            cap[edges] = capacity;
+            cost[edges] = edgeCost;
+            initialCap[edges] = capacity;
+            head[from] = edges++;
+        }
+    }
+}
@@ -0,0 +1,396 @@
+package timetable;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import javafx.application.Platform;
+import javafx.geometry.VPos;
+import javafx.scene.Cursor;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+
+import common.model.Subject;
+
+/**
+ * Canvas 하나에 직접 그리는 주간 시간표
+ *
+ * 칸마다 Button 을 두는 GridPane 시간표와 달리 노드가 Canvas 하나뿐이라 CSS 처리가 없고,
+ * 과목이 바뀌면 그 과목의 요일 열만 다시 그립니다. (열 하나를 그리는 비용은 그 요일의 과목 수에만 비례)
+ * 클릭/마우스 오버는 OccupancyMap(5분 단위 점유 비트셋)으로 O(1) 에 어느 과목인지 찾습니다.
+ *
+ * 표시할 요일 범위, 시간 범위, 눈금 간격(5분 단위)을 바꿀 수 있습니다.
+ */
+public class CanvasTimetableView extends Region {
+    private static final String[] DAY_NAMES = {"월", "화", "수", "목", "금", "토", "일"};
+    private static final double HEADER_HEIGHT = 30;
+    private static final double TIME_COLUMN_WIDTH = 60;
+    private static final double PREF_DAY_WIDTH = 120;
+    private static final double PREF_PIXELS_PER_MINUTE = 1.0;
+    private static final Color[] PALETTE = {
+        Color.web("#A5D8FF"), Color.web("#B2F2BB"), Color.web("#FFD8A8"), Color.web("#D0BFFF"),
+        Color.web("#FFC9C9"), Color.web("#99E9F2"), Color.web("#FFEC99"), Color.web("#EEBEFA")
+    };
+    private static final Color GRID_LINE = Color.web("#EEF0F2");
+    private static final Color HOUR_LINE = Color.web("#DEE2E6");
+    private static final Color HEADER_FILL = Color.web("#E9ECEF");
+    private static final Font HEADER_FONT = Font.font(null, FontWeight.BOLD, 12);
+    private static final Font TIME_FONT = Font.font(11);
+    private static final Font TITLE_FONT = Font.font(null, FontWeight.BOLD, 11);
+    private static final Font DETAIL_FONT = Font.font(10);
+
+    private final Canvas canvas = new Canvas();
+    private final OccupancyMap occupancy = new OccupancyMap();
+    private final Map<Integer, Subject> subjects = new HashMap<>();
+    // 요일별 과목 (열 하나를 다시 그릴 때 그 요일 과목만 훑음)
+    private final List<List<Subject>> subjectsByDay = new ArrayList<>();
+
+    private int firstDay = 0;               // 0(월) ~ 6(일)
+    private int lastDay = 4;
+    private int startMinute = 9 * 60;
+    private int endMinute = 21 * 60;
+    private int gridMinutes = 30;
+
+    private Consumer<Subject> onSubjectClicked;
+    private BiConsumer<String, String> onEmptySlotClicked;
+
+    private final BitSet dirtyDays = new BitSet(DAY_NAMES.length);
+    private boolean redrawQueued;
+    private int hoveredId;
+
+    public CanvasTimetableView() {
+        for (int day = 0; day < DAY_NAMES.length; day++) {
+            subjectsByDay.add(new ArrayList<>());
+        }
+        getChildren().add(canvas);
+        canvas.setOnMouseClicked(this::handleClick);
+        canvas.setOnMouseMoved(this::handleHover);
+        canvas.setOnMouseExited(e -> setHovered(0));
+    }
+
+    // ===== 과목 =====
+
+    /** 과목 전체를 바꿉니다. */
+    public void setSubjects(Collection<Subject> all) {
+        subjects.clear();
+        occupancy.clear();
+        subjectsByDay.forEach(List::clear);
+        for (Subject subject : all) {
+            insert(subject);
+        }
+        redrawAll();
+    }
+
+    /** 과목 하나를 넣거나 바꿉니다. (바뀐 요일 열만 다시 그림) */
+    public void putSubject(Subject subject) {
+        delete(subject.getId());
+        insert(subject);
+        requestRedraw();
+    }
+
+    public void removeSubject(int subjectId) {
+        delete(subjectId);
+        requestRedraw();
+    }
+
+    // ===== 표시 범위 =====
+
+    /** 표시할 요일 범위 (0=월 ~ 6=일, 양 끝 포함) */
+    public void setDayRange(int firstDay, int lastDay) {
+        if (firstDay < 0 || lastDay >= DAY_NAMES.length || firstDay > lastDay) {
+            throw new IllegalArgumentException("요일 범위 오류: " + firstDay + " ~ " + lastDay);
+        }
+        this.firstDay = firstDay;
+        this.lastDay = lastDay;
+        requestLayout();
+        redrawAll();
+    }
+
+    /** 표시할 시간 범위 ("HH:mm", 5분 단위로 맞춤) */
+    public void setTimeRange(String startTime, String endTime) {
+        int start = ConflictDetector.parseMinutes(startTime);
+        int end = ConflictDetector.parseMinutes(endTime);
+        if (start < 0 || end <= start) {
+            throw new IllegalArgumentException("시간 범위 오류: " + startTime + " ~ " + endTime);
+        }
+        this.startMinute = start / OccupancyMap.SLOT_MINUTES * OccupancyMap.SLOT_MINUTES;
+        this.endMinute = end;
+        requestLayout();
+        redrawAll();
+    }
+
+    /** 가는 눈금선 간격 (분, 5의 배수) */
+    public void setGridMinutes(int minutes) {
+        if (minutes <= 0 || minutes % OccupancyMap.SLOT_MINUTES != 0) {
+            throw new IllegalArgumentException("눈금 간격은 " + OccupancyMap.SLOT_MINUTES + "분 단위여야 합니다: " + minutes);
+        }
+        this.gridMinutes = minutes;
+        redrawAll();
+    }
+
+    public void setOnSubjectClicked(Consumer<Subject> handler) {
+        this.onSubjectClicked = handler;
+    }
+
+    /** 빈 칸 클릭 (요일, 5분 단위로 내린 "HH:mm") */
+    public void setOnEmptySlotClicked(BiConsumer<String, String> handler) {
+        this.onEmptySlotClicked = handler;
+    }
+
+    // ===== 레이아웃 =====
+
+    @Override
+    protected double computePrefWidth(double height) {
+        return TIME_COLUMN_WIDTH + dayCount() * PREF_DAY_WIDTH;
+    }
+
+    @Override
+    protected double computePrefHeight(double width) {
+        return HEADER_HEIGHT + (endMinute - startMinute) * PREF_PIXELS_PER_MINUTE;
+    }
+
+    @Override
+    protected void layoutChildren() {
+        double width = snapSizeX(getWidth());
+        double height = snapSizeY(getHeight());
+        if (canvas.getWidth() != width || canvas.getHeight() != height) {
+            canvas.setWidth(width);
+            canvas.setHeight(height);
+            redrawAll();
+        }
+    }
+
+    // ===== 그리기 =====
+
+    private void redrawAll() {
+        dirtyDays.set(0, DAY_NAMES.length);
+        drawHeader();
+        redrawDirty();
+    }
+
+    /** 같은 펄스 안의 여러 변경을 모아 한 번만 그림 */
+    private void requestRedraw() {
+        if (!redrawQueued) {
+            redrawQueued = true;
+            Platform.runLater(this::redrawDirty);
+        }
+    }
+
+    private void redrawDirty() {
+        redrawQueued = false;
+        if (canvas.getWidth() <= TIME_COLUMN_WIDTH || canvas.getHeight() <= HEADER_HEIGHT) {
+            return;
+        }
+        for (int day = dirtyDays.nextSetBit(firstDay); day >= 0 && day <= lastDay; day = dirtyDays.nextSetBit(day + 1)) {
+            drawDay(day);
+        }
+        dirtyDays.clear();
+    }
+
+    private void drawHeader() {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        double width = canvas.getWidth();
+        double height = canvas.getHeight();
+        gc.clearRect(0, 0, width, height);
+
+        gc.setFill(HEADER_FILL);
+        gc.fillRect(0, 0, width, HEADER_HEIGHT);
+        gc.fillRect(0, HEADER_HEIGHT, TIME_COLUMN_WIDTH, height - HEADER_HEIGHT);
+
+        gc.setFill(Color.BLACK);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        gc.setFont(HEADER_FONT);
+        gc.fillText("시간", TIME_COLUMN_WIDTH / 2, HEADER_HEIGHT / 2);
+        for (int day = firstDay; day <= lastDay; day++) {
+            gc.fillText(DAY_NAMES[day], columnX(day) + columnWidth() / 2, HEADER_HEIGHT / 2);
+        }
+
+        // 시간 라벨: 눈금선이 너무 촘촘하면 정시만 표시
+        gc.setFont(TIME_FONT);
+        gc.setTextBaseline(VPos.TOP);
+        int labelStep = gridMinutes * minuteHeight() >= 14 ? gridMinutes : 60;
+        for (int minute = firstLine(labelStep); minute < endMinute; minute += labelStep) {
+            gc.fillText(ConflictDetector.formatMinutes(minute), TIME_COLUMN_WIDTH / 2, minuteY(minute) + 2);
+        }
+    }
+
+    /** 요일 열 하나를 배경부터 다시 그림 */
+    private void drawDay(int day) {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        double x = columnX(day);
+        double width = columnWidth();
+        double top = HEADER_HEIGHT;
+        double bottom = canvas.getHeight();
+
+        gc.setFill(Color.WHITE);
+        gc.fillRect(x, top, width, bottom - top);
+        gc.setLineWidth(1);
+        for (int minute = firstLine(gridMinutes); minute < endMinute; minute += gridMinutes) {
+            gc.setStroke(minute % 60 == 0 ? HOUR_LINE : GRID_LINE);
+            double y = Math.floor(minuteY(minute)) + 0.5;
+            gc.strokeLine(x, y, x + width, y);
+        }
+        gc.setStroke(HOUR_LINE);
+        gc.strokeLine(Math.floor(x) + 0.5, top, Math.floor(x) + 0.5, bottom);
+
+        for (Subject subject : subjectsByDay.get(day)) {
+            drawBlock(gc, subject, x, width);
+        }
+    }
+
+    private void drawBlock(GraphicsContext gc, Subject subject, double x, double width) {
+        int start = Math.max(startMinute, ConflictDetector.parseMinutes(subject.getStartTime()));
+        int end = Math.min(endMinute, ConflictDetector.parseMinutes(subject.getEndTime()));
+        if (end <= start) {
+            return;   // 표시 범위 밖
+        }
+        double top = minuteY(start) + 1;
+        double height = minuteY(end) - top - 1;
+        double left = x + 3;
+        double blockWidth = width - 6;
+
+        Color fill = PALETTE[Math.floorMod(subject.getId(), PALETTE.length)];
+        gc.setFill(subject.getId() == hoveredId ? fill.darker() : fill);
+        gc.fillRoundRect(left, top, blockWidth, height, 8, 8);
+        gc.setStroke(fill.darker().darker());
+        gc.strokeRoundRect(left, top, blockWidth, height, 8, 8);
+
+        // 글자는 블록 높이에 들어가는 줄만
+        gc.setFill(Color.BLACK);
+        gc.setTextAlign(TextAlignment.LEFT);
+        gc.setTextBaseline(VPos.TOP);
+        double textY = top + 3;
+        double maxWidth = blockWidth - 8;
+        if (height >= 16) {
+            gc.setFont(TITLE_FONT);
+            gc.fillText(subject.getName(), left + 4, textY, maxWidth);
+            textY += 14;
+        }
+        gc.setFont(DETAIL_FONT);
+        if (textY + 13 <= top + height) {
+            gc.fillText(subject.getStartTime() + "~" + subject.getEndTime(), left + 4, textY, maxWidth);
+            textY += 13;
+        }
+        if (subject.getClassroom() != null && textY + 13 <= top + height) {
+            gc.fillText(subject.getClassroom(), left + 4, textY, maxWidth);
+        }
+    }
+
+    // ===== 마우스 =====
+
+    private void handleClick(MouseEvent event) {
+        int day = dayAt(event.getX());
+        int minute = minuteAt(event.getY());
+        if (day < 0 || minute < 0) {
+            return;
+        }
+        Subject subject = subjects.get(occupancy.subjectIdAt(day, minute));
+        if (subject != null) {
+            if (onSubjectClicked != null) onSubjectClicked.accept(subject);
+        } else if (onEmptySlotClicked != null) {
+            int slotMinute = minute / OccupancyMap.SLOT_MINUTES * OccupancyMap.SLOT_MINUTES;
+            onEmptySlotClicked.accept(DAY_NAMES[day], ConflictDetector.formatMinutes(slotMinute));
+        }
+    }
+
+    private void handleHover(MouseEvent event) {
+        int day = dayAt(event.getX());
+        int minute = minuteAt(event.getY());
+        setHovered(day < 0 || minute < 0 ? 0 : occupancy.subjectIdAt(day, minute));
+    }
+
+    /** 마우스가 올라간 과목이 바뀌면 그 두 과목의 열만 다시 그림 */
+    private void setHovered(int subjectId) {
+        if (subjectId == hoveredId) {
+            return;
+        }
+        markDay(subjects.get(hoveredId));
+        markDay(subjects.get(subjectId));
+        hoveredId = subjectId;
+        canvas.setCursor(subjectId != 0 ? Cursor.HAND : Cursor.DEFAULT);
+        requestRedraw();
+    }
+
+    // ===== 내부 =====
+
+    private void insert(Subject subject) {
+        subjects.put(subject.getId(), subject);
+        if (occupancy.add(subject)) {
+            subjectsByDay.get(dayIndex(subject.getDayOfWeek())).add(subject);
+            markDay(subject);
+        }
+    }
+
+    private void delete(int subjectId) {
+        Subject removed = subjects.remove(subjectId);
+        if (removed != null && occupancy.remove(subjectId)) {
+            subjectsByDay.get(dayIndex(removed.getDayOfWeek())).remove(removed);
+            markDay(removed);
+        }
+    }
+
+    private void markDay(Subject subject) {
+        if (subject != null) {
+            int day = dayIndex(subject.getDayOfWeek());
+            if (day >= 0) dirtyDays.set(day);
+        }
+    }
+
+    private int dayCount() {
+        return lastDay - firstDay + 1;
+    }
+
+    private double columnWidth() {
+        return (canvas.getWidth() - TIME_COLUMN_WIDTH) / dayCount();
+    }
+
+    private double columnX(int day) {
+        return TIME_COLUMN_WIDTH + (day - firstDay) * columnWidth();
+    }
+
+    private double minuteHeight() {
+        return (canvas.getHeight() - HEADER_HEIGHT) / (endMinute - startMinute);
+    }
+
+    private double minuteY(int minute) {
+        return HEADER_HEIGHT + (minute - startMinute) * minuteHeight();
+    }
+
+    /** 시작 시각 이후 첫 눈금 (step 의 배수) */
+    private int firstLine(int step) {
+        return (startMinute + step - 1) / step * step;
+    }
+
+    /** x 좌표의 요일 (범위 밖이면 -1) */
+    private int dayAt(double x) {
+        if (x < TIME_COLUMN_WIDTH || x >= canvas.getWidth()) return -1;
+        int day = firstDay + (int) ((x - TIME_COLUMN_WIDTH) / columnWidth());
+        return day <= lastDay ? day : -1;
+    }
+
+    /** y 좌표의 시각 (분, 범위 밖이면 -1) */
+    private int minuteAt(double y) {
+        if (y < HEADER_HEIGHT || y >= canvas.getHeight()) return -1;
+        int minute = startMinute + (int) ((y - HEADER_HEIGHT) / minuteHeight());
+        return minute < endMinute ? minute : -1;
+    }
+
+    private static int dayIndex(String dayOfWeek) {
+        for (int i = 0; i < DAY_NAMES.length; i++) {
+            if (DAY_NAMES[i].equals(dayOfWeek)) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,337 @@
+package timetable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import common.model.Subject;
+
+/**
+ * 시간표 충돌 검사 엔진
+ *
+ * 수업 시간을 "HH:mm" 문자열 비교 대신 자정부터의 분(int)으로 바꿔서, 요일별 구간 트리(interval tree)에 넣어 둡니다.
+ * 구간 트리는 시작 시각 순으로 정렬된 AVL 트리이고 각 노드에 서브트리의 가장 늦은 종료 시각을 기록해 두어,
+ * "이 시간대와 겹치는 수업"을 O(log n + k) 에 찾습니다. (k: 겹치는 수업 수)
+ * 수업 추가/삭제도 O(log n) 이라 시간표 화면처럼 과목이 조금씩 바뀌는 곳에 그대로 유지해서 씁니다.
+ *
+ * 전체 충돌 목록은 findAllConflicts() 로 요일별 정렬 + 스윕 라인 한 번에 구합니다. O(n log n + k)
+ *
+ * 시간 구간은 [시작, 종료) 로 보므로 10:00 에 끝나는 수업과 10:00 에 시작하는 수업은 겹치지 않습니다.
+ * 요일이나 시간이 없거나 형식이 잘못된 과목, 종료가 시작보다 빠른 과목은 검사 대상에서 빠집니다.
+ */
+public class ConflictDetector {
+
+    /** 두 과목의 충돌 한 건 */
+    public static final class Conflict {
+        private final Subject first;
+        private final Subject second;
+        private final String dayOfWeek;
+        private final int overlapStart;
+        private final int overlapEnd;
+
+        Conflict(Subject first, Subject second, String dayOfWeek, int overlapStart, int overlapEnd) {
+            this.first = first;
+            this.second = second;
+            this.dayOfWeek = dayOfWeek;
+            this.overlapStart = overlapStart;
+            this.overlapEnd = overlapEnd;
+        }
+
+        /** 먼저 시작하는 과목 */
+        public Subject getFirst() { return first; }
+        public Subject getSecond() { return second; }
+        public String getDayOfWeek() { return dayOfWeek; }
+        /** 겹치는 구간 (자정부터의 분) */
+        public int getOverlapStart() { return overlapStart; }
+        public int getOverlapEnd() { return overlapEnd; }
+
+        @Override
+        public String toString() {
+            return first.getName() + " ↔ " + second.getName()
+                    + " (" + dayOfWeek + " " + formatMinutes(overlapStart) + "~" + formatMinutes(overlapEnd) + ")";
+        }
+    }
+
+    // 요일 → 구간 트리
+    private final Map<String, IntervalTree> days = new HashMap<>();
+    // 과목 ID → 트리에 들어간 노드 (삭제/수정용)
+    private final Map<Integer, Node> nodesById = new HashMap<>();
+    private long sequence;
+
+    public ConflictDetector() {}
+
+    public ConflictDetector(Collection<Subject> subjects) {
+        for (Subject subject : subjects) {
+            add(subject);
+        }
+    }
+
+    /**
+     * 과목을 넣습니다. 같은 ID 가 이미 있으면 바꿉니다.
+     * @return 요일/시간이 올바르지 않아 넣지 않았으면 false
+     */
+    public boolean add(Subject subject) {
+        remove(subject.getId());
+        int start = parseMinutes(subject.getStartTime());
+        int end = parseMinutes(subject.getEndTime());
+        if (subject.getDayOfWeek() == null || start < 0 || end <= start) {
+            return false;
+        }
+        Node node = new Node(subject, subject.getDayOfWeek(), start, end, sequence++);
+        days.computeIfAbsent(node.day, day -> new IntervalTree()).insert(node);
+        nodesById.put(subject.getId(), node);
+        return true;
+    }
+
+    /** @return 해당 ID 의 과목이 들어 있었으면 true */
+    public boolean remove(int subjectId) {
+        Node node = nodesById.remove(subjectId);
+        if (node == null) {
+            return false;
+        }
+        // 과목 객체의 요일이 그 사이 바뀌었어도 넣을 때의 요일 트리에서 뺌
+        days.get(node.day).delete(node);
+        return true;
+    }
+
+    public void clear() {
+        days.clear();
+        nodesById.clear();
+    }
+
+    public int size() {
+        return nodesById.size();
+    }
+
+    /** 요일의 [start, end) 시간대와 겹치는 과목들 (시작 시각 순) */
+    public List<Subject> findOverlapping(String dayOfWeek, String startTime, String endTime) {
+        int start = parseMinutes(startTime);
+        int end = parseMinutes(endTime);
+        List<Subject> result = new ArrayList<>();
+        IntervalTree tree = days.get(dayOfWeek);
+        if (tree != null && start >= 0 && end > start) {
+            tree.collectOverlapping(start, end, result);
+        }
+        return result;
+    }
+
+    /** 그 시각에 진행 중인 과목들 (start <= time < end) */
+    public List<Subject> findAt(String dayOfWeek, String time) {
+        int minute = parseMinutes(time);
+        List<Subject> result = new ArrayList<>();
+        IntervalTree tree = days.get(dayOfWeek);
+        if (tree != null && minute >= 0) {
+            tree.collectOverlapping(minute, minute + 1, result);
+        }
+        return result;
+    }
+
+    /** 과목과 시간이 겹치는 다른 과목이 있는지 (exceptId 과목은 제외, 수정할 때 자기 자신 제외용) */
+    public boolean hasConflict(Subject subject, int exceptId) {
+        for (Subject other : findOverlapping(subject.getDayOfWeek(), subject.getStartTime(), subject.getEndTime())) {
+            if (other.getId() != exceptId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 모든 충돌 쌍을 구합니다. (요일 → 시작 시각 순 정렬 후 스윕 라인)
+     * 시작 순으로 훑으면서 아직 끝나지 않은 수업들을 종료 시각 순 힙에 두고,
+     * 새 수업이 시작될 때 이미 끝난 수업을 힙에서 빼면 남은 수업이 모두 새 수업과 겹칩니다.
+     */
+    public static List<Conflict> findAllConflicts(Collection<Subject> subjects) {
+        Map<String, List<Node>> byDay = new HashMap<>();
+        long order = 0;
+        for (Subject subject : subjects) {
+            int start = parseMinutes(subject.getStartTime());
+            int end = parseMinutes(subject.getEndTime());
+            if (subject.getDayOfWeek() != null && start >= 0 && end > start) {
+                byDay.computeIfAbsent(subject.getDayOfWeek(), day -> new ArrayList<>())
+                        .add(new Node(subject, subject.getDayOfWeek(), start, end, order++));
+            }
+        }
+
+        List<Conflict> conflicts = new ArrayList<>();
+        PriorityQueue<Node> active = new PriorityQueue<>(Comparator.comparingInt((Node node) -> node.end));
+        for (Map.Entry<String, List<Node>> day : byDay.entrySet()) {
+            List<Node> nodes = day.getValue();
+            nodes.sort(Node::compareTo);
+            active.clear();
+            for (Node node : nodes) {
+                while (!active.isEmpty() && active.peek().end <= node.start) {
+                    active.poll();
+                }
+                for (Node open : active) {
+                    conflicts.add(new Conflict(open.subject, node.subject, day.getKey(),
+                            node.start, Math.min(open.end, node.end)));
+                }
+                active.add(node);
+            }
+        }
+        return conflicts;
+    }
+
+    /** "HH:mm" (또는 "H:mm") → 자정부터의 분, 형식이 아니면 -1 */
+    public static int parseMinutes(String time) {
+        if (time == null) return -1;
+        String value = time.trim();
+        int colon = value.indexOf(':');
+        if (colon < 1 || colon > 2 || value.length() != colon + 3) return -1;
+        int hours = digits(value, 0, colon);
+        int minutes = digits(value, colon + 1, value.length());
+        if (hours < 0 || hours > 24 || minutes < 0 || minutes > 59 || (hours == 24 && minutes > 0)) return -1;
+        return hours * 60 + minutes;
+    }
+
+    static String formatMinutes(int minutes) {
+        return String.format("%02d:%02d", minutes / 60, minutes % 60);
+    }
+
+    private static int digits(String value, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    // ===== 구간 트리 (시작 시각 기준 AVL + 서브트리 최대 종료 시각) =====
+
+    private static final class Node implements Comparable<Node> {
+        final Subject subject;
+        final String day;    // 넣을 때의 요일 (subject 는 밖에서 바뀔 수 있음)
+        final int start;
+        final int end;
+        final long order;    // 시작/종료가 같은 수업끼리도 순서가 정해지도록
+        Node left;
+        Node right;
+        int height = 1;
+        int maxEnd;
+
+        Node(Subject subject, String day, int start, int end, long order) {
+            this.subject = subject;
+            this.day = day;
+            this.start = start;
+            this.end = end;
+            this.order = order;
+            this.maxEnd = end;
+        }
+
+        @Override
+        public int compareTo(Node other) {
+            if (start != other.start) return Integer.compare(start, other.start);
+            if (end != other.end) return Integer.compare(end, other.end);
+            return Long.compare(order, other.order);
+        }
+    }
+
+    private static final class IntervalTree {
+        private Node root;
+
+        void insert(Node node) {
+            root = insert(root, node);
+        }
+
+        void delete(Node node) {
+            root = delete(root, node);
+        }
+
+        /** [start, end) 와 겹치는 노드를 시작 순으로 모읍니다. */
+        void collectOverlapping(int start, int end, List<Subject> out) {
+            collect(root, start, end, out);
+        }
+
+        private static void collect(Node node, int start, int end, List<Subject> out) {
+            // 이 서브트리에서 가장 늦게 끝나는 수업도 start 전에 끝나면 겹칠 수 없음
+            if (node == null || node.maxEnd <= start) return;
+            collect(node.left, start, end, out);
+            if (node.start >= end) return;   // 오른쪽은 더 늦게 시작하므로 볼 필요 없음
+            if (node.end > start) out.add(node.subject);
+            collect(node.right, start, end, out);
+        }
+
+        private static Node insert(Node node, Node added) {
+            if (node == null) return added;
+            if (added.compareTo(node) < 0) node.left = insert(node.left, added);
+            else node.right = insert(node.right, added);
+            return balance(node);
+        }
+
+        private static Node delete(Node node, Node removed) {
+            if (node == null) return null;
+            int cmp = removed.compareTo(node);
+            if (cmp < 0) {
+                node.left = delete(node.left, removed);
+            } else if (cmp > 0) {
+                node.right = delete(node.right, removed);
+            } else {
+                if (node.left == null) return node.right;
+                if (node.right == null) return node.left;
+                Node successor = node.right;
+                while (successor.left != null) successor = successor.left;
+                successor.right = deleteMin(node.right);
+                successor.left = node.left;
+                node = successor;
+            }
+            return balance(node);
+        }
+
+        private static Node deleteMin(Node node) {
+            if (node.left == null) return node.right;
+            node.left = deleteMin(node.left);
+            return balance(node);
+        }
+
+        private static Node balance(Node node) {
+            update(node);
+            int factor = height(node.left) - height(node.right);
+            if (factor > 1) {
+                if (height(node.left.left) < height(node.left.right)) node.left = rotateLeft(node.left);
+                return rotateRight(node);
+            }
+            if (factor < -1) {
+                if (height(node.right.right) < height(node.right.left)) node.right = rotateRight(node.right);
+                return rotateLeft(node);
+            }
+            return node;
+        }
+
+        private static Node rotateRight(Node node) {
+            Node pivot = node.left;
+            node.left = pivot.right;
+            pivot.right = node;
+            update(node);
+            update(pivot);
+            return pivot;
+        }
+
+        private static Node rotateLeft(Node node) {
+            Node pivot = node.right;
+            node.right = pivot.left;
+            pivot.left = node;
+            update(node);
+            update(pivot);
+            return pivot;
+        }
+
+        private static void update(Node node) {
+            node.height = 1 + Math.max(height(node.left), height(node.right));
+            int maxEnd = node.end;
+            if (node.left != null) maxEnd = Math.max(maxEnd, node.left.maxEnd);
+            if (node.right != null) maxEnd = Math.max(maxEnd, node.right.maxEnd);
+            node.maxEnd = maxEnd;
+        }
+
+        private static int height(Node node) {
+            return node == null ? 0 : node.height;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package timetable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import common.model.Subject;
+
+/**
+ * 요일별 수업 점유 지도 (시간표 칸 클릭/빈 시간 조회용)
+ *
+ * 하루를 5분 단위 288칸으로 나누고, 요일마다 칸의 점유 여부를 long 비트셋(5워드)으로,
+ * 칸을 차지한 과목 ID 를 int 배열로 들고 있습니다.
+ * 따라서 "이 시각의 수업"은 배열 한 번 읽기(O(1)), "이 시간대가 비었는지"는 비트 마스크 몇 번으로 끝납니다.
+ *
+ * 수업이 겹치면 먼저 넣은 과목이 칸을 차지하고, 그 과목을 빼면 겹쳐 있던 과목이 빈 칸을 다시 채웁니다.
+ * 요일은 "월"~"일", 시간은 "HH:mm" 이며 형식이 잘못된 과목은 무시합니다.
+ */
+public class OccupancyMap {
+    /** 칸 하나의 길이 (분) */
+    public static final int SLOT_MINUTES = 5;
+    private static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    private static final int WORDS_PER_DAY = (SLOTS_PER_DAY + 63) / 64;
+    private static final String DAYS = "월화수목금토일";
+
+    /** 비어 있는 시간 구간 [start, end) */
+    public static final class Range {
+        private final int startMinute;
+        private final int endMinute;
+
+        Range(int startMinute, int endMinute) {
+            this.startMinute = startMinute;
+            this.endMinute = endMinute;
+        }
+
+        public int getStartMinute() { return startMinute; }
+        public int getEndMinute() { return endMinute; }
+        public String getStartTime() { return ConflictDetector.formatMinutes(startMinute); }
+        public String getEndTime() { return ConflictDetector.formatMinutes(endMinute); }
+
+        @Override
+        public String toString() {
+            return getStartTime() + "~" + getEndTime();
+        }
+    }
+
+    private final long[][] occupied = new long[DAYS.length()][WORDS_PER_DAY];
+    private final int[][] owners = new int[DAYS.length()][SLOTS_PER_DAY];
+    // 과목 ID → {요일, 시작 칸, 끝 칸(제외)} (빼거나 겹친 칸을 다시 채울 때 사용)
+    private final Map<Integer, int[]> placements = new HashMap<>();
+    // 요일별 과목 배치 (넣은 순서 유지, 뺀 칸을 먼저 넣은 과목부터 다시 채우기 위함)
+    private final List<Map<Integer, int[]>> placementsByDay = new ArrayList<>();
+
+    public OccupancyMap() {
+        for (int day = 0; day < DAYS.length(); day++) {
+            placementsByDay.add(new LinkedHashMap<>());
+        }
+    }
+
+    /**
+     * 과목이 차지하는 칸을 표시합니다. 같은 ID 가 이미 있으면 바꿉니다.
+     * @return 요일/시간이 올바르지 않아 넣지 않았으면 false
+     */
+    public boolean add(Subject subject) {
+        remove(subject.getId());
+        int day = dayIndex(subject.getDayOfWeek());
+        int start = ConflictDetector.parseMinutes(subject.getStartTime());
+        int end = ConflictDetector.parseMinutes(subject.getEndTime());
+        if (day < 0 || start < 0 || end <= start) {
+            return false;
+        }
+        int[] placement = {day, start / SLOT_MINUTES, (end + SLOT_MINUTES - 1) / SLOT_MINUTES};
+        placements.put(subject.getId(), placement);
+        placementsByDay.get(day).put(subject.getId(), placement);
+        fill(subject.getId(), placement);
+        return true;
+    }
+
+    /** @return 해당 ID 의 과목이 있었으면 true */
+    public boolean remove(int subjectId) {
+        int[] placement = placements.remove(subjectId);
+        if (placement == null) {
+            return false;
+        }
+        int day = placement[0];
+        placementsByDay.get(day).remove(subjectId);
+        for (int slot = placement[1]; slot < placement[2]; slot++) {
+            if (owners[day][slot] == subjectId) {
+                owners[day][slot] = 0;
+                occupied[day][slot >>> 6] &= ~(1L << slot);
+            }
+        }
+        // 겹쳐 있던 같은 요일 과목이 먼저 넣은 순서대로 빈 칸을 다시 차지
+        for (Map.Entry<Integer, int[]> other : placementsByDay.get(day).entrySet()) {
+            int[] p = other.getValue();
+            if (p[1] < placement[2] && placement[1] < p[2]) {
+                fill(other.getKey(), p);
+            }
+        }
+        return true;
+    }
+
+    public void clear() {
+        for (int day = 0; day < DAYS.length(); day++) {
+            Arrays.fill(occupied[day], 0L);
+            Arrays.fill(owners[day], 0);
+        }
+        placements.clear();
+        placementsByDay.forEach(Map::clear);
+    }
+
+    /** 그 시각에 수업 중인 과목 ID (없으면 0) - O(1) */
+    public int subjectIdAt(String dayOfWeek, String time) {
+        return subjectIdAt(dayIndex(dayOfWeek), ConflictDetector.parseMinutes(time));
+    }
+
+    /** dayIndex: 0(월) ~ 6(일), minute: 자정부터의 분 */
+    public int subjectIdAt(int dayIndex, int minute) {
+        if (dayIndex < 0 || dayIndex >= DAYS.length() || minute < 0 || minute >= 24 * 60) {
+            return 0;
+        }
+        return owners[dayIndex][minute / SLOT_MINUTES];
+    }
+
+    public boolean isOccupied(String dayOfWeek, String time) {
+        return subjectIdAt(dayOfWeek, time) != 0;
+    }
+
+    /** [start, end) 시간대가 모두 비어 있는지 (비트 마스크로 64칸씩 검사) */
+    public boolean isFree(String dayOfWeek, String startTime, String endTime) {
+        int day = dayIndex(dayOfWeek);
+        int start = ConflictDetector.parseMinutes(startTime);
+        int end = ConflictDetector.parseMinutes(endTime);
+        if (day < 0 || start < 0 || end <= start) {
+            return false;
+        }
+        int from = start / SLOT_MINUTES;
+        int to = (end + SLOT_MINUTES - 1) / SLOT_MINUTES;
+        long[] words = occupied[day];
+        for (int word = from >>> 6; word <= (to - 1) >>> 6; word++) {
+            long mask = -1L;
+            if (word == from >>> 6) mask &= -1L << from;              // 시프트는 하위 6비트만 사용
+            if (word == (to - 1) >>> 6) mask &= -1L >>> (63 - ((to - 1) & 63));
+            if ((words[word] & mask) != 0) return false;
+        }
+        return true;
+    }
+
+    /** 그 시각을 포함하는 연속된 빈 시간 (수업 중이면 null) */
+    public Range freeRangeAt(String dayOfWeek, String time) {
+        int day = dayIndex(dayOfWeek);
+        int minute = ConflictDetector.parseMinutes(time);
+        if (day < 0 || minute < 0 || minute >= 24 * 60) return null;
+        int slot = minute / SLOT_MINUTES;
+        if (isSet(day, slot)) return null;
+        int start = slot;
+        while (start > 0 && !isSet(day, start - 1)) start--;
+        int end = nextSetSlot(day, slot);
+        return new Range(start * SLOT_MINUTES, end * SLOT_MINUTES);
+    }
+
+    /** [from, to) 사이에서 minMinutes 이상 비어 있는 구간들 (시간 순) */
+    public List<Range> findFreeRanges(String dayOfWeek, String fromTime, String toTime, int minMinutes) {
+        List<Range> ranges = new ArrayList<>();
+        int day = dayIndex(dayOfWeek);
+        int from = ConflictDetector.parseMinutes(fromTime);
+        int to = ConflictDetector.parseMinutes(toTime);
+        if (day < 0 || from < 0 || to <= from) return ranges;
+
+        int slot = from / SLOT_MINUTES;
+        int last = (to + SLOT_MINUTES - 1) / SLOT_MINUTES;
+        while (slot < last) {
+            slot = nextClearSlot(day, slot);
+            if (slot >= last) break;
+            int end = Math.min(nextSetSlot(day, slot), last);
+            int startMinute = Math.max(from, slot * SLOT_MINUTES);
+            int endMinute = Math.min(to, end * SLOT_MINUTES);
+            if (endMinute - startMinute >= minMinutes) {
+                ranges.add(new Range(startMinute, endMinute));
+            }
+            slot = end;
+        }
+        return ranges;
+    }
+
+    // ===== 내부 =====
+
+    private void fill(int subjectId, int[] placement) {
+        int day = placement[0];
+        for (int slot = placement[1]; slot < placement[2]; slot++) {
+            if (owners[day][slot] == 0) {
+                owners[day][slot] = subjectId;
+                occupied[day][slot >>> 6] |= 1L << slot;
+            }
+        }
+    }
+
+    private boolean isSet(int day, int slot) {
+        return (occupied[day][slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    /** slot 부터 처음으로 점유된 칸 (없으면 SLOTS_PER_DAY) */
+    private int nextSetSlot(int day, int slot) {
+        int word = slot >>> 6;
+        long bits = occupied[day][word] & (-1L << slot);
+        while (bits == 0) {
+            if (++word == WORDS_PER_DAY) return SLOTS_PER_DAY;
+            bits = occupied[day][word];
+        }
+        return Math.min(SLOTS_PER_DAY, word * 64 + Long.numberOfTrailingZeros(bits));
+    }
+
+    /** slot 부터 처음으로 비어 있는 칸 (없으면 SLOTS_PER_DAY) */
+    private int nextClearSlot(int day, int slot) {
+        int word = slot >>> 6;
+        long bits = ~occupied[day][word] & (-1L << slot);
+        while (bits == 0) {
+            if (++word == WORDS_PER_DAY) return SLOTS_PER_DAY;
+            bits = ~occupied[day][word];
+        }
+        return Math.min(SLOTS_PER_DAY, word * 64 + Long.numberOfTrailingZeros(bits));
+    }
+
+    private static int dayIndex(String dayOfWeek) {
+        return dayOfWeek == null || dayOfWeek.length() != 1 ? -1 : DAYS.indexOf(dayOfWeek.charAt(0));
+    }
+}
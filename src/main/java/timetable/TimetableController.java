@@ -1,5 +1,6 @@
 package timetable;
 
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
@@ -7,6 +8,7 @@ import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.*;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 import javafx.stage.Modality;
 import javafx.scene.Scene;
@@ -15,10 +17,17 @@ import common.model.Subject;
 import common.model.Assignment;
 import common.model.Exam;
 import common.database.DatabaseManager;
+import common.database.TableSnapshot;
 
+import java.io.File;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -40,6 +49,21 @@ public class TimetableController extends VBox {
     private ObservableList<SubjectTableItem> subjectData;
     private DatabaseManager dbManager;
     
+    // 셀 버튼 행렬 [요일][시간칸] (GridPane 자식을 매번 찾지 않도록 직접 보관)
+    private Button[][] cells;
+    // 셀마다 그려진 과목 ID (0 이면 빈 셀)
+    private int[][] cellOwners;
+    // 지금 시간표에 그려진 과목 (ID → 그릴 때의 과목 객체)
+    private final Map<Integer, Subject> placedSubjects = new HashMap<>();
+    // 그려진 과목들의 요일별 구간 트리 (시간 충돌 검사용, placedSubjects 와 함께 갱신)
+    private final ConflictDetector conflictDetector = new ConflictDetector();
+    // 시간표·충돌 검사기에 마지막으로 반영한 과목 스냅샷 버전 (다른 곳에서 바뀐 과목을 알아채기 위함)
+    private long syncedSubjectVersion = -1;
+    // 요일별 점유 비트셋 (칸 클릭 시 과목 찾기, 빈 시간 조회용)
+    private final OccupancyMap occupancy = new OccupancyMap();
+    // Canvas 로 그리는 시간표 (5분 단위, 전환 버튼으로 그리드 대신 표시)
+    private final CanvasTimetableView canvasView = new CanvasTimetableView();
+    
     private static final String[] DAYS = {"월", "화", "수", "목", "금", "토", "일"};
     private static final String[] TIME_SLOTS = {
         "09:00", "09:30", "10:00", "10:30", "11:00", "11:30",
@@ -98,6 +122,8 @@ public class TimetableController extends VBox {
         timetableGrid.setVgap(2);
         timetableGrid.setPadding(new Insets(10));
         timetableGrid.setStyle("-fx-background-color: white; -fx-border-color: #ddd;");
+        cells = new Button[DAYS.length][TIME_SLOTS.length];
+        cellOwners = new int[DAYS.length][TIME_SLOTS.length];
         
         // 헤더 생성
         Label timeHeader = new Label("시간");
@@ -131,6 +157,7 @@ public class TimetableController extends VBox {
                 final int finalHour = hour;
                 cellButton.setOnAction(e -> handleCellClick(finalDay, finalHour));
                 
+                cells[day][hour] = cellButton;
                 timetableGrid.add(cellButton, day + 1, hour + 1);
             }
         }
@@ -189,7 +216,22 @@ public class TimetableController extends VBox {
         timetableScroll.setPrefHeight(500);
         timetableScroll.setFitToWidth(true);
         
-        leftPane.getChildren().addAll(timetableTitle, timetableScroll);
+        // 그리드 ↔ Canvas 시간표 전환
+        canvasView.setDayRange(0, DAYS.length - 1);
+        canvasView.setTimeRange(TIME_SLOTS[0], "21:00");
+        canvasView.setOnSubjectClicked(this::showSubjectDetails);
+        canvasView.setOnEmptySlotClicked(this::handleSlotClick);
+        ToggleButton canvasToggle = new ToggleButton("🎨 상세 보기");
+        canvasToggle.setOnAction(e -> timetableScroll.setContent(canvasToggle.isSelected() ? canvasView : timetableGrid));
+        
+        Region titleSpacer = new Region();
+        HBox.setHgrow(titleSpacer, Priority.ALWAYS);
+        Button generatorButton = new Button("🧩 자동 시간표");
+        generatorButton.setOnAction(e -> showGeneratorDialog());
+        HBox timetableHeader = new HBox(10, timetableTitle, titleSpacer, generatorButton, canvasToggle);
+        timetableHeader.setAlignment(Pos.CENTER_LEFT);
+        
+        leftPane.getChildren().addAll(timetableHeader, timetableScroll);
         
         // 오른쪽: 입력 폼과 과목 목록
         VBox rightPane = new VBox(15);
@@ -272,36 +314,39 @@ public class TimetableController extends VBox {
     }
     
     private void handleCellClick(int day, int hour) {
-        String dayName = DAYS[day];
-        String time = TIME_SLOTS[hour];
-        
+        handleSlotClick(DAYS[day], TIME_SLOTS[hour]);
+    }
+    
+    /** 시간표 칸 클릭 (그리드는 30분, Canvas 는 5분 단위 시각) */
+    private void handleSlotClick(String dayName, String time) {
         Optional<Subject> existingSubject = findSubjectAtTime(dayName, time);
         
         if (existingSubject.isPresent()) {
             showSubjectDetails(existingSubject.get());
         } else {
             dayComboBox.setValue(dayName);
-            startTimeComboBox.setValue(time);
+            startTimeComboBox.setValue(toTimeSlot(time));
+            OccupancyMap.Range freeRange = occupancy.freeRangeAt(dayName, time);
             
             Alert alert = new Alert(Alert.AlertType.INFORMATION);
             alert.setTitle("시간표");
             alert.setHeaderText(dayName + " " + time);
-            alert.setContentText("이 시간에는 수업이 없습니다.\n오른쪽 폼에서 새 수업을 추가할 수 있습니다.");
+            alert.setContentText("이 시간에는 수업이 없습니다." + (freeRange != null ? " (빈 시간: " + freeRange + ")" : "")
+                    + "\n오른쪽 폼에서 새 수업을 추가할 수 있습니다.");
             alert.showAndWait();
         }
     }
     
-    private Optional<Subject> findSubjectAtTime(String day, String time) {
-        List<Subject> subjects = dbManager.getAllSubjects();
-        return subjects.stream()
-                .filter(s -> day.equals(s.getDayOfWeek()) && 
-                           isTimeInRange(time, s.getStartTime(), s.getEndTime()))
-                .findFirst();
+    /** 폼 콤보에 맞게 30분 단위로 내림 */
+    private String toTimeSlot(String time) {
+        int minutes = ConflictDetector.parseMinutes(time);
+        return minutes < 0 ? time : ConflictDetector.formatMinutes(minutes / 30 * 30);
     }
     
-    private boolean isTimeInRange(String time, String startTime, String endTime) {
-        if (startTime == null || endTime == null) return false;
-        return time.compareTo(startTime) >= 0 && time.compareTo(endTime) < 0;
+    /** 점유 비트셋에서 칸 주인을 바로 읽음 (O(1)) */
+    private Optional<Subject> findSubjectAtTime(String day, String time) {
+        ensureSubjectsSynced();
+        return Optional.ofNullable(placedSubjects.get(occupancy.subjectIdAt(day, time)));
     }
     
     private void showSubjectDetails(Subject subject) {
@@ -364,7 +409,7 @@ public class TimetableController extends VBox {
             
             dbManager.addSubject(newSubject);
             loadSubjects();
-            refreshTimetableGrid();
+            syncTimetableGrid();
             clearForm();
             
             showAlert("성공", "과목이 추가되었습니다!");
@@ -392,7 +437,7 @@ public class TimetableController extends VBox {
             
             dbManager.updateSubject(updatedSubject);
             loadSubjects();
-            refreshTimetableGrid();
+            syncTimetableGrid();
             clearForm();
             
             showAlert("성공", "과목이 수정되었습니다!");
@@ -418,7 +463,7 @@ public class TimetableController extends VBox {
         if (result.isPresent() && result.get() == ButtonType.OK) {
             dbManager.deleteSubject(selected.getId());
             loadSubjects();
-            refreshTimetableGrid();
+            syncTimetableGrid();
             clearForm();
             
             showAlert("성공", "과목이 삭제되었습니다!");
@@ -456,22 +501,18 @@ public class TimetableController extends VBox {
     }
     
     private boolean hasTimeConflictExcept(Subject newSubject, int exceptId) {
-        List<Subject> subjects = dbManager.getAllSubjects();
-        
-        return subjects.stream()
-                .filter(s -> s.getId() != exceptId)
-                .filter(s -> newSubject.getDayOfWeek().equals(s.getDayOfWeek()))
-                .anyMatch(s -> timeOverlap(
-                    newSubject.getStartTime(), newSubject.getEndTime(),
-                    s.getStartTime(), s.getEndTime()
-                ));
+        ensureSubjectsSynced();
+        return conflictDetector.hasConflict(newSubject, exceptId);
     }
     
-    private boolean timeOverlap(String start1, String end1, String start2, String end2) {
-        if (start1 == null || end1 == null || start2 == null || end2 == null) {
-            return false;
+    /**
+     * 가져오기·초기화·다른 화면·저널 재적재 등으로 과목이 바뀌었으면 시간표 캐시를 먼저 맞춥니다.
+     * (스냅샷 버전만 비교하므로 바뀐 것이 없으면 비용이 없음)
+     */
+    private void ensureSubjectsSynced() {
+        if (dbManager.getSubjectSnapshot().getVersion() != syncedSubjectVersion) {
+            syncTimetableGrid();
         }
-        return start1.compareTo(end2) < 0 && start2.compareTo(end1) < 0;
     }
     
     private void loadSubjectToForm(SubjectTableItem item) {
@@ -506,26 +547,83 @@ public class TimetableController extends VBox {
         }
     }
     
+    /** 시간표 전체를 다시 그립니다. (처음 화면을 만들 때) */
     private void refreshTimetableGrid() {
-        // 모든 셀 초기화
         for (int day = 0; day < DAYS.length; day++) {
             for (int hour = 0; hour < TIME_SLOTS.length; hour++) {
-                Button cell = (Button) getNodeFromGridPane(timetableGrid, day + 1, hour + 1);
-                if (cell != null) {
-                    cell.setText("");
-                    cell.setStyle("-fx-background-color: white; -fx-border-color: #DEE2E6;");
-                }
+                clearCell(day, hour);
             }
         }
+        placedSubjects.clear();
+        conflictDetector.clear();
+        occupancy.clear();
         
-        // 과목 정보로 셀 채우기
-        List<Subject> subjects = dbManager.getAllSubjects();
+        // 이름이 같은 과목(여러 요일에 듣는 분반)도 모두 그려야 하므로 과목 테이블 전체 스냅샷을 사용
+        TableSnapshot<Subject> subjects = dbManager.getSubjectSnapshot();
         for (Subject subject : subjects) {
             addSubjectToGrid(subject);
         }
+        canvasView.setSubjects(subjects);
+        syncedSubjectVersion = subjects.getVersion();
+    }
+    
+    /**
+     * 바뀐 과목만 시간표에 반영합니다.
+     * 과목은 수정될 때마다 새 객체로 저장되므로, 그려 둔 객체와 다른 과목만 지우고 다시 그립니다.
+     * (과목 하나를 고치면 그 과목이 차지했던 셀과 새로 차지하는 셀만 바뀜)
+     */
+    private void syncTimetableGrid() {
+        TableSnapshot<Subject> subjects = dbManager.getSubjectSnapshot();
+        Map<Integer, Subject> current = new HashMap<>();
+        for (Subject subject : subjects) {
+            current.put(subject.getId(), subject);
+        }
+        
+        Iterator<Subject> placed = placedSubjects.values().iterator();
+        while (placed.hasNext()) {
+            Subject subject = placed.next();
+            if (current.get(subject.getId()) != subject) {
+                placed.remove();
+                conflictDetector.remove(subject.getId());
+                occupancy.remove(subject.getId());
+                canvasView.removeSubject(subject.getId());
+                removeSubjectFromGrid(subject);
+            }
+        }
+        for (Subject subject : subjects) {
+            if (placedSubjects.get(subject.getId()) != subject) {
+                addSubjectToGrid(subject);
+            }
+        }
+        syncedSubjectVersion = subjects.getVersion();
     }
     
     private void addSubjectToGrid(Subject subject) {
+        placedSubjects.put(subject.getId(), subject);
+        conflictDetector.add(subject);
+        occupancy.add(subject);
+        canvasView.putSubject(subject);
+        paintSubject(subject);
+    }
+    
+    /** 과목이 차지했던 셀을 비우고, 그 자리에 겹쳐 있던 다른 과목이 있으면 다시 그립니다. (충돌 검사기에서 먼저 뺀 뒤 호출) */
+    private void removeSubjectFromGrid(Subject subject) {
+        int dayIndex = getDayIndex(subject.getDayOfWeek());
+        if (dayIndex == -1) {
+            return;
+        }
+        for (int timeIndex = 0; timeIndex < TIME_SLOTS.length; timeIndex++) {
+            if (cellOwners[dayIndex][timeIndex] == subject.getId()) {
+                clearCell(dayIndex, timeIndex);
+            }
+        }
+        for (Subject other : conflictDetector.findOverlapping(subject.getDayOfWeek(), subject.getStartTime(), subject.getEndTime())) {
+            paintSubject(other);
+        }
+    }
+    
+    /** 과목이 차지하는 빈 셀을 칠합니다. (이미 다른 과목이 그려진 셀은 그대로) */
+    private void paintSubject(Subject subject) {
         if (subject.getDayOfWeek() == null || subject.getStartTime() == null || subject.getEndTime() == null) {
             return;
         }
@@ -539,18 +637,28 @@ public class TimetableController extends VBox {
         }
         
         for (int timeIndex = startTimeIndex; timeIndex < endTimeIndex; timeIndex++) {
-            Button cell = (Button) getNodeFromGridPane(timetableGrid, dayIndex + 1, timeIndex + 1);
-            if (cell != null) {
-                if (timeIndex == startTimeIndex) {
-                    cell.setText(subject.getName() + "\n(" + subject.getStartTime() + "~" + subject.getEndTime() + ")");
-                } else {
-                    cell.setText("↑");
-                }
-                cell.setStyle("-fx-background-color: lightblue; -fx-border-color: #007bff; -fx-text-fill: black; -fx-font-size: 10px;");
+            int owner = cellOwners[dayIndex][timeIndex];
+            if (owner != 0 && owner != subject.getId()) {
+                continue;
             }
+            Button cell = cells[dayIndex][timeIndex];
+            if (timeIndex == startTimeIndex) {
+                cell.setText(subject.getName() + "\n(" + subject.getStartTime() + "~" + subject.getEndTime() + ")");
+            } else {
+                cell.setText("↑");
+            }
+            cell.setStyle("-fx-background-color: lightblue; -fx-border-color: #007bff; -fx-text-fill: black; -fx-font-size: 10px;");
+            cellOwners[dayIndex][timeIndex] = subject.getId();
         }
     }
     
+    private void clearCell(int day, int hour) {
+        Button cell = cells[day][hour];
+        cell.setText("");
+        cell.setStyle("-fx-background-color: white; -fx-border-color: #DEE2E6;");
+        cellOwners[day][hour] = 0;
+    }
+    
     private int getDayIndex(String day) {
         for (int i = 0; i < DAYS.length; i++) {
             if (DAYS[i].equals(day)) {
@@ -569,18 +677,6 @@ public class TimetableController extends VBox {
         return -1;
     }
     
-    private javafx.scene.Node getNodeFromGridPane(GridPane gridPane, int col, int row) {
-        for (javafx.scene.Node node : gridPane.getChildren()) {
-            Integer nodeCol = GridPane.getColumnIndex(node);
-            Integer nodeRow = GridPane.getRowIndex(node);
-            
-            if (nodeCol != null && nodeRow != null && nodeCol == col && nodeRow == row) {
-                return node;
-            }
-        }
-        return null;
-    }
-    
     private void viewSubjectAssignments() {
         SubjectTableItem selected = subjectTable.getSelectionModel().getSelectedItem();
         if (selected == null) {
@@ -695,6 +791,101 @@ public class TimetableController extends VBox {
         dialog.showAndWait();
     }
     
+    /**
+     * 분반 카탈로그(CSV)에서 지금 시간표와 겹치지 않는 조합을 찾아 고른 조합을 한 번에 추가합니다.
+     * 탐색은 백그라운드 스레드(Fork/Join)에서 하고 결과만 화면에 반영합니다.
+     */
+    private void showGeneratorDialog() {
+        Stage dialog = new Stage();
+        dialog.initModality(Modality.APPLICATION_MODAL);
+        dialog.setTitle("자동 시간표");
+        
+        VBox content = new VBox(10);
+        content.setPadding(new Insets(20));
+        
+        List<TimetableGenerator.Section> catalog = new ArrayList<>();
+        Label catalogLabel = new Label("카탈로그를 불러오세요. (과목명, 분반, 학점, 교수, 강의실, 구분, 요일, 시작, 종료)");
+        Button loadButton = new Button("📂 카탈로그 불러오기");
+        
+        CheckBox morningCheck = new CheckBox("오전 수업 피하기 (10:00 전)");
+        CheckBox fridayCheck = new CheckBox("금요일 공강");
+        CheckBox compactCheck = new CheckBox("공강 시간·등교 일수 줄이기");
+        compactCheck.setSelected(true);
+        
+        Button searchButton = new Button("🔍 조합 찾기");
+        searchButton.setDisable(true);
+        Label statusLabel = new Label();
+        ListView<TimetableGenerator.Schedule> resultList = new ListView<>();
+        resultList.setPrefHeight(300);
+        
+        loadButton.setOnAction(e -> {
+            FileChooser chooser = new FileChooser();
+            chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV", "*.csv"));
+            File file = chooser.showOpenDialog(dialog);
+            if (file == null) return;
+            try {
+                catalog.clear();
+                catalog.addAll(TimetableGenerator.loadCatalog(file.toPath()));
+                catalogLabel.setText(file.getName() + ": 분반 " + catalog.size() + "개");
+                searchButton.setDisable(catalog.isEmpty());
+                resultList.getItems().clear();
+            } catch (IOException ex) {
+                showAlert("오류", "카탈로그를 읽지 못했습니다: " + ex.getMessage());
+            }
+        });
+        
+        searchButton.setOnAction(e -> {
+            TimetableGenerator.Preferences preferences = new TimetableGenerator.Preferences()
+                    .preferCompactDays(compactCheck.isSelected());
+            if (morningCheck.isSelected()) preferences.avoidClassesBefore("10:00");
+            if (fridayCheck.isSelected()) preferences.preferFreeDay("금");
+            TimetableGenerator generator = new TimetableGenerator(catalog)
+                    .setBlocked(dbManager.getSubjectSnapshot())
+                    .setMaxResults(1_000_000);
+            
+            searchButton.setDisable(true);
+            statusLabel.setText("조합을 찾는 중... (" + generator.getCombinationCount() + "가지 확인)");
+            Thread worker = new Thread(() -> {
+                TimetableGenerator.Result result = generator.findBest(preferences, 50);
+                Platform.runLater(() -> {
+                    resultList.getItems().setAll(result.getBest());
+                    statusLabel.setText(String.format("조합 %d개%s 중 상위 %d개 (%dms)", result.getFound(),
+                            result.isTruncated() ? " 이상" : "", result.getBest().size(), result.getElapsedMillis()));
+                    searchButton.setDisable(false);
+                });
+            }, "timetable-generator");
+            worker.setDaemon(true);
+            worker.start();
+        });
+        
+        Button applyButton = new Button("✅ 선택한 조합 추가");
+        applyButton.setStyle("-fx-background-color: #4A90E2; -fx-text-fill: white; -fx-font-weight: bold;");
+        applyButton.setOnAction(e -> {
+            TimetableGenerator.Schedule selected = resultList.getSelectionModel().getSelectedItem();
+            if (selected == null) {
+                showAlert("선택 오류", "추가할 조합을 선택해주세요!");
+                return;
+            }
+            dbManager.addSubjects(selected.getSubjects());
+            loadSubjects();
+            syncTimetableGrid();
+            dialog.close();
+            showAlert("성공", selected.getSections().size() + "개 과목이 추가되었습니다!");
+        });
+        
+        Button closeBtn = new Button("닫기");
+        closeBtn.setOnAction(e -> dialog.close());
+        
+        HBox preferenceBox = new HBox(15, morningCheck, fridayCheck, compactCheck);
+        HBox buttonBox = new HBox(10, applyButton, closeBtn);
+        content.getChildren().addAll(new HBox(10, loadButton, catalogLabel), preferenceBox,
+                new HBox(10, searchButton, statusLabel), resultList, buttonBox);
+        
+        Scene scene = new Scene(content, 700, 480);
+        dialog.setScene(scene);
+        dialog.showAndWait();
+    }
+    
     private void showAlert(String title, String message) {
         Alert alert = new Alert(Alert.AlertType.INFORMATION);
         alert.setTitle(title);
@@ -0,0 +1,607 @@
+package timetable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import common.model.Subject;
+import common.utils.CsvReader;
+
+/**
+ * 분반이 여러 개인 과목 목록(카탈로그)에서 시간이 겹치지 않는 모든 시간표 조합을 찾는 생성기
+ *
+ * 분반마다 수업 시간을 일주일 5분 단위 비트마스크(long 32개)로 바꿔 두고,
+ * 과목을 하나씩 골라 가며(백트래킹) 지금까지 고른 시간과 AND 가 0 인 분반만 이어서 봅니다.
+ * 분반 수가 적은 과목부터 고르므로 막히는 가지가 일찍 잘리고,
+ * 남은 조합 수가 많은 가지는 Fork/Join 으로 나눠 여러 코어에서 동시에 탐색합니다.
+ *
+ * 찾은 조합은 찾는 즉시 콜백으로 넘기거나(generate), 선호 조건 벌점 순 상위 N개만 모읍니다(findBest).
+ * 벌점은 낮을수록 좋고, 오전 수업·공강을 원하는 요일의 수업·수업 사이 빈 시간·등교 일수로 매깁니다.
+ * 이미 시간표에 있는 과목은 setBlocked()로 넘기면 그 시간을 피합니다.
+ */
+public class TimetableGenerator {
+    private static final String DAYS = "월화수목금토일";
+    private static final int SLOTS_PER_DAY = 24 * 60 / OccupancyMap.SLOT_MINUTES;
+    private static final int WORDS = (DAYS.length() * SLOTS_PER_DAY + 63) / 64;
+    // 남은 조합 수가 이보다 적은 가지는 나누지 않고 한 스레드에서 탐색
+    private static final long SEQUENTIAL_THRESHOLD = 4096;
+
+    /** 과목의 분반 하나 (수업 시간 여러 개) */
+    public static final class Section {
+        private final String course;
+        private final String label;
+        private final List<Subject> meetings;
+        private final long[] mask = new long[WORDS];
+        private final boolean valid;
+
+        public Section(String course, String label, List<Subject> meetings) {
+            this.course = course;
+            this.label = label;
+            this.meetings = List.copyOf(meetings);
+            boolean ok = !meetings.isEmpty();
+            for (Subject meeting : meetings) {
+                ok &= mark(mask, meeting);
+            }
+            this.valid = ok;
+        }
+
+        public String getCourse() { return course; }
+        public String getLabel() { return label; }
+        public List<Subject> getMeetings() { return meetings; }
+        public int getCredits() { return meetings.isEmpty() ? 0 : meetings.get(0).getCredits(); }
+        /** 요일/시간이 모두 올바른지 (아니면 조합에서 빠짐) */
+        public boolean isValid() { return valid; }
+
+        @Override
+        public String toString() {
+            return course + "(" + label + ")";
+        }
+    }
+
+    /** 선호 조건 (모두 벌점으로만 반영, 조합을 걸러내지는 않음) */
+    public static final class Preferences {
+        static final int MORNING_PENALTY = 3;      // 오전 수업이 있는 날마다
+        static final int FREE_DAY_PENALTY = 10;    // 공강을 원한 요일에 수업이 있으면
+        static final int GAP_PENALTY = 1;          // 수업 사이 빈 시간 30분마다
+        static final int CLASS_DAY_PENALTY = 2;    // 등교하는 날마다
+
+        private int morningCutoff = -1;            // 이 시각(분) 전에 시작하는 수업을 피함, -1 이면 사용 안 함
+        private final boolean[] freeDays = new boolean[DAYS.length()];
+        private boolean compactDays;
+
+        /** time("HH:mm") 전에 시작하는 수업을 피합니다. */
+        public Preferences avoidClassesBefore(String time) {
+            int minutes = ConflictDetector.parseMinutes(time);
+            if (minutes < 0) throw new IllegalArgumentException("시간 형식 오류: " + time);
+            this.morningCutoff = minutes;
+            return this;
+        }
+
+        /** 공강으로 비우고 싶은 요일 ("월"~"일") */
+        public Preferences preferFreeDay(String day) {
+            int index = dayIndex(day);
+            if (index < 0) throw new IllegalArgumentException("요일 오류: " + day);
+            freeDays[index] = true;
+            return this;
+        }
+
+        /** 수업 사이 빈 시간과 등교 일수를 줄입니다. */
+        public Preferences preferCompactDays(boolean compactDays) {
+            this.compactDays = compactDays;
+            return this;
+        }
+    }
+
+    /** 시간이 겹치지 않는 조합 하나 */
+    public static final class Schedule {
+        private final List<Section> sections;
+        private final int penalty;
+        private final int morningDays;
+        private final int busyFreeDays;
+        private final int gapMinutes;
+        private final int classDays;
+
+        Schedule(List<Section> sections, int penalty, int morningDays, int busyFreeDays, int gapMinutes, int classDays) {
+            this.sections = sections;
+            this.penalty = penalty;
+            this.morningDays = morningDays;
+            this.busyFreeDays = busyFreeDays;
+            this.gapMinutes = gapMinutes;
+            this.classDays = classDays;
+        }
+
+        /** 고른 분반 (카탈로그의 과목 순서) */
+        public List<Section> getSections() { return sections; }
+        /** 벌점 (낮을수록 선호 조건에 맞음) */
+        public int getPenalty() { return penalty; }
+        public int getMorningDays() { return morningDays; }
+        public int getBusyFreeDays() { return busyFreeDays; }
+        /** 수업 사이 빈 시간 합계 (분) */
+        public int getGapMinutes() { return gapMinutes; }
+        public int getClassDays() { return classDays; }
+
+        public int getTotalCredits() {
+            return sections.stream().mapToInt(Section::getCredits).sum();
+        }
+
+        /** 시간표에 넣을 과목들 (분반의 수업 시간마다 새 Subject, ID 없음) */
+        public List<Subject> getSubjects() {
+            List<Subject> subjects = new ArrayList<>();
+            for (Section section : sections) {
+                for (Subject meeting : section.meetings) {
+                    subjects.add(newMeeting(meeting.getName(), meeting.getCredits(), meeting.getProfessor(),
+                            meeting.getClassroom(), meeting.getCategory(), meeting.getDayOfWeek(),
+                            meeting.getStartTime(), meeting.getEndTime()));
+                }
+            }
+            return subjects;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder("벌점 ").append(penalty)
+                    .append(" | 등교 ").append(classDays).append("일, 공강 ").append(gapMinutes).append("분 | ");
+            for (int i = 0; i < sections.size(); i++) {
+                if (i > 0) text.append(", ");
+                text.append(sections.get(i));
+            }
+            return text.toString();
+        }
+    }
+
+    /** findBest() 결과 */
+    public static final class Result {
+        private final List<Schedule> best;
+        private final long found;
+        private final boolean truncated;
+        private final long elapsedMillis;
+
+        Result(List<Schedule> best, long found, boolean truncated, long elapsedMillis) {
+            this.best = best;
+            this.found = found;
+            this.truncated = truncated;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        /** 벌점 순 상위 조합 */
+        public List<Schedule> getBest() { return best; }
+        /** 찾은 전체 조합 수 */
+        public long getFound() { return found; }
+        /** 최대 개수에 도달해서 탐색을 멈췄는지 */
+        public boolean isTruncated() { return truncated; }
+        public long getElapsedMillis() { return elapsedMillis; }
+    }
+
+    // 과목별 분반 (탐색 순서: 분반이 적은 과목부터)
+    private final List<String> courses;
+    private final Section[][] sectionsByLevel;
+    private final int[] courseOrder;           // 탐색 단계 → 카탈로그의 과목 순서
+    private final long[] remainingCombinations; // 단계부터 끝까지의 조합 수 (포화)
+    private long[] blocked = new long[WORDS];
+    private long maxResults = Long.MAX_VALUE;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /** 분반 목록으로 생성기를 만듭니다. (같은 과목명의 분반끼리 하나를 고름, 시간이 잘못된 분반은 제외) */
+    public TimetableGenerator(Collection<Section> catalog) {
+        Map<String, List<Section>> byCourse = new LinkedHashMap<>();
+        for (Section section : catalog) {
+            List<Section> sections = byCourse.computeIfAbsent(section.course, course -> new ArrayList<>());
+            if (section.valid) {
+                sections.add(section);
+            } else {
+                System.err.println("⚠️ 시간이 올바르지 않은 분반 제외: " + section);
+            }
+        }
+        this.courses = List.copyOf(byCourse.keySet());
+
+        Integer[] order = new Integer[courses.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparingInt(i -> byCourse.get(courses.get(i)).size()));
+
+        this.courseOrder = new int[order.length];
+        this.sectionsByLevel = new Section[order.length][];
+        for (int level = 0; level < order.length; level++) {
+            courseOrder[level] = order[level];
+            sectionsByLevel[level] = byCourse.get(courses.get(order[level])).toArray(new Section[0]);
+        }
+        this.remainingCombinations = new long[order.length + 1];
+        remainingCombinations[order.length] = 1;
+        for (int level = order.length - 1; level >= 0; level--) {
+            long below = remainingCombinations[level + 1];
+            int count = sectionsByLevel[level].length;
+            remainingCombinations[level] = count != 0 && below > Long.MAX_VALUE / count ? Long.MAX_VALUE : below * count;
+        }
+    }
+
+    /**
+     * CSV 카탈로그를 읽습니다. (수업 시간 한 줄에 한 행, 같은 과목명·분반의 행이 한 분반)
+     * 열: 과목명, 분반, 학점, 교수, 강의실, 구분, 요일, 시작, 종료 (분반이 없으면 행마다 다른 분반)
+     */
+    public static List<Section> loadCatalog(Path path) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            CsvReader csv = new CsvReader(reader);
+            List<String> header = csv.next();
+            if (header == null) return new ArrayList<>();
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.putIfAbsent(header.get(i).trim().toLowerCase(), i);
+            }
+
+            Map<String, List<Subject>> meetingsBySection = new LinkedHashMap<>();
+            Map<String, String[]> sectionNames = new HashMap<>();
+            List<String> record;
+            while ((record = csv.next()) != null) {
+                String name = field(record, columns, "과목명", "name");
+                if (name == null) continue;   // 빈 줄
+                String label = field(record, columns, "분반", "section");
+                if (label == null) label = String.valueOf(csv.recordLine());
+                String credits = field(record, columns, "학점", "credits");
+
+                Subject meeting = newMeeting(name, credits == null ? 0 : parseCredits(credits, csv.recordLine()),
+                        field(record, columns, "교수", "professor"), field(record, columns, "강의실", "classroom"),
+                        field(record, columns, "구분", "category"), field(record, columns, "요일", "day"),
+                        field(record, columns, "시작", "start"), field(record, columns, "종료", "end"));
+                String key = name + "\u0000" + label;
+                meetingsBySection.computeIfAbsent(key, k -> new ArrayList<>()).add(meeting);
+                sectionNames.putIfAbsent(key, new String[] {name, label});
+            }
+
+            List<Section> sections = new ArrayList<>();
+            meetingsBySection.forEach((key, meetings) ->
+                    sections.add(new Section(sectionNames.get(key)[0], sectionNames.get(key)[1], meetings)));
+            System.out.println("📥 카탈로그 로드: " + path.getFileName() + " (분반 " + sections.size() + "개)");
+            return sections;
+        }
+    }
+
+    /** 이 과목들의 시간은 피합니다. (이미 시간표에 있는 과목 등) */
+    public TimetableGenerator setBlocked(Collection<Subject> subjects) {
+        long[] mask = new long[WORDS];
+        for (Subject subject : subjects) {
+            mark(mask, subject);
+        }
+        this.blocked = mask;
+        return this;
+    }
+
+    /** 이만큼 찾으면 탐색을 멈춥니다. (조합 수가 폭발하는 카탈로그 대비) */
+    public TimetableGenerator setMaxResults(long maxResults) {
+        this.maxResults = maxResults;
+        return this;
+    }
+
+    public TimetableGenerator setPool(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    public List<String> getCourses() {
+        return courses;
+    }
+
+    /** 분반을 고르는 방법의 수 (충돌 검사 전, 포화) */
+    public long getCombinationCount() {
+        return remainingCombinations[0];
+    }
+
+    /**
+     * 모든 조합을 찾는 대로 onFound 로 넘깁니다. 여러 작업 스레드에서 동시에 호출되므로 onFound 는 스레드 안전해야 합니다.
+     * @return 찾은 조합 수
+     */
+    public long generate(Preferences preferences, Consumer<Schedule> onFound) {
+        return run(preferences, new Sink() {
+            @Override
+            int threshold() {
+                return Integer.MAX_VALUE;
+            }
+
+            @Override
+            void accept(Schedule schedule) {
+                onFound.accept(schedule);
+            }
+        });
+    }
+
+    /** 모든 조합 중 벌점이 낮은 순으로 limit 개를 돌려줍니다. */
+    public Result findBest(Preferences preferences, int limit) {
+        long start = System.currentTimeMillis();
+        TopSchedules top = new TopSchedules(limit);
+        long found = run(preferences, top);
+        List<Schedule> best = top.sorted();
+        long elapsed = System.currentTimeMillis() - start;
+        System.out.println("🧩 시간표 조합 " + found + "개 찾음 (상위 " + best.size() + "개, " + elapsed + "ms)");
+        return new Result(best, found, found >= maxResults, elapsed);
+    }
+
+    // ===== 탐색 =====
+
+    /** 찾은 조합을 받는 곳 */
+    private abstract static class Sink {
+        /** 이 벌점보다 큰 조합은 만들 필요 없음 */
+        abstract int threshold();
+
+        abstract void accept(Schedule schedule);
+    }
+
+    /** 벌점 하위 limit 개만 남기는 모음 (최대 힙) */
+    private static final class TopSchedules extends Sink {
+        private final int limit;
+        private final PriorityQueue<Schedule> heap;
+        private volatile int worst = Integer.MAX_VALUE;
+
+        TopSchedules(int limit) {
+            this.limit = limit;
+            this.heap = new PriorityQueue<>(Comparator.comparingInt(Schedule::getPenalty).reversed());
+        }
+
+        @Override
+        int threshold() {
+            return worst;
+        }
+
+        @Override
+        synchronized void accept(Schedule schedule) {
+            if (limit <= 0) return;
+            if (heap.size() < limit) {
+                heap.add(schedule);
+            } else if (schedule.penalty < heap.peek().penalty) {
+                heap.poll();
+                heap.add(schedule);
+            }
+            if (heap.size() == limit) worst = heap.peek().penalty - 1;
+        }
+
+        synchronized List<Schedule> sorted() {
+            List<Schedule> result = new ArrayList<>(heap);
+            result.sort(Comparator.comparingInt(Schedule::getPenalty));
+            return result;
+        }
+    }
+
+    private long run(Preferences preferences, Sink sink) {
+        AtomicLong found = new AtomicLong();
+        AtomicBoolean stop = new AtomicBoolean(sectionsByLevel.length == 0 || maxResults <= 0);
+        for (int level = 0; level < sectionsByLevel.length; level++) {
+            if (sectionsByLevel[level].length == 0) {
+                System.out.println("⚠️ 분반이 없는 과목: " + courses.get(courseOrder[level]));
+                stop.set(true);
+            }
+        }
+        if (!stop.get()) {
+            pool.invoke(new SearchTask(new Search(preferences, sink, found, stop), 0,
+                    new int[sectionsByLevel.length], blocked.clone()));
+        }
+        return Math.min(found.get(), maxResults);
+    }
+
+    /** 한 번의 탐색이 공유하는 상태 */
+    private final class Search {
+        final Preferences preferences;
+        final Sink sink;
+        final AtomicLong found;
+        final AtomicBoolean stop;
+
+        Search(Preferences preferences, Sink sink, AtomicLong found, AtomicBoolean stop) {
+            this.preferences = preferences;
+            this.sink = sink;
+            this.found = found;
+            this.stop = stop;
+        }
+
+        /** 남은 단계를 한 스레드에서 백트래킹 (단계마다 마스크 배열을 재사용) */
+        void backtrack(int level, int[] chosen, long[][] masks) {
+            if (stop.get()) return;
+            if (level == sectionsByLevel.length) {
+                emit(chosen, masks[level]);
+                return;
+            }
+            long[] current = masks[level];
+            long[] next = masks[level + 1];
+            Section[] sections = sectionsByLevel[level];
+            for (int i = 0; i < sections.length; i++) {
+                if (!overlaps(current, sections[i].mask)) {
+                    union(current, sections[i].mask, next);
+                    chosen[level] = i;
+                    backtrack(level + 1, chosen, masks);
+                }
+            }
+        }
+
+        void emit(int[] chosen, long[] mask) {
+            long count = found.incrementAndGet();
+            if (count > maxResults) {
+                stop.set(true);
+                return;
+            }
+            if (count == maxResults) stop.set(true);
+
+            // 벌점은 합친 마스크에서 요일별로 바로 계산
+            int morningDays = 0, busyFreeDays = 0, gapSlots = 0, classDays = 0;
+            int cutoffSlot = preferences.morningCutoff < 0 ? -1 : preferences.morningCutoff / OccupancyMap.SLOT_MINUTES;
+            for (int day = 0; day < DAYS.length(); day++) {
+                int from = day * SLOTS_PER_DAY;
+                int first = nextSet(mask, from, from + SLOTS_PER_DAY);
+                if (first < 0) continue;
+                int last = lastSet(mask, from, from + SLOTS_PER_DAY);
+                classDays++;
+                if (first - from < cutoffSlot) morningDays++;
+                if (preferences.freeDays[day]) busyFreeDays++;
+                gapSlots += (last - first + 1) - countSet(mask, first, last + 1);
+            }
+            int gapMinutes = gapSlots * OccupancyMap.SLOT_MINUTES;
+            int penalty = morningDays * Preferences.MORNING_PENALTY + busyFreeDays * Preferences.FREE_DAY_PENALTY;
+            if (preferences.compactDays) {
+                penalty += gapMinutes / 30 * Preferences.GAP_PENALTY + classDays * Preferences.CLASS_DAY_PENALTY;
+            }
+            if (penalty > sink.threshold()) return;
+
+            Section[] picked = new Section[chosen.length];
+            for (int level = 0; level < chosen.length; level++) {
+                picked[courseOrder[level]] = sectionsByLevel[level][chosen[level]];
+            }
+            sink.accept(new Schedule(Collections.unmodifiableList(Arrays.asList(picked)),
+                    penalty, morningDays, busyFreeDays, gapMinutes, classDays));
+        }
+    }
+
+    /** 남은 조합이 많으면 분반마다 하위 작업으로 나누고, 적으면 한 스레드에서 백트래킹 */
+    private final class SearchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Search search;
+        private final int level;
+        private final int[] chosen;
+        private final long[] mask;
+
+        SearchTask(Search search, int level, int[] chosen, long[] mask) {
+            this.search = search;
+            this.level = level;
+            this.chosen = chosen;
+            this.mask = mask;
+        }
+
+        @Override
+        protected void compute() {
+            if (search.stop.get()) return;
+            if (remainingCombinations[level] <= SEQUENTIAL_THRESHOLD) {
+                long[][] masks = new long[sectionsByLevel.length + 1][];
+                for (int i = level; i < masks.length; i++) {
+                    masks[i] = i == level ? mask : new long[WORDS];
+                }
+                search.backtrack(level, chosen, masks);
+                return;
+            }
+            List<SearchTask> subtasks = new ArrayList<>();
+            for (int i = 0; i < sectionsByLevel[level].length; i++) {
+                Section section = sectionsByLevel[level][i];
+                if (overlaps(mask, section.mask)) continue;
+                long[] next = new long[WORDS];
+                union(mask, section.mask, next);
+                int[] nextChosen = chosen.clone();
+                nextChosen[level] = i;
+                subtasks.add(new SearchTask(search, level + 1, nextChosen, next));
+            }
+            invokeAll(subtasks);
+        }
+    }
+
+    // ===== 비트마스크 =====
+
+    /** 수업 시간을 마스크에 표시 (요일/시간이 잘못되면 false) */
+    private static boolean mark(long[] mask, Subject subject) {
+        int day = dayIndex(subject.getDayOfWeek());
+        int start = ConflictDetector.parseMinutes(subject.getStartTime());
+        int end = ConflictDetector.parseMinutes(subject.getEndTime());
+        if (day < 0 || start < 0 || end <= start) return false;
+        int from = day * SLOTS_PER_DAY + start / OccupancyMap.SLOT_MINUTES;
+        int to = day * SLOTS_PER_DAY + (end + OccupancyMap.SLOT_MINUTES - 1) / OccupancyMap.SLOT_MINUTES;
+        for (int slot = from; slot < to; slot++) {
+            mask[slot >>> 6] |= 1L << slot;
+        }
+        return true;
+    }
+
+    private static boolean overlaps(long[] a, long[] b) {
+        for (int i = 0; i < WORDS; i++) {
+            if ((a[i] & b[i]) != 0) return true;
+        }
+        return false;
+    }
+
+    private static void union(long[] a, long[] b, long[] out) {
+        for (int i = 0; i < WORDS; i++) {
+            out[i] = a[i] | b[i];
+        }
+    }
+
+    /** [from, to) 에서 처음 켜진 비트 (없으면 -1) */
+    private static int nextSet(long[] mask, int from, int to) {
+        int word = from >>> 6;
+        long bits = mask[word] & (-1L << from);
+        while (true) {
+            if (bits != 0) {
+                int slot = word * 64 + Long.numberOfTrailingZeros(bits);
+                return slot < to ? slot : -1;
+            }
+            if (++word * 64 >= to) return -1;
+            bits = mask[word];
+        }
+    }
+
+    /** [from, to) 에서 마지막으로 켜진 비트 (없으면 -1) */
+    private static int lastSet(long[] mask, int from, int to) {
+        int word = (to - 1) >>> 6;
+        long bits = mask[word] & (-1L >>> (63 - ((to - 1) & 63)));
+        while (true) {
+            if (bits != 0) {
+                int slot = word * 64 + 63 - Long.numberOfLeadingZeros(bits);
+                return slot >= from ? slot : -1;
+            }
+            if (--word < 0 || (word + 1) * 64 <= from) return -1;
+            bits = mask[word];
+        }
+    }
+
+    /** [from, to) 에서 켜진 비트 수 */
+    private static int countSet(long[] mask, int from, int to) {
+        int count = 0;
+        for (int word = from >>> 6; word <= (to - 1) >>> 6; word++) {
+            long bits = mask[word];
+            if (word == from >>> 6) bits &= -1L << from;
+            if (word == (to - 1) >>> 6) bits &= -1L >>> (63 - ((to - 1) & 63));
+            count += Long.bitCount(bits);
+        }
+        return count;
+    }
+
+    private static Subject newMeeting(String name, int credits, String professor, String classroom,
+                                      String category, String dayOfWeek, String startTime, String endTime) {
+        Subject subject = new Subject(name, credits, professor);
+        subject.setClassroom(classroom);
+        subject.setCategory(category);
+        subject.setDayOfWeek(dayOfWeek);
+        subject.setStartTime(startTime);
+        subject.setEndTime(endTime);
+        return subject;
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String... names) {
+        for (String name : names) {
+            Integer index = columns.get(name);
+            if (index != null && index < record.size()) {
+                String value = record.get(index).trim();
+                if (!value.isEmpty()) return value;
+            }
+        }
+        return null;
+    }
+
+    private static int parseCredits(String value, int line) throws IOException {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IOException(line + "행: 학점 형식 오류 (" + value + ")");
+        }
+    }
+
+    private static int dayIndex(String dayOfWeek) {
+        return dayOfWeek == null || dayOfWeek.length() != 1 ? -1 : DAYS.indexOf(dayOfWeek.charAt(0));
+    }
+}
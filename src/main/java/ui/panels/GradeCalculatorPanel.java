@@ -360,16 +360,14 @@ public class GradeCalculatorPanel extends VBox implements DataChangeListener {
      * 데이터 새로고침 (외부에서 호출 가능)
      */
     public void refreshData() {
-        loadSubjects();
+        loadSubjects(dbManager.getAllSubjects());
         calculateStatistics();
         updateChart();
         System.out.println("🔄 학점 계산기 데이터 새로고침 완료");
     }
 
-    /** DB에서 시간표 과목 불러와 테이블에 세팅 */
-    private void loadSubjects() {
-        List<Subject> subjects = dbManager.getAllSubjects();
-        
+    /** 시간표 과목을 테이블에 세팅 */
+    private void loadSubjects(List<Subject> subjects) {
         // 기존 데이터 보존하면서 새로운 과목들만 추가
         List<String> existingSubjects = gradeTable.getItems().stream()
             .map(GradeItem::getSubject)
@@ -447,10 +445,13 @@ public class GradeCalculatorPanel extends VBox implements DataChangeListener {
     
     @Override
     public void onSubjectChanged(String changeType, int subjectId) {
-        // UI 업데이트는 JavaFX Application Thread에서 실행해야 함
+        // 과목 조회는 리스너 스레드에서, UI 업데이트만 JavaFX Application Thread에서 실행
+        List<Subject> subjects = dbManager.getAllSubjects();
         Platform.runLater(() -> {
             System.out.println("🔄 GradeCalculatorPanel: 과목 변경 감지 (" + changeType + ")");
-            refreshData();
+            loadSubjects(subjects);
+            calculateStatistics();
+            updateChart();
         });
     }
 
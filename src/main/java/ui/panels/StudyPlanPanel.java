@@ -7,6 +7,8 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -14,7 +16,10 @@ import java.util.Map;
 
 import common.database.DatabaseManager;
 import common.listeners.DataChangeListener;
+import common.model.Assignment;
+import common.model.Exam;
 import common.model.Subject;
+import common.utils.DateUtils;
 import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.scene.control.Alert;
@@ -22,6 +27,7 @@ import javafx.scene.control.Button;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.DatePicker;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
@@ -31,14 +37,24 @@ import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
+import studyschedule.StudyPlanner;
 import ui.UIStyleManager;
 
 public class StudyPlanPanel extends VBox implements DataChangeListener {
 
     private static final String DATA_DIR  = "data/";
     private static final String PLAN_FILE = "study_plans.txt";
+    private static final int    SCHEDULE_WEEKS = 16;
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("M/d");
 
     private final DatabaseManager dbManager;
+    // 계획 파일은 리스너 스레드에서도 읽으므로 읽기/쓰기를 이 잠금으로 나눔
+    private final Object planFileLock = new Object();
+    // 화면에서 계획 목록을 바꿀 때마다 증가 (리스너 스레드가 읽어 둔 목록이 그 사이 낡았는지 확인용)
+    private volatile long planEdits;
+    // 공부 일정 계획기는 "일정 짜기" 이후 화면과 리스너 스레드에서 함께 갱신하므로 이 잠금으로 보호
+    private final Object plannerLock = new Object();
+    private StudyPlanner planner;
 
     private final TableView<StudyPlanItem> planTable;
     private final TextField               subjectField;
@@ -49,7 +65,10 @@ public class StudyPlanPanel extends VBox implements DataChangeListener {
     private final Button                  reflectButton;
     private final Button                  addButton;
     private final Button                  deleteButton;
+    private final Button                  scheduleButton;
     private final Label                   statusLabel;
+    private final Label                   scheduleStatusLabel;
+    private final ListView<String>        scheduleList;
 
     public StudyPlanPanel() {
         dbManager = DatabaseManager.getInstance();
@@ -78,8 +97,12 @@ public class StudyPlanPanel extends VBox implements DataChangeListener {
         reflectButton = UIStyleManager.createPrimaryButton("반영하기");
         addButton = UIStyleManager.createPrimaryButton("계획 추가");
         deleteButton = UIStyleManager.createSecondaryButton("계획 삭제");
+        scheduleButton = UIStyleManager.createPrimaryButton("🗓️ 일정 짜기");
         
         statusLabel = UIStyleManager.createSubLabel("📊 총 계획: 0개 | 완료: 0개 | 진행률: 0%");
+        scheduleStatusLabel = UIStyleManager.createSubLabel("🗓️ 일정 짜기를 누르면 빈 시간에 공부 일정을 채워 드립니다.");
+        scheduleList = new ListView<>();
+        scheduleList.setPrefHeight(260);
 
         // --- 테이블
         planTable = UIStyleManager.createStandardTableView();
@@ -149,7 +172,7 @@ public class StudyPlanPanel extends VBox implements DataChangeListener {
 
         // 버튼 영역
         HBox buttonBox = UIStyleManager.createStandardHBox();
-        buttonBox.getChildren().addAll(reflectButton, addButton, deleteButton);
+        buttonBox.getChildren().addAll(reflectButton, addButton, deleteButton, scheduleButton);
 
         form.add(buttonBox, 1, 5);
 
@@ -158,7 +181,7 @@ public class StudyPlanPanel extends VBox implements DataChangeListener {
         GridPane.setHgrow(priorityComboBox,  Priority.ALWAYS);
         GridPane.setHgrow(studiedHoursField, Priority.ALWAYS);
 
-        this.getChildren().addAll(title, statusBox, form, planTable);
+        this.getChildren().addAll(title, statusBox, form, planTable, scheduleStatusLabel, scheduleList);
     }
 
     private void hookHandlers() {
@@ -231,9 +254,13 @@ public class StudyPlanPanel extends VBox implements DataChangeListener {
             planTable.getItems().remove(sel);
             savePlans();
             updateStatusLabel();
+            removePlanTarget(sel);
             clearForm();
             showAlert("성공", "계획이 삭제되었습니다!");
         });
+        
+        // 일정 짜기 버튼 (과제·시험·목표 시간으로 공부 일정 전체 계산)
+        scheduleButton.setOnAction(e -> buildSchedule());
     }
     
     private void updateSelectedPlan(StudyPlanItem item) {
@@ -254,6 +281,7 @@ public class StudyPlanPanel extends VBox implements DataChangeListener {
             planTable.refresh();
             savePlans();
             updateStatusLabel();
+            updatePlanTarget(item);
             showAlert("성공", "계획이 업데이트되었습니다!");
             
         } catch (Exception ex) {
@@ -288,6 +316,7 @@ public class StudyPlanPanel extends VBox implements DataChangeListener {
             planTable.getItems().add(newItem);
             savePlans();
             updateStatusLabel();
+            updatePlanTarget(newItem);
             clearForm();
             showAlert("성공", "새 계획이 추가되었습니다!");
             
@@ -337,35 +366,39 @@ public class StudyPlanPanel extends VBox implements DataChangeListener {
      * 데이터 새로고침 (외부에서 호출 가능)
      */
     public void refreshData() {
-        loadPlans();
+        planEdits++;
+        planTable.getItems().setAll(loadPlans());
         updateStatusLabel();
         System.out.println("🔄 공부 계획 데이터 새로고침 완료");
     }
 
-    private void loadPlans() {
+    /** 계획 파일과 시간표 과목을 병합한 목록 (화면을 건드리지 않으므로 리스너 스레드에서도 호출 가능) */
+    private List<StudyPlanItem> loadPlans() {
         Map<String,StudyPlanItem> planMap = new HashMap<>();
         File file = new File(DATA_DIR + PLAN_FILE);
         
         // 기존 파일에서 계획 데이터 로드
-        if (file.exists()) {
-            try (BufferedReader r = new BufferedReader(new FileReader(file))) {
-                String line;
-                while ((line = r.readLine()) != null) {
-                    String[] p = line.split("\\|", -1);
-                    if (p.length >= 5) {
-                        String subj     = p[0].isEmpty() ? null : p[0];
-                        String hours    = p[1].isEmpty() ? "0"  : p[1];
-                        String date     = p[2].isEmpty() ? null : p[2];
-                        String priority = p[3].isEmpty() ? "보통" : p[3];
-                        String status   = p[4].isEmpty() ? "0h / 0h": p[4];
+        synchronized (planFileLock) {
+            if (file.exists()) {
+                try (BufferedReader r = new BufferedReader(new FileReader(file))) {
+                    String line;
+                    while ((line = r.readLine()) != null) {
+                        String[] p = line.split("\\|", -1);
+                        if (p.length >= 5) {
+                            String subj     = p[0].isEmpty() ? null : p[0];
+                            String hours    = p[1].isEmpty() ? "0"  : p[1];
+                            String date     = p[2].isEmpty() ? null : p[2];
+                            String priority = p[3].isEmpty() ? "보통" : p[3];
+                            String status   = p[4].isEmpty() ? "0h / 0h": p[4];
                         
-                        if (subj != null) {
-                            planMap.put(subj, new StudyPlanItem(subj, hours, date, priority, status));
+                            if (subj != null) {
+                                planMap.put(subj, new StudyPlanItem(subj, hours, date, priority, status));
+                            }
                         }
                     }
+                } catch (IOException ex) {
+                    System.err.println("❌ loadPlans 실패: " + ex.getMessage());
                 }
-            } catch (IOException ex) {
-                System.err.println("❌ loadPlans 실패: " + ex.getMessage());
             }
         }
 
@@ -388,11 +421,19 @@ public class StudyPlanPanel extends VBox implements DataChangeListener {
         // 2. 시간표에는 없지만 기존 계획에 있는 과목들도 유지
         merged.addAll(planMap.values());
         
-        planTable.getItems().setAll(merged);
+        return merged;
     }
 
+    /** 화면의 계획 목록을 파일에 저장 (JavaFX Application Thread에서 호출) */
     private void savePlans() {
+        planEdits++;
         new File(DATA_DIR).mkdirs();
+        synchronized (planFileLock) {
+            writePlans();
+        }
+    }
+
+    private void writePlans() {
         try (PrintWriter w = new PrintWriter(new FileWriter(DATA_DIR + PLAN_FILE))) {
             for (StudyPlanItem it : planTable.getItems()) {
                 w.println(String.join("|",
@@ -409,6 +450,95 @@ public class StudyPlanPanel extends VBox implements DataChangeListener {
         }
     }
 
+    // ===== 공부 일정 =====
+
+    /** 시간표 빈 시간에 과제·시험 준비·목표 시간을 배치한 일정을 새로 계산합니다. */
+    private void buildSchedule() {
+        StudyPlanner.Plan plan;
+        synchronized (plannerLock) {
+            // 여러 요일에 듣는 과목은 이름이 같은 행이 여러 개이므로 이름별 목록이 아닌 과목 테이블 전체를 넘김
+            planner = new StudyPlanner(LocalDateTime.now(), LocalDate.now().plusWeeks(SCHEDULE_WEEKS))
+                    .setTimetable(dbManager.getSubjectSnapshot());
+            reloadTasks(planTable.getItems());
+            plan = planner.getPlan();
+        }
+        showSchedule(plan);
+    }
+
+    /** 완료됐거나 마감일이 없는 과제는 null */
+    private StudyPlanner.Task toTask(Assignment assignment) {
+        if (assignment.getDueDate() == null || "완료".equals(assignment.getStatus())) return null;
+        return StudyPlanner.Task.forAssignment(assignment, StudyPlanner.Task.DEFAULT_ASSIGNMENT_MINUTES);
+    }
+
+    private StudyPlanner.Task toTask(Exam exam) {
+        if (exam.getExamDateTime() == null) return null;
+        return StudyPlanner.Task.forExam(exam, StudyPlanner.Task.defaultExamMinutes(exam));
+    }
+
+    /** 남은 목표 시간이 없으면 null */
+    private StudyPlanner.Task toTask(StudyPlanItem item) {
+        int remaining = parseIntOrZero(item.getHours()) - extractStudiedHours(item.getStatus());
+        if (remaining <= 0) return null;
+        LocalDate date = item.getDate() == null ? null : DateUtils.parseDate(item.getDate());
+        return StudyPlanner.Task.forTarget(item.getSubject(), remaining * 60, date, item.getPriority());
+    }
+
+    /** 계획 하나가 바뀌면 그 목표만 다시 배치 (일정을 짠 적이 없으면 무시) */
+    private void updatePlanTarget(StudyPlanItem item) {
+        StudyPlanner.Plan plan;
+        synchronized (plannerLock) {
+            if (planner == null) return;
+            StudyPlanner.Task task = toTask(item);
+            if (task != null) {
+                planner.putTask(task);
+            } else {
+                planner.removeTask(StudyPlanner.Task.targetKey(item.getSubject()));
+            }
+            plan = planner.getPlan();
+        }
+        showSchedule(plan);
+    }
+
+    private void removePlanTarget(StudyPlanItem item) {
+        StudyPlanner.Plan plan;
+        synchronized (plannerLock) {
+            if (planner == null || !planner.removeTask(StudyPlanner.Task.targetKey(item.getSubject()))) return;
+            plan = planner.getPlan();
+        }
+        showSchedule(plan);
+    }
+
+    /** 주별로 묶어 목록에 표시 (JavaFX Application Thread에서 호출) */
+    private void showSchedule(StudyPlanner.Plan plan) {
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<LocalDate, List<StudyPlanner.Session>> week : plan.getWeeks().entrySet()) {
+            int minutes = 0;
+            for (StudyPlanner.Session session : week.getValue()) minutes += session.getMinutes();
+            lines.add("━━ " + week.getKey().format(DAY_FORMAT) + " 주 (" + DateUtils.formatMinutesToHourMinute(minutes) + ") ━━");
+            for (StudyPlanner.Session session : week.getValue()) {
+                lines.add("   " + session.getDate().format(DAY_FORMAT) + "(" + DateUtils.getDayOfWeekKorean(session.getDate()) + ") "
+                        + session);
+            }
+        }
+        scheduleList.getItems().setAll(lines);
+
+        StringBuilder status = new StringBuilder("🗓️ ").append(plan);
+        if (!plan.isComplete()) {
+            status.append(" | ⚠️ 시간 부족: ");
+            int shown = 0;
+            for (Map.Entry<String, Integer> entry : plan.getShortMinutes().entrySet()) {
+                if (shown++ == 3) {
+                    status.append(" 외 ").append(plan.getShortMinutes().size() - 3).append("개");
+                    break;
+                }
+                if (shown > 1) status.append(", ");
+                status.append(plan.getTask(entry.getKey()).getTitle()).append(" ").append(entry.getValue() / 60.0).append("h");
+            }
+        }
+        scheduleStatusLabel.setText(status.toString());
+    }
+
     private int parseIntOrZero(String s) {
         try { 
             return Integer.parseInt(s.trim().replace("h", ""));
@@ -434,13 +564,96 @@ public class StudyPlanPanel extends VBox implements DataChangeListener {
     
     @Override
     public void onSubjectChanged(String changeType, int subjectId) {
-        // UI 업데이트는 JavaFX Application Thread에서 실행해야 함
+        // 파일 읽기와 병합은 리스너 스레드에서 하고, 테이블 갱신만 JavaFX Application Thread에서 실행
+        long edits = planEdits;
+        List<StudyPlanItem> merged = loadPlans();
+        StudyPlanner.Plan plan = null;
+        synchronized (plannerLock) {
+            if (planner != null) {
+                // 수업 시간이 바뀌면 빈 시간 전체가 달라지므로 다시 풂
+                plan = planner.setTimetable(dbManager.getSubjectSnapshot()).getPlan();
+            }
+        }
+        StudyPlanner.Plan updated = plan;
         Platform.runLater(() -> {
             System.out.println("🔄 StudyPlanPanel: 과목 변경 감지 (" + changeType + ")");
-            refreshData();
+            if (planEdits != edits) {
+                // 읽은 뒤에 화면에서 계획을 고쳤으면 읽어 둔 목록은 버리고 저장된 파일로 다시 병합
+                planTable.getItems().setAll(loadPlans());
+                updateStatusLabel();
+                StudyPlanner.Plan latest;
+                synchronized (plannerLock) {
+                    latest = planner == null ? null : planner.getPlan();
+                }
+                if (latest != null) showSchedule(latest);
+                return;
+            }
+            planTable.getItems().setAll(merged);
+            updateStatusLabel();
+            if (updated != null) showSchedule(updated);
         });
     }
 
+    @Override
+    public void onAssignmentChanged(String changeType, int assignmentId) {
+        StudyPlanner.Plan plan;
+        synchronized (plannerLock) {
+            if (planner == null) return;
+            if (assignmentId < 0) {
+                reloadTasks(loadPlans());
+            } else {
+                StudyPlanner.Task task = "DELETE".equals(changeType) ? null
+                        : dbManager.getAssignmentById(assignmentId).map(this::toTask).orElse(null);
+                if (task != null) {
+                    planner.putTask(task);
+                } else {
+                    planner.removeTask(StudyPlanner.Task.assignmentKey(assignmentId));
+                }
+            }
+            plan = planner.getPlan();
+        }
+        Platform.runLater(() -> showSchedule(plan));
+    }
+
+    @Override
+    public void onExamChanged(String changeType, int examId) {
+        StudyPlanner.Plan plan;
+        synchronized (plannerLock) {
+            if (planner == null) return;
+            if (examId < 0) {
+                reloadTasks(loadPlans());
+            } else {
+                StudyPlanner.Task task = "DELETE".equals(changeType) ? null
+                        : dbManager.getExamById(examId).map(this::toTask).orElse(null);
+                if (task != null) {
+                    planner.putTask(task);
+                } else {
+                    planner.removeTask(StudyPlanner.Task.examKey(examId));
+                }
+            }
+            plan = planner.getPlan();
+        }
+        Platform.runLater(() -> showSchedule(plan));
+    }
+
+    /** 과제·시험·목표 시간으로 할 일을 모두 다시 넣음 (plannerLock 을 잡고 호출) */
+    private void reloadTasks(List<StudyPlanItem> items) {
+        List<StudyPlanner.Task> tasks = new ArrayList<>();
+        for (Assignment assignment : dbManager.getAllAssignments()) {
+            StudyPlanner.Task task = toTask(assignment);
+            if (task != null) tasks.add(task);
+        }
+        for (Exam exam : dbManager.getAllExams()) {
+            StudyPlanner.Task task = toTask(exam);
+            if (task != null) tasks.add(task);
+        }
+        for (StudyPlanItem item : items) {
+            StudyPlanner.Task task = toTask(item);
+            if (task != null) tasks.add(task);
+        }
+        planner.setTasks(tasks);
+    }
+
     /**
      * 패널이 닫힐 때 리스너 해제
      */